@@ -0,0 +1,119 @@
+package org.example.program8;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This benchmark measures routing an arriving customer and processing the checkout lines in isolation.
+ * Both benchmarks keep every line at the configured depth, so the cost does not drift during an iteration.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CheckoutLanesBenchmark {
+    /**
+     * The number of open checkout lines.
+     */
+    @Param({"1", "2", "3"})
+    public int numberOfLines;
+
+    /**
+     * The number of customers waiting in each line.
+     */
+    @Param({"8"})
+    public int depth;
+
+    /**
+     * How customer data is stored during the simulation.
+     */
+    @Param({"OBJECTS", "COLUMNAR"})
+    public SimulationLogic.CustomerStorage customerStorage;
+
+    /**
+     * The simulation whose lines are measured.
+     */
+    private SimulationLogic simulation;
+
+    /**
+     * The checkout lines of the simulation.
+     */
+    private CheckoutLanes checkoutLanes;
+
+    /**
+     * The simulated time.
+     */
+    private int time;
+
+    /**
+     * The ID of the next customer.
+     */
+    private int nextCustomerId;
+
+    /**
+     * Prepares a simulation and fills every line to the configured depth.
+     * Customers are not retained, so checked out customers do not pile up during an iteration.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        simulation = new SimulationLogic(SimulationLogic.QueueType.CIRCULAR);
+        simulation.setCustomerStorage(customerStorage);
+        simulation.setStatisticsMode(SimulationLogic.StatisticsMode.STREAMING);
+        simulation.prepareSimulation(numberOfLines, 60, 20, 60, 20);
+        checkoutLanes = simulation.getCheckoutLanes();
+        time = 1;
+        nextCustomerId = 0;
+        for (int i = 0; i < numberOfLines; i++) {
+            refill(i);
+        }
+    }
+
+    /**
+     * Routes one customer to the shortest line, then removes the front customer of that line again.
+     *
+     * @return The index of the line the customer was routed to.
+     */
+    @Benchmark
+    public int assignToShortestQueue() {
+        int lineIndex = simulation.assignToShortestQueue(nextCustomerId++, Customer.Difficulty.EASY, time);
+        checkoutLanes.dequeue(lineIndex, time);
+        return lineIndex;
+    }
+
+    /**
+     * Advances the clock by one second and processes every checkout line.
+     * Lines that lost a customer are refilled, so most calls only check the front customers.
+     *
+     * @return The simulated time, so the work is not optimized away.
+     */
+    @Benchmark
+    public int processCheckoutLines() {
+        time++;
+        simulation.processCheckoutLines(time);
+        for (int i = 0; i < numberOfLines; i++) {
+            refill(i);
+        }
+        return time;
+    }
+
+    /**
+     * Adds easy customers to the given line until it holds the configured depth.
+     *
+     * @param lineIndex The index of the line.
+     */
+    private void refill(int lineIndex) {
+        while (checkoutLanes.size(lineIndex) < depth) {
+            checkoutLanes.enqueue(lineIndex, nextCustomerId++, Customer.Difficulty.EASY, time);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.program8;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This benchmark measures the enqueue and dequeue throughput of the checkout queue implementations.
+ * Each operation adds one customer to the back of the queue and removes one from the front,
+ * so the queue stays at the configured depth.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CustomerQueueBenchmark {
+    /**
+     * The queue implementation to measure.
+     */
+    @Param({"LINKED", "CIRCULAR"})
+    public SimulationLogic.QueueType queueType;
+
+    /**
+     * The number of customers waiting in the queue.
+     */
+    @Param({"1", "16", "256"})
+    public int depth;
+
+    /**
+     * The queue under test.
+     */
+    private CheckoutQueue<Customer> queue;
+
+    /**
+     * The simulated time passed to the queue.
+     */
+    private int time;
+
+    /**
+     * Creates the queue and fills it to the configured depth.
+     */
+    @Setup
+    public void setUp() {
+        if (queueType == SimulationLogic.QueueType.CIRCULAR) {
+            queue = new CircularCustomerQueue<>();
+        } else {
+            queue = new CustomerQueue<>();
+        }
+        for (int i = 0; i < depth; i++) {
+            queue.enqueue(new Customer(i), 0);
+        }
+    }
+
+    /**
+     * Moves one customer from the front of the queue to the back.
+     * The customer object is reused, so only the queue itself can allocate.
+     *
+     * @return The customer that was moved, so the work is not optimized away.
+     */
+    @Benchmark
+    public Customer enqueueDequeue() {
+        time++;
+        Customer customer = queue.dequeue(time);
+        queue.enqueue(customer, time);
+        return customer;
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.program8;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This benchmark measures complete simulations from the first arrival until the lines are drained.
+ * The seed is fixed, so every invocation simulates the same customers.
+ * The horizon can be changed on the command line, for example with -p simulationDuration=432000.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SimulationBenchmark {
+    /**
+     * The number of seconds between customer arrivals.
+     */
+    @Param({"10", "60", "360"})
+    public int customerArrivalFrequency;
+
+    /**
+     * The number of open checkout lines.
+     */
+    @Param({"1", "2", "3"})
+    public int numberOfLines;
+
+    /**
+     * The engine used to advance the simulation clock.
+     */
+    @Param({"TICK", "EVENT"})
+    public SimulationLogic.EngineMode engineMode;
+
+    /**
+     * The queue implementation used by the checkout lines.
+     */
+    @Param({"LINKED"})
+    public SimulationLogic.QueueType queueType;
+
+    /**
+     * How customer data is stored during the simulation.
+     */
+    @Param({"OBJECTS"})
+    public SimulationLogic.CustomerStorage customerStorage;
+
+    /**
+     * The number of seconds during which customers arrive.
+     */
+    @Param({"43200"})
+    public int simulationDuration;
+
+    /**
+     * Runs one complete simulation with a 20/60/20 customer mix.
+     *
+     * @return The average waiting time, so the work is not optimized away.
+     */
+    @Benchmark
+    public double startSimulation() {
+        SimulationLogic simulation = new SimulationLogic(queueType);
+        simulation.setEngineMode(engineMode);
+        simulation.setCustomerStorage(customerStorage);
+        simulation.setSimulationDuration(simulationDuration);
+        simulation.setSeed(1);
+        simulation.startSimulation(numberOfLines, customerArrivalFrequency, 20, 60, 20);
+        return simulation.getAverageWaitingTime();
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.program8;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This benchmark shows how the cost of the tick engine grows with the length of the simulated day.
+ * Every customer is routed once, when it arrives, so the time per simulation should grow in proportion
+ * to the simulation duration. Doubling the duration should roughly double the reported time.
+ * Run it with: mvn -Pjmh test-compile exec:exec -Djmh.args="TickScalingBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TickScalingBenchmark {
+    /**
+     * The number of seconds during which customers arrive.
+     */
+    @Param({"10800", "21600", "43200", "86400", "172800"})
+    public int simulationDuration;
+
+    /**
+     * Runs one complete simulation with the tick engine, one arrival every 10 seconds, three lines and a 20/60/20 customer mix.
+     *
+     * @return The average waiting time, so the work is not optimized away.
+     */
+    @Benchmark
+    public double tickEngine() {
+        SimulationLogic simulation = new SimulationLogic();
+        simulation.setEngineMode(SimulationLogic.EngineMode.TICK);
+        simulation.setSimulationDuration(simulationDuration);
+        simulation.setSeed(1);
+        simulation.startSimulation(3, 10, 20, 60, 20);
+        return simulation.getAverageWaitingTime();
+    }
+}
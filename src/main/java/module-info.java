@@ -1,6 +1,7 @@
 module org.example.program8 {
     requires javafx.controls;
     requires javafx.fxml;
+    requires java.management;
 
 
     opens org.example.program8 to javafx.fxml;
@@ -0,0 +1,79 @@
+package org.example.program8;
+
+/**
+ * This class draws checkout difficulties independently with the requested probabilities,
+ * using Vose's alias method: one uniform column and one biased coin per draw.
+ */
+class AliasSampler implements DifficultySampler {
+    private static final Customer.Difficulty[] DIFFICULTIES = Customer.Difficulty.values();
+
+    private final SplitMixRandom random;
+    private final double[] probability;
+    private final int[] alias;
+
+    /**
+     * Constructs the alias table for the given weights.
+     *
+     * @param percentages The weight of every difficulty, indexed by ordinal.
+     * @param random      The random number generator.
+     */
+    AliasSampler(int[] percentages, SplitMixRandom random) {
+        this.random = random;
+        int n = percentages.length;
+        probability = new double[n];
+        alias = new int[n];
+
+        double percentageSum = 0;
+        for (int percentage : percentages) {
+            percentageSum += percentage;
+        }
+
+        // Scale the weights so their average is 1, then split them into small and large columns
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = percentages[i] * n / percentageSum;
+            if (scaled[i] < 1) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        // Fill every small column with the excess of a large column
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1;
+            if (scaled[more] < 1) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+
+        // The remaining columns are full, up to rounding errors
+        while (largeCount > 0) {
+            probability[large[--largeCount]] = 1;
+        }
+        while (smallCount > 0) {
+            probability[small[--smallCount]] = 1;
+        }
+    }
+
+    /**
+     * Returns the checkout difficulty of the next customer.
+     *
+     * @return The checkout difficulty.
+     */
+    @Override
+    public Customer.Difficulty next() {
+        int column = random.nextInt(probability.length);
+        return DIFFICULTIES[random.nextDouble() < probability[column] ? column : alias[column]];
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.program8;
+
+/**
+ * This interface supplies the customer arrivals of a simulation, one at a time and in time order.
+ * The engine asks for the next arrival only when it needs it, so a source can stream arrivals from a file
+ * of any size without loading it first.
+ */
+public interface ArrivalSource {
+
+    /**
+     * Moves to the next arrival.
+     *
+     * @return true if there is a next arrival, false if the source has no arrivals left.
+     */
+    boolean next();
+
+    /**
+     * Returns the time of the current arrival. Times never decrease from one arrival to the next.
+     *
+     * @return The arrival time in simulated seconds.
+     */
+    int getTime();
+
+    /**
+     * Returns the checkout difficulty of the current arrival.
+     *
+     * @return The checkout difficulty, or null if the simulation should draw it from the customer mix.
+     */
+    Customer.Difficulty getDifficulty();
+}
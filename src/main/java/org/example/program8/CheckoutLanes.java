@@ -0,0 +1,147 @@
+package org.example.program8;
+
+/**
+ * This interface represents the checkout lines of a simulation together with the customers standing in them.
+ * Lines are addressed by index, and only the customer at the front of a line can be inspected or removed.
+ */
+interface CheckoutLanes {
+
+    /**
+     * Returns the number of checkout lines.
+     *
+     * @return The number of checkout lines.
+     */
+    int getLineCount();
+
+    /**
+     * Returns the number of customers in the given line.
+     *
+     * @param lineIndex The index of the line.
+     * @return The number of customers in the line.
+     */
+    int size(int lineIndex);
+
+    /**
+     * Checks if the given line is empty.
+     *
+     * @param lineIndex The index of the line.
+     * @return true if the line is empty, false otherwise.
+     */
+    boolean isEmpty(int lineIndex);
+
+    /**
+     * Returns the index of the line with the fewest customers.
+     *
+     * @return The index of the shortest line, the lowest index if several lines are equally short.
+     */
+    int getShortestLine();
+
+    /**
+     * Creates a new customer and adds it to the end of the given line.
+     * The arrival time and the enqueue time of the customer are both set to the given time.
+     *
+     * @param lineIndex  The index of the line.
+     * @param customerId The ID of the customer.
+     * @param difficulty The checkout difficulty of the customer.
+     * @param time       The current time.
+     */
+    void enqueue(int lineIndex, int customerId, Customer.Difficulty difficulty, int time);
+
+    /**
+     * Returns the ID of the customer at the front of the given line.
+     *
+     * @param lineIndex The index of the line.
+     * @return The ID of the front customer.
+     */
+    int peekCustomerId(int lineIndex);
+
+    /**
+     * Returns the checkout difficulty of the customer at the front of the given line.
+     *
+     * @param lineIndex The index of the line.
+     * @return The checkout difficulty of the front customer.
+     */
+    Customer.Difficulty peekCheckoutDifficulty(int lineIndex);
+
+    /**
+     * Returns the checkout start time of the customer at the front of the given line.
+     *
+     * @param lineIndex The index of the line.
+     * @return The checkout start time of the front customer, or 0 if the checkout has not started.
+     */
+    int peekCheckoutStartTime(int lineIndex);
+
+    /**
+     * Starts the checkout of the customer at the front of the given line.
+     *
+     * @param lineIndex The index of the line.
+     * @param time      The current time.
+     */
+    void startCheckout(int lineIndex, int time);
+
+    /**
+     * Finishes the checkout of the customer at the front of the given line by setting its dequeue and checkout end time.
+     * The customer stays at the front of the line until it is dequeued.
+     *
+     * @param lineIndex The index of the line.
+     * @param time      The current time.
+     */
+    void finishCheckout(int lineIndex, int time);
+
+    /**
+     * Returns the waiting time of the customer at the front of the given line.
+     *
+     * @param lineIndex The index of the line.
+     * @return The waiting time of the front customer.
+     */
+    int peekWaitingTime(int lineIndex);
+
+    /**
+     * Returns the checkout duration of the customer at the front of the given line.
+     *
+     * @param lineIndex The index of the line.
+     * @return The checkout duration of the front customer.
+     */
+    int peekCheckoutDuration(int lineIndex);
+
+    /**
+     * Removes the customer at the front of the given line.
+     *
+     * @param lineIndex The index of the line.
+     * @param time      The current time.
+     */
+    void dequeue(int lineIndex, int time);
+
+    /**
+     * Counts the customers created so far with the given checkout difficulty.
+     * Only customers kept by the lines are counted.
+     *
+     * @param difficulty The checkout difficulty.
+     * @return The number of customers with the given difficulty.
+     */
+    int countCustomers(Customer.Difficulty difficulty);
+
+    /**
+     * Passes every customer in the given line to the visitor, from front to back.
+     *
+     * @param lineIndex The index of the line.
+     * @param visitor   The visitor that receives the customers.
+     */
+    void forEachCustomer(int lineIndex, CustomerVisitor visitor);
+
+    /**
+     * This interface receives the customers of a line, for example to save them in a checkpoint.
+     */
+    interface CustomerVisitor {
+
+        /**
+         * Called for each customer in a line.
+         *
+         * @param customerId        The ID of the customer.
+         * @param difficulty        The checkout difficulty of the customer.
+         * @param enqueueTime       The time the customer joined the line.
+         * @param checkoutStartTime The checkout start time, or 0 if the checkout has not started.
+         */
+        void visit(int customerId, Customer.Difficulty difficulty, int enqueueTime, int checkoutStartTime);
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.program8;
+
+import java.util.function.Consumer;
+
+/**
+ * This interface represents a first-in, first-out checkout line.
+ * It provides methods to enqueue, dequeue, peek, and check the length of the line.
+ *
+ * @param <ItemType> The type of items that this queue holds.
+ */
+interface CheckoutQueue<ItemType> {
+
+    /**
+     * Adds a new item to the end of the queue.
+     *
+     * @param newItem     The item to add.
+     * @param currentTime The current time.
+     */
+    void enqueue(ItemType newItem, int currentTime);
+
+    /**
+     * Removes and returns the item at the front of the queue.
+     *
+     * @param currentTime The current time.
+     * @return The item that was removed.
+     */
+    ItemType dequeue(int currentTime);
+
+    /**
+     * Returns the item at the front of the queue without removing it.
+     *
+     * @return The item at the front of the queue.
+     */
+    ItemType peek();
+
+    /**
+     * Returns the number of items in the queue.
+     *
+     * @return The number of items in the queue.
+     */
+    int size();
+
+    /**
+     * Checks if the queue is empty.
+     *
+     * @return true if the queue is empty, false otherwise.
+     */
+    boolean isEmpty();
+
+    /**
+     * Passes every item in the queue to the given action, from front to rear, without removing it.
+     *
+     * @param action The action to perform on each item.
+     */
+    void forEach(Consumer<? super ItemType> action);
+}
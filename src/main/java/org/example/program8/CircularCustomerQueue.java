@@ -0,0 +1,142 @@
+package org.example.program8;
+
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * This class represents a queue of customers backed by a growable circular array.
+ * It has the same contract as CustomerQueue, but it does not allocate a node for every item.
+ * Once the array has grown to the longest line of the day, enqueue and dequeue do not allocate at all.
+ *
+ * @param <ItemType> The type of items that this queue holds.
+ */
+class CircularCustomerQueue<ItemType> implements CheckoutQueue<ItemType> {
+    /**
+     * Initial capacity of the array.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private Object[] items;
+    private int front;
+    private int size;
+
+    /**
+     * Constructs an empty CircularCustomerQueue.
+     */
+    public CircularCustomerQueue() {
+        items = new Object[DEFAULT_CAPACITY];
+        front = 0;
+        size = 0;
+    }
+
+    /**
+     * Adds a new item to the end of the queue, doubling the array when it is full.
+     *
+     * @param newItem     The item to add.
+     * @param currentTime The current time.
+     */
+    @Override
+    public void enqueue(ItemType newItem, int currentTime) {
+        if (size == items.length) {
+            grow();
+        }
+        items[(front + size) % items.length] = newItem;
+        size++;
+    }
+
+    /**
+     * Checks if the queue is empty.
+     *
+     * @return true if the queue is empty, false otherwise.
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the item at the front of the queue without removing it.
+     *
+     * @return The item at the front of the queue.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public ItemType peek() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Queue is empty. Cannot peek.");
+        }
+        return (ItemType) items[front];
+    }
+
+    /**
+     * Removes and returns the item at the front of the queue.
+     *
+     * @param currentTime The current time.
+     * @return The item that was removed.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public ItemType dequeue(int currentTime) {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Queue is empty. Cannot dequeue.");
+        }
+
+        ItemType returnItem = (ItemType) items[front];
+        // Clear the slot so the array does not keep checked out customers alive
+        items[front] = null;
+        front = (front + 1) % items.length;
+        size--;
+        return returnItem;
+    }
+
+    /**
+     * Returns the number of items in the queue.
+     *
+     * @return The number of items in the queue.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Passes every item in the queue to the given action, from front to rear, without removing it.
+     *
+     * @param action The action to perform on each item.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super ItemType> action) {
+        for (int i = 0; i < size; i++) {
+            action.accept((ItemType) items[(front + i) % items.length]);
+        }
+    }
+
+    /**
+     * Doubles the capacity of the array, moving the items so the front is at index zero.
+     */
+    private void grow() {
+        Object[] newItems = new Object[items.length * 2];
+        for (int i = 0; i < size; i++) {
+            newItems[i] = items[(front + i) % items.length];
+        }
+        items = newItems;
+        front = 0;
+    }
+
+    /**
+     * Returns a string representation of the queue.
+     *
+     * @return A string representation of the queue.
+     */
+    public String toString() {
+        StringBuilder outString = new StringBuilder();
+
+        for (int i = 0; i < size; i++) {
+            outString.append(items[(front + i) % items.length].toString());
+            if (i < size - 1)
+                outString.append("\n");
+        }
+        return outString.toString();
+    }
+}
@@ -0,0 +1,231 @@
+package org.example.program8;
+
+/**
+ * This class represents checkout lines backed by a columnar CustomerStore.
+ * Each line holds store rows in an IntCustomerQueue, and all customer data lives in primitive columns,
+ * so no object is allocated per shopper.
+ */
+class ColumnarCheckoutLanes implements CheckoutLanes {
+
+    /**
+     * The columns holding the data of every customer created.
+     */
+    private final CustomerStore customerStore = new CustomerStore();
+
+    /**
+     * The checkout lines, each holding the store rows of their customers.
+     */
+    private final IntCustomerQueue[] checkoutLines;
+
+    /**
+     * Whether checked out customers are kept in the store.
+     */
+    private final boolean retainCustomers;
+
+    /**
+     * The lines ordered by length, used to find the shortest line.
+     */
+    private final LaneLengthHeap lineLengths;
+
+    /**
+     * Constructs the given number of empty checkout lines.
+     *
+     * @param numberOfLines   The number of checkout lines.
+     * @param retainCustomers Whether checked out customers are kept in the store, or their rows are reused.
+     */
+    ColumnarCheckoutLanes(int numberOfLines, boolean retainCustomers) {
+        this.retainCustomers = retainCustomers;
+        this.lineLengths = new LaneLengthHeap(numberOfLines);
+        checkoutLines = new IntCustomerQueue[numberOfLines];
+        for (int i = 0; i < numberOfLines; i++) {
+            checkoutLines[i] = new IntCustomerQueue();
+        }
+    }
+
+    /**
+     * Returns the number of checkout lines.
+     *
+     * @return The number of checkout lines.
+     */
+    @Override
+    public int getLineCount() {
+        return checkoutLines.length;
+    }
+
+    /**
+     * Returns the number of customers in the given line.
+     *
+     * @param lineIndex The index of the line.
+     * @return The number of customers in the line.
+     */
+    @Override
+    public int size(int lineIndex) {
+        return checkoutLines[lineIndex].size();
+    }
+
+    /**
+     * Checks if the given line is empty.
+     *
+     * @param lineIndex The index of the line.
+     * @return true if the line is empty, false otherwise.
+     */
+    @Override
+    public boolean isEmpty(int lineIndex) {
+        return checkoutLines[lineIndex].isEmpty();
+    }
+
+    /**
+     * Returns the index of the line with the fewest customers.
+     *
+     * @return The index of the shortest line, the lowest index if several lines are equally short.
+     */
+    @Override
+    public int getShortestLine() {
+        return lineLengths.getShortestLine();
+    }
+
+    /**
+     * Creates a new customer and adds it to the end of the given line.
+     * The arrival time and the enqueue time of the customer are both set to the given time.
+     *
+     * @param lineIndex  The index of the line.
+     * @param customerId The ID of the customer.
+     * @param difficulty The checkout difficulty of the customer.
+     * @param time       The current time.
+     */
+    @Override
+    public void enqueue(int lineIndex, int customerId, Customer.Difficulty difficulty, int time) {
+        int row = customerStore.add(customerId, difficulty, time);
+        checkoutLines[lineIndex].enqueue(row);
+        lineLengths.increment(lineIndex);
+        customerStore.setEnqueueTime(row, time);
+    }
+
+    /**
+     * Returns the ID of the customer at the front of the given line.
+     *
+     * @param lineIndex The index of the line.
+     * @return The ID of the front customer.
+     */
+    @Override
+    public int peekCustomerId(int lineIndex) {
+        return customerStore.getId(checkoutLines[lineIndex].peek());
+    }
+
+    /**
+     * Returns the checkout difficulty of the customer at the front of the given line.
+     *
+     * @param lineIndex The index of the line.
+     * @return The checkout difficulty of the front customer.
+     */
+    @Override
+    public Customer.Difficulty peekCheckoutDifficulty(int lineIndex) {
+        return customerStore.getCheckoutDifficulty(checkoutLines[lineIndex].peek());
+    }
+
+    /**
+     * Returns the checkout start time of the customer at the front of the given line.
+     *
+     * @param lineIndex The index of the line.
+     * @return The checkout start time of the front customer, or 0 if the checkout has not started.
+     */
+    @Override
+    public int peekCheckoutStartTime(int lineIndex) {
+        return customerStore.getCheckoutStartTime(checkoutLines[lineIndex].peek());
+    }
+
+    /**
+     * Starts the checkout of the customer at the front of the given line.
+     *
+     * @param lineIndex The index of the line.
+     * @param time      The current time.
+     */
+    @Override
+    public void startCheckout(int lineIndex, int time) {
+        customerStore.setCheckoutStartTime(checkoutLines[lineIndex].peek(), time);
+    }
+
+    /**
+     * Finishes the checkout of the customer at the front of the given line by setting its dequeue and checkout end time.
+     * The customer stays at the front of the line until it is dequeued.
+     *
+     * @param lineIndex The index of the line.
+     * @param time      The current time.
+     */
+    @Override
+    public void finishCheckout(int lineIndex, int time) {
+        int row = checkoutLines[lineIndex].peek();
+        customerStore.setDequeueTime(row, time);
+        customerStore.setCheckoutEndTime(row, time);
+    }
+
+    /**
+     * Returns the waiting time of the customer at the front of the given line.
+     *
+     * @param lineIndex The index of the line.
+     * @return The waiting time of the front customer.
+     */
+    @Override
+    public int peekWaitingTime(int lineIndex) {
+        return customerStore.getWaitingTime(checkoutLines[lineIndex].peek());
+    }
+
+    /**
+     * Returns the checkout duration of the customer at the front of the given line.
+     *
+     * @param lineIndex The index of the line.
+     * @return The checkout duration of the front customer.
+     */
+    @Override
+    public int peekCheckoutDuration(int lineIndex) {
+        return customerStore.getCheckoutDuration(checkoutLines[lineIndex].peek());
+    }
+
+    /**
+     * Removes the customer at the front of the given line.
+     *
+     * @param lineIndex The index of the line.
+     * @param time      The current time.
+     */
+    @Override
+    public void dequeue(int lineIndex, int time) {
+        int row = checkoutLines[lineIndex].dequeue();
+        lineLengths.decrement(lineIndex);
+        if (!retainCustomers) {
+            customerStore.remove(row);
+        }
+    }
+
+    /**
+     * Counts the customers created so far with the given checkout difficulty.
+     *
+     * @param difficulty The checkout difficulty.
+     * @return The number of customers with the given difficulty.
+     */
+    @Override
+    public int countCustomers(Customer.Difficulty difficulty) {
+        int count = 0;
+        for (int row = 0; row < customerStore.size(); row++) {
+            if (customerStore.getCheckoutDifficulty(row) == difficulty) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Passes every customer in the given line to the visitor, from front to back.
+     *
+     * @param lineIndex The index of the line.
+     * @param visitor   The visitor that receives the customers.
+     */
+    @Override
+    public void forEachCustomer(int lineIndex, CustomerVisitor visitor) {
+        IntCustomerQueue line = checkoutLines[lineIndex];
+        for (int i = 0; i < line.size(); i++) {
+            int row = line.get(i);
+            visitor.visit(customerStore.getId(row), customerStore.getCheckoutDifficulty(row),
+                    customerStore.getEnqueueTime(row), customerStore.getCheckoutStartTime(row));
+        }
+    }
+}
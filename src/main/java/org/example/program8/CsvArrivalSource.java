@@ -0,0 +1,311 @@
+package org.example.program8;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class streams customer arrivals from a CSV file, such as an export of point-of-sale logs.
+ * Every line holds the arrival time in seconds, optionally followed by a comma and the checkout difficulty:
+ * <pre>
+ * time,difficulty
+ * 30,EASY
+ * 45,M
+ * 45,2
+ * 61
+ * </pre>
+ * The difficulty is EASY, MEDIUM or DIFFICULT, or just its first letter, in any case, or 0, 1 or 2.
+ * A missing difficulty is drawn from the customer mix. Further columns are ignored.
+ * Blank lines are skipped, and the first line that is not blank is taken as a header if its first field is not a number.
+ * Arrival times must not be negative.
+ * The file is read in blocks through a FileChannel and parsed byte by byte, so no String is created per line
+ * and only one block is in memory at a time.
+ */
+public class CsvArrivalSource implements ArrivalSource, Closeable {
+    /**
+     * Number of bytes read from the file at a time.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Marks that no character has been read yet.
+     */
+    private static final int NOT_READ = -2;
+
+    /**
+     * Longest difficulty field kept, enough for the longest difficulty name.
+     */
+    private static final int MAXIMUM_FIELD_LENGTH = 16;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final byte[] bytes = new byte[BUFFER_SIZE];
+    private final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    private int position;
+    private int limit;
+
+    // The difficulty field of the current line in lower case, or a length of -1 if it is too long
+    private final byte[] field = new byte[MAXIMUM_FIELD_LENGTH];
+    private int fieldLength;
+
+    /**
+     * The first character of the next line, already read, or NOT_READ before the first line.
+     */
+    private int nextLineStart = NOT_READ;
+
+    private long lineNumber;
+    private boolean headerChecked;
+    private int time = Integer.MIN_VALUE;
+    private Customer.Difficulty difficulty;
+
+    /**
+     * Opens the given CSV file.
+     *
+     * @param file The CSV file.
+     * @throws IOException If the file cannot be opened.
+     */
+    public CsvArrivalSource(Path file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+    }
+
+    /**
+     * Reads the next line that holds an arrival.
+     *
+     * @return true if there is a next arrival, false at the end of the file.
+     * @throws IllegalArgumentException If a line is not a valid arrival or the times decrease.
+     * @throws UncheckedIOException     If the file cannot be read.
+     */
+    @Override
+    public boolean next() {
+        int c = nextLineStart == NOT_READ ? read() : nextLineStart;
+        while (true) {
+            if (c < 0) {
+                nextLineStart = c;
+                return false;
+            }
+            lineNumber++;
+            c = skipSpaces(c);
+            if (c == '\n' || c == '\r') {
+                // Skip blank lines
+                c = skipLine(c);
+                continue;
+            }
+
+            // Read the sign, so a negative time is not mistaken for a header
+            int sign = c;
+            if (c == '-' || c == '+') {
+                c = read();
+            }
+            if ((c < '0' || c > '9') && !headerChecked) {
+                // The first field of the first line that is not blank is not a number, so skip the header
+                headerChecked = true;
+                c = skipLine(c);
+                continue;
+            }
+            headerChecked = true;
+            if (sign == '-' && c >= '0' && c <= '9') {
+                throw invalidLine("arrival times must not be negative");
+            }
+            break;
+        }
+
+        // Parse the time
+        long value = 0;
+        int digits = 0;
+        while (c >= '0' && c <= '9') {
+            value = value * 10 + (c - '0');
+            if (value > Integer.MAX_VALUE) {
+                throw invalidLine("time is too large");
+            }
+            digits++;
+            c = read();
+        }
+        if (digits == 0) {
+            throw invalidLine("expected an arrival time");
+        }
+        if (value < time) {
+            throw invalidLine("arrival times must not decrease");
+        }
+        time = (int) value;
+
+        // Parse the optional difficulty
+        difficulty = null;
+        c = skipSpaces(c);
+        if (c == ',') {
+            c = skipSpaces(read());
+            if (c >= 0 && c != ',' && c != '\n' && c != '\r') {
+                c = readField(c);
+                difficulty = parseDifficulty();
+            }
+        } else if (c >= 0 && c != '\n' && c != '\r') {
+            throw invalidLine("expected a comma after the arrival time");
+        }
+
+        // Ignore further columns
+        nextLineStart = skipLine(c);
+        return true;
+    }
+
+    /**
+     * Returns the time of the current arrival.
+     *
+     * @return The arrival time in simulated seconds.
+     */
+    @Override
+    public int getTime() {
+        return time;
+    }
+
+    /**
+     * Returns the checkout difficulty of the current arrival.
+     *
+     * @return The checkout difficulty, or null if the line has none.
+     */
+    @Override
+    public Customer.Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Reads a field up to the next comma or the end of the line into the field buffer, in lower case
+     * and without trailing spaces.
+     *
+     * @param c The first character of the field.
+     * @return The character after the field.
+     */
+    private int readField(int c) {
+        int length = 0;
+        fieldLength = 0;
+        while (c >= 0 && c != ',' && c != '\n' && c != '\r') {
+            if (length < MAXIMUM_FIELD_LENGTH) {
+                field[length] = (byte) Character.toLowerCase(c);
+            }
+            length++;
+            if (c != ' ' && c != '\t') {
+                fieldLength = length;
+            }
+            c = read();
+        }
+        if (fieldLength > MAXIMUM_FIELD_LENGTH) {
+            fieldLength = -1;
+        }
+        return c;
+    }
+
+    /**
+     * Returns the difficulty named by the field buffer.
+     *
+     * @return The checkout difficulty.
+     */
+    private Customer.Difficulty parseDifficulty() {
+        if (fieldEquals("easy") || fieldEquals("e") || fieldEquals("0")) {
+            return Customer.Difficulty.EASY;
+        } else if (fieldEquals("medium") || fieldEquals("m") || fieldEquals("1")) {
+            return Customer.Difficulty.MEDIUM;
+        } else if (fieldEquals("difficult") || fieldEquals("d") || fieldEquals("2")) {
+            return Customer.Difficulty.DIFFICULT;
+        }
+        throw invalidLine("unknown difficulty");
+    }
+
+    /**
+     * Checks if the field buffer holds the given word.
+     *
+     * @param word The word in lower case.
+     * @return true if the field is exactly the word, false otherwise.
+     */
+    private boolean fieldEquals(String word) {
+        if (fieldLength != word.length()) {
+            return false;
+        }
+        for (int i = 0; i < fieldLength; i++) {
+            if (field[i] != word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Skips spaces and tabs.
+     *
+     * @param c The current character.
+     * @return The first character that is not a space or a tab.
+     */
+    private int skipSpaces(int c) {
+        while (c == ' ' || c == '\t') {
+            c = read();
+        }
+        return c;
+    }
+
+    /**
+     * Skips to the start of the next line.
+     *
+     * @param c The current character.
+     * @return The first character of the next line, or -1 at the end of the file.
+     */
+    private int skipLine(int c) {
+        while (c >= 0 && c != '\n') {
+            c = read();
+        }
+        return c < 0 ? c : read();
+    }
+
+    /**
+     * Returns the next byte of the file. Kept small, so the JIT compiler inlines it into the parser.
+     *
+     * @return The next byte, or -1 at the end of the file.
+     */
+    private int read() {
+        return position < limit ? bytes[position++] & 0xFF : readNextBlock();
+    }
+
+    /**
+     * Reads the next block of the file and returns its first byte.
+     *
+     * @return The first byte of the block, or -1 at the end of the file.
+     */
+    private int readNextBlock() {
+        try {
+            buffer.clear();
+            int count;
+            do {
+                count = channel.read(buffer);
+            } while (count == 0);
+            if (count < 0) {
+                return -1;
+            }
+            position = 0;
+            limit = count;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + file, e);
+        }
+        return bytes[position++] & 0xFF;
+    }
+
+    /**
+     * Creates the exception for an invalid line.
+     *
+     * @param reason What is wrong with the line.
+     * @return The exception to throw.
+     */
+    private IllegalArgumentException invalidLine(String reason) {
+        return new IllegalArgumentException(file + ":" + lineNumber + ": " + reason);
+    }
+}
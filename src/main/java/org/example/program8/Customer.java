@@ -5,7 +5,6 @@ package org.example.program8;
  * It holds information about the customer's checkout difficulty, arrival time, enqueue time, checkout start time, and checkout end time.
  */
 public class Customer {
-    private static int idCounter = 0;
     private Difficulty checkoutDifficulty;
     private final int id;
     private int arrivalTime;
@@ -15,17 +14,13 @@ public class Customer {
     private int checkoutEndTime;
 
     /**
-     * Constructs a new Customer with a unique ID.
-     */
-    public Customer() {
-        id = idCounter++;
-    }
-
-    /**
-     * Resets the ID for the next customer.
+     * Constructs a new Customer with the given ID.
+     * IDs are handed out by the simulation that creates the customer, so they are unique within that simulation.
+     *
+     * @param id The ID of the customer.
      */
-    public static void resetId() {
-        idCounter = 0;
+    public Customer(int id) {
+        this.id = id;
     }
 
     /**
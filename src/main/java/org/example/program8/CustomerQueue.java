@@ -1,6 +1,7 @@
 package org.example.program8;
 
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
 
 /**
  * This class represents a queue of customers.
@@ -8,7 +9,7 @@ import java.util.NoSuchElementException;
  *
  * @param <ItemType> The type of items that this queue holds.
  */
-class CustomerQueue<ItemType> {
+class CustomerQueue<ItemType> implements CheckoutQueue<ItemType> {
 
     Node front;
     private Node rear;
@@ -28,6 +29,7 @@ class CustomerQueue<ItemType> {
      * @param newItem     The item to add.
      * @param currentTime The current time.
      */
+    @Override
     public void enqueue(ItemType newItem, int currentTime) {
         if (rear != null) {
             rear.next = new Node(newItem, null);
@@ -46,6 +48,7 @@ class CustomerQueue<ItemType> {
      *
      * @return true if the queue is empty, false otherwise.
      */
+    @Override
     public boolean isEmpty() {
         return front == null;
     }
@@ -55,6 +58,7 @@ class CustomerQueue<ItemType> {
      *
      * @return The item at the front of the queue.
      */
+    @Override
     public ItemType peek() {
         return front.value;
     }
@@ -65,6 +69,7 @@ class CustomerQueue<ItemType> {
      * @param currentTime The current time.
      * @return The item that was removed.
      */
+    @Override
     public ItemType dequeue(int currentTime) {
         if (isEmpty()) {
             throw new NoSuchElementException("Queue is empty. Cannot dequeue.");
@@ -83,10 +88,23 @@ class CustomerQueue<ItemType> {
      *
      * @return The number of items in the queue.
      */
+    @Override
     public int size() {
         return size;
     }
 
+    /**
+     * Passes every item in the queue to the given action, from front to rear, without removing it.
+     *
+     * @param action The action to perform on each item.
+     */
+    @Override
+    public void forEach(Consumer<? super ItemType> action) {
+        for (Node p = front; p != null; p = p.next) {
+            action.accept(p.value);
+        }
+    }
+
     /**
      * Returns a string representation of the queue.
      *
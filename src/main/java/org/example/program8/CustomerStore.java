@@ -0,0 +1,244 @@
+package org.example.program8;
+
+import java.util.Arrays;
+
+/**
+ * This class stores customers as parallel primitive columns instead of one Customer object per shopper.
+ * A customer is addressed by its row, which is the index in every column.
+ * The columns grow by doubling, so adding a customer does not allocate once the store has reached its peak size.
+ * Rows of removed customers are reused by later customers, so a store whose customers are removed after checkout
+ * only grows to the largest number of customers waiting at the same time.
+ */
+class CustomerStore {
+    /**
+     * Initial number of rows in each column.
+     */
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * The values of Customer.Difficulty, indexed by ordinal.
+     */
+    private static final Customer.Difficulty[] DIFFICULTIES = Customer.Difficulty.values();
+
+    private int[] customerId;
+    private byte[] checkoutDifficulty;
+    private int[] arrivalTime;
+    private int[] enqueueTime;
+    private int[] dequeueTime;
+    private int[] checkoutStartTime;
+    private int[] checkoutEndTime;
+    private int size;
+    private int[] freeRows;
+    private int freeCount;
+
+    /**
+     * Constructs an empty CustomerStore.
+     */
+    CustomerStore() {
+        customerId = new int[DEFAULT_CAPACITY];
+        checkoutDifficulty = new byte[DEFAULT_CAPACITY];
+        arrivalTime = new int[DEFAULT_CAPACITY];
+        enqueueTime = new int[DEFAULT_CAPACITY];
+        dequeueTime = new int[DEFAULT_CAPACITY];
+        checkoutStartTime = new int[DEFAULT_CAPACITY];
+        checkoutEndTime = new int[DEFAULT_CAPACITY];
+        size = 0;
+        freeRows = new int[DEFAULT_CAPACITY];
+        freeCount = 0;
+    }
+
+    /**
+     * Adds a new customer to the store.
+     *
+     * @param id         The ID of the customer.
+     * @param difficulty The checkout difficulty of the customer.
+     * @param time       The arrival time of the customer.
+     * @return The row of the new customer.
+     */
+    int add(int id, Customer.Difficulty difficulty, int time) {
+        int row;
+        if (freeCount > 0) {
+            // Reuse the row of a removed customer
+            row = freeRows[--freeCount];
+        } else {
+            if (size == arrivalTime.length) {
+                grow();
+            }
+            row = size++;
+        }
+        customerId[row] = id;
+        checkoutDifficulty[row] = (byte) difficulty.ordinal();
+        arrivalTime[row] = time;
+        enqueueTime[row] = 0;
+        dequeueTime[row] = 0;
+        checkoutStartTime[row] = 0;
+        checkoutEndTime[row] = 0;
+        return row;
+    }
+
+    /**
+     * Removes a customer from the store so its row can be reused.
+     *
+     * @param row The row of the customer.
+     */
+    void remove(int row) {
+        if (freeCount == freeRows.length) {
+            freeRows = Arrays.copyOf(freeRows, freeRows.length * 2);
+        }
+        freeRows[freeCount++] = row;
+    }
+
+    /**
+     * Returns the number of rows in use or freed in the store.
+     * When no customer has been removed, this is the number of customers in the store.
+     *
+     * @return The number of rows in the store.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the ID of the given customer.
+     *
+     * @param row The row of the customer.
+     * @return The ID of the customer.
+     */
+    int getId(int row) {
+        return customerId[row];
+    }
+
+    /**
+     * Returns the checkout difficulty of the given customer.
+     *
+     * @param row The row of the customer.
+     * @return The checkout difficulty of the customer.
+     */
+    Customer.Difficulty getCheckoutDifficulty(int row) {
+        return DIFFICULTIES[checkoutDifficulty[row]];
+    }
+
+    /**
+     * Returns the arrival time of the given customer.
+     *
+     * @param row The row of the customer.
+     * @return The arrival time of the customer.
+     */
+    int getArrivalTime(int row) {
+        return arrivalTime[row];
+    }
+
+    /**
+     * Returns the enqueue time of the given customer.
+     *
+     * @param row The row of the customer.
+     * @return The enqueue time of the customer.
+     */
+    int getEnqueueTime(int row) {
+        return enqueueTime[row];
+    }
+
+    /**
+     * Sets the enqueue time of the given customer.
+     *
+     * @param row  The row of the customer.
+     * @param time The enqueue time to set.
+     */
+    void setEnqueueTime(int row, int time) {
+        enqueueTime[row] = time;
+    }
+
+    /**
+     * Returns the dequeue time of the given customer.
+     *
+     * @param row The row of the customer.
+     * @return The dequeue time of the customer.
+     */
+    int getDequeueTime(int row) {
+        return dequeueTime[row];
+    }
+
+    /**
+     * Sets the dequeue time of the given customer.
+     *
+     * @param row  The row of the customer.
+     * @param time The dequeue time to set.
+     */
+    void setDequeueTime(int row, int time) {
+        dequeueTime[row] = time;
+    }
+
+    /**
+     * Returns the checkout start time of the given customer.
+     *
+     * @param row The row of the customer.
+     * @return The checkout start time of the customer.
+     */
+    int getCheckoutStartTime(int row) {
+        return checkoutStartTime[row];
+    }
+
+    /**
+     * Sets the checkout start time of the given customer.
+     *
+     * @param row  The row of the customer.
+     * @param time The checkout start time to set.
+     */
+    void setCheckoutStartTime(int row, int time) {
+        checkoutStartTime[row] = time;
+    }
+
+    /**
+     * Returns the checkout end time of the given customer.
+     *
+     * @param row The row of the customer.
+     * @return The checkout end time of the customer.
+     */
+    int getCheckoutEndTime(int row) {
+        return checkoutEndTime[row];
+    }
+
+    /**
+     * Sets the checkout end time of the given customer.
+     *
+     * @param row  The row of the customer.
+     * @param time The checkout end time to set.
+     */
+    void setCheckoutEndTime(int row, int time) {
+        checkoutEndTime[row] = time;
+    }
+
+    /**
+     * Returns the checkout duration of the given customer.
+     *
+     * @param row The row of the customer.
+     * @return The checkout duration of the customer.
+     */
+    int getCheckoutDuration(int row) {
+        return checkoutEndTime[row] - checkoutStartTime[row];
+    }
+
+    /**
+     * Returns the waiting time of the given customer in the checkout line.
+     *
+     * @param row The row of the customer.
+     * @return The waiting time of the customer in the checkout line.
+     */
+    int getWaitingTime(int row) {
+        return checkoutStartTime[row] - enqueueTime[row];
+    }
+
+    /**
+     * Doubles the number of rows in every column.
+     */
+    private void grow() {
+        int capacity = arrivalTime.length * 2;
+        customerId = Arrays.copyOf(customerId, capacity);
+        checkoutDifficulty = Arrays.copyOf(checkoutDifficulty, capacity);
+        arrivalTime = Arrays.copyOf(arrivalTime, capacity);
+        enqueueTime = Arrays.copyOf(enqueueTime, capacity);
+        dequeueTime = Arrays.copyOf(dequeueTime, capacity);
+        checkoutStartTime = Arrays.copyOf(checkoutStartTime, capacity);
+        checkoutEndTime = Arrays.copyOf(checkoutEndTime, capacity);
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.program8;
+
+/**
+ * This interface represents a source of checkout difficulties for arriving customers.
+ * Every call takes constant time.
+ */
+interface DifficultySampler {
+
+    /**
+     * Returns the checkout difficulty of the next customer.
+     *
+     * @return The checkout difficulty.
+     */
+    Customer.Difficulty next();
+}
@@ -0,0 +1,242 @@
+package org.example.program8;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * This class draws checkout times from measured histograms, one per difficulty.
+ * A bin is chosen with the probability of its weight, and the time is spread evenly within the bin.
+ * Every histogram gets a lookup table that points from a slice of the random range straight to the first bin
+ * that can hold it, so a draw inspects one or two bins however many bins there are.
+ */
+public class EmpiricalServiceTimeModel implements ServiceTimeModel {
+    /**
+     * Number of lookup table entries per bin.
+     */
+    private static final int ENTRIES_PER_BIN = 4;
+
+    // Per difficulty: the bin edges, the bin weights, the cumulative probability at the end of every bin, and the lookup table
+    private final double[][] edges;
+    private final double[][] weights;
+    private final double[][] cumulative;
+    private final int[][] lookup;
+
+    /**
+     * Constructs a model from the given histograms, in difficulty order.
+     *
+     * @param binEdges   The edges of the bins of every difficulty in seconds, one more than the number of bins, increasing.
+     * @param binWeights The weight of every bin of every difficulty, such as the number of measured checkouts.
+     */
+    public EmpiricalServiceTimeModel(double[][] binEdges, double[][] binWeights) {
+        int difficulties = Customer.Difficulty.values().length;
+        if (binEdges.length != difficulties || binWeights.length != difficulties) {
+            throw new IllegalArgumentException("Expected a histogram for each of the " + difficulties + " difficulties.");
+        }
+        edges = new double[difficulties][];
+        weights = new double[difficulties][];
+        cumulative = new double[difficulties][];
+        lookup = new int[difficulties][];
+        for (int d = 0; d < difficulties; d++) {
+            edges[d] = binEdges[d].clone();
+            weights[d] = binWeights[d].clone();
+            cumulative[d] = toCumulative(edges[d], weights[d]);
+            lookup[d] = buildLookup(cumulative[d]);
+        }
+    }
+
+    /**
+     * Loads a model from a CSV file with one bin per line: difficulty, lower edge, upper edge and weight.
+     * The bins of a difficulty must be listed in increasing order and touch each other.
+     * A first line that starts with "difficulty" is taken as a header.
+     *
+     * @param file The CSV file.
+     * @return The model.
+     * @throws IOException If the file cannot be read.
+     */
+    public static EmpiricalServiceTimeModel load(Path file) throws IOException {
+        Customer.Difficulty[] difficulties = Customer.Difficulty.values();
+        List<List<double[]>> bins = new ArrayList<>();
+        for (int d = 0; d < difficulties.length; d++) {
+            bins.add(new ArrayList<>());
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || (lineNumber == 1 && line.startsWith("difficulty"))) {
+                    continue;
+                }
+                String location = file + ":" + lineNumber;
+                String[] fields = line.split(",");
+                if (fields.length != 4) {
+                    throw new IllegalArgumentException(location + ": expected 4 fields but found " + fields.length);
+                }
+                try {
+                    Customer.Difficulty difficulty = Customer.Difficulty.valueOf(fields[0].trim().toUpperCase());
+                    bins.get(difficulty.ordinal()).add(new double[]{
+                            Double.parseDouble(fields[1].trim()), Double.parseDouble(fields[2].trim()), Double.parseDouble(fields[3].trim())});
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException(location + ": " + e.getMessage());
+                }
+            }
+        }
+
+        // Turn the bins of every difficulty into edges and weights
+        double[][] binEdges = new double[difficulties.length][];
+        double[][] binWeights = new double[difficulties.length][];
+        for (int d = 0; d < difficulties.length; d++) {
+            List<double[]> difficultyBins = bins.get(d);
+            if (difficultyBins.isEmpty()) {
+                throw new IllegalArgumentException(file + ": no bins for " + difficulties[d]);
+            }
+            binEdges[d] = new double[difficultyBins.size() + 1];
+            binWeights[d] = new double[difficultyBins.size()];
+            binEdges[d][0] = difficultyBins.get(0)[0];
+            for (int b = 0; b < difficultyBins.size(); b++) {
+                double[] bin = difficultyBins.get(b);
+                if (bin[0] != binEdges[d][b]) {
+                    throw new IllegalArgumentException(file + ": bins of " + difficulties[d] + " must touch each other");
+                }
+                binEdges[d][b + 1] = bin[1];
+                binWeights[d][b] = bin[2];
+            }
+        }
+        return new EmpiricalServiceTimeModel(binEdges, binWeights);
+    }
+
+    /**
+     * Creates a model from the numbers of its description: for every difficulty the number of bins,
+     * then the bin edges and then the bin weights.
+     *
+     * @param numbers The numbers of the description.
+     * @return The model.
+     */
+    static EmpiricalServiceTimeModel fromNumbers(double[] numbers) {
+        int difficulties = Customer.Difficulty.values().length;
+        double[][] binEdges = new double[difficulties][];
+        double[][] binWeights = new double[difficulties][];
+        int next = 0;
+        for (int d = 0; d < difficulties; d++) {
+            int bins = (int) numbers[next++];
+            if (bins <= 0) {
+                throw new IllegalArgumentException("A histogram needs at least one bin.");
+            }
+            binEdges[d] = Arrays.copyOfRange(numbers, next, next + bins + 1);
+            next += bins + 1;
+            binWeights[d] = Arrays.copyOfRange(numbers, next, next + bins);
+            next += bins;
+        }
+        if (next != numbers.length) {
+            throw new IllegalArgumentException("Expected " + next + " numbers but found " + numbers.length + ".");
+        }
+        return new EmpiricalServiceTimeModel(binEdges, binWeights);
+    }
+
+    /**
+     * Checks a histogram and returns the cumulative probability at the end of every bin.
+     *
+     * @param edges   The edges of the bins.
+     * @param weights The weights of the bins.
+     * @return The cumulative probabilities, the last one exactly 1.
+     */
+    private static double[] toCumulative(double[] edges, double[] weights) {
+        if (weights.length == 0 || edges.length != weights.length + 1) {
+            throw new IllegalArgumentException("A histogram needs at least one bin and one more edge than bins.");
+        }
+        double total = 0;
+        for (int b = 0; b < weights.length; b++) {
+            if (weights[b] < 0 || edges[b] < 0 || edges[b + 1] < edges[b]) {
+                throw new IllegalArgumentException("Bin weights must not be negative and bin edges must increase.");
+            }
+            total += weights[b];
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("A histogram needs a positive total weight.");
+        }
+
+        double[] cumulative = new double[weights.length];
+        double sum = 0;
+        for (int b = 0; b < weights.length; b++) {
+            sum += weights[b];
+            cumulative[b] = sum / total;
+        }
+        // Make sure every draw below 1 finds a bin despite rounding
+        cumulative[weights.length - 1] = 1;
+        return cumulative;
+    }
+
+    /**
+     * Builds the lookup table that gives, for every equal slice of the range [0, 1), the first bin that can hold a draw in it.
+     *
+     * @param cumulative The cumulative probability at the end of every bin.
+     * @return The lookup table.
+     */
+    private static int[] buildLookup(double[] cumulative) {
+        int[] lookup = new int[cumulative.length * ENTRIES_PER_BIN];
+        int bin = 0;
+        for (int k = 0; k < lookup.length; k++) {
+            double sliceStart = (double) k / lookup.length;
+            while (cumulative[bin] <= sliceStart) {
+                bin++;
+            }
+            lookup[k] = bin;
+        }
+        return lookup;
+    }
+
+    /**
+     * Draws a checkout time from the histogram of the given difficulty.
+     *
+     * @param difficulty The checkout difficulty of the customer.
+     * @param random     The random number generator to draw from.
+     * @return The checkout time in seconds.
+     */
+    @Override
+    public double draw(Customer.Difficulty difficulty, RandomGenerator random) {
+        int d = difficulty.ordinal();
+        double[] binCumulative = cumulative[d];
+        int[] binLookup = lookup[d];
+        double u = random.nextDouble();
+
+        // Jump to the first bin that can hold the draw, then step to the one that does
+        int bin = binLookup[(int) (u * binLookup.length)];
+        while (binCumulative[bin] <= u) {
+            bin++;
+        }
+
+        // Spread the draw evenly over the bin
+        double binStart = bin == 0 ? 0 : binCumulative[bin - 1];
+        double fraction = (u - binStart) / (binCumulative[bin] - binStart);
+        double[] binEdges = edges[d];
+        return binEdges[bin] + (binEdges[bin + 1] - binEdges[bin]) * fraction;
+    }
+
+    /**
+     * Describes the model as "empirical" followed by, for every difficulty, the number of bins, the bin edges and the bin weights.
+     *
+     * @return The description.
+     */
+    @Override
+    public String describe() {
+        StringBuilder description = new StringBuilder("empirical");
+        for (int d = 0; d < edges.length; d++) {
+            description.append(' ').append(weights[d].length);
+            for (double edge : edges[d]) {
+                description.append(' ').append(edge);
+            }
+            for (double weight : weights[d]) {
+                description.append(' ').append(weight);
+            }
+        }
+        return description.toString();
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.program8;
+
+/**
+ * This class hands out a fixed number of checkout difficulties in random order,
+ * so the simulated mix matches the requested percentages exactly.
+ * Every draw picks one of the remaining customers uniformly, which gives the same sequence distribution
+ * as shuffling the full quota sequence up front, but without storing it.
+ */
+class ExactMixSampler implements DifficultySampler {
+    private static final Customer.Difficulty[] DIFFICULTIES = Customer.Difficulty.values();
+
+    private final SplitMixRandom random;
+    private final int[] remaining;
+    private int remainingTotal;
+
+    /**
+     * Constructs a sampler for the given number of customers.
+     * The quotas are the percentages applied to the total, with the rounding leftover given to the largest remainders,
+     * so they always add up to the total even if the percentages do not add up to 100.
+     *
+     * @param totalCustomers The number of customers to hand out difficulties for.
+     * @param percentages    The weight of every difficulty, indexed by ordinal.
+     * @param random         The random number generator.
+     */
+    ExactMixSampler(int totalCustomers, int[] percentages, SplitMixRandom random) {
+        this.random = random;
+        remaining = new int[percentages.length];
+
+        long percentageSum = 0;
+        for (int percentage : percentages) {
+            percentageSum += percentage;
+        }
+
+        // Give every difficulty its rounded down share
+        long[] remainders = new long[percentages.length];
+        int assigned = 0;
+        for (int i = 0; i < percentages.length; i++) {
+            long share = (long) totalCustomers * percentages[i];
+            remaining[i] = (int) (share / percentageSum);
+            remainders[i] = share % percentageSum;
+            assigned += remaining[i];
+        }
+
+        // Give the leftover customers to the difficulties with the largest remainders
+        for (; assigned < totalCustomers; assigned++) {
+            int largest = 0;
+            for (int i = 1; i < percentages.length; i++) {
+                if (remainders[i] > remainders[largest]) {
+                    largest = i;
+                }
+            }
+            remaining[largest]++;
+            remainders[largest] = -1;
+        }
+        remainingTotal = totalCustomers;
+    }
+
+    /**
+     * Constructs a sampler that continues from the given remaining quotas, as saved by getRemaining.
+     *
+     * @param remaining The number of customers of each difficulty that are still to be handed out.
+     * @param random    The random number generator used for the draws.
+     */
+    ExactMixSampler(int[] remaining, SplitMixRandom random) {
+        this.random = random;
+        this.remaining = remaining.clone();
+        for (int count : remaining) {
+            remainingTotal += count;
+        }
+    }
+
+    /**
+     * Returns the number of customers of each difficulty that are still to be handed out.
+     *
+     * @return A copy of the remaining quotas, in difficulty order.
+     */
+    int[] getRemaining() {
+        return remaining.clone();
+    }
+
+    /**
+     * Returns the checkout difficulty of the next customer, drawn from the remaining quotas.
+     *
+     * @return The checkout difficulty.
+     */
+    @Override
+    public Customer.Difficulty next() {
+        if (remainingTotal == 0) {
+            throw new IllegalStateException("All difficulty quotas have been used.");
+        }
+        int draw = random.nextInt(remainingTotal);
+        int i = 0;
+        while (draw >= remaining[i]) {
+            draw -= remaining[i];
+            i++;
+        }
+        remaining[i]--;
+        remainingTotal--;
+        return DIFFICULTIES[i];
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.program8;
+
+/**
+ * This class supplies one arrival at every multiple of the arrival frequency, up to the simulation duration.
+ * It is the arrival pattern used when no other arrival source is set.
+ */
+class FixedIntervalArrivals implements ArrivalSource {
+    private final int customerArrivalFrequency;
+    private final int simulationDuration;
+    private int time;
+
+    /**
+     * Constructs the arrivals from the given start time on.
+     *
+     * @param customerArrivalFrequency The number of seconds between two arrivals.
+     * @param startTime                The first second an arrival can happen at.
+     * @param simulationDuration       The last second an arrival can happen at.
+     */
+    FixedIntervalArrivals(int customerArrivalFrequency, int startTime, int simulationDuration) {
+        this.customerArrivalFrequency = customerArrivalFrequency;
+        this.simulationDuration = simulationDuration;
+        // The first multiple of the frequency at or after the start time, one step back
+        this.time = (startTime + customerArrivalFrequency - 1) / customerArrivalFrequency * customerArrivalFrequency - customerArrivalFrequency;
+    }
+
+    /**
+     * Moves to the next multiple of the arrival frequency.
+     *
+     * @return true if it is not after the simulation duration, false otherwise.
+     */
+    @Override
+    public boolean next() {
+        if (time > simulationDuration - customerArrivalFrequency) {
+            return false;
+        }
+        time += customerArrivalFrequency;
+        return true;
+    }
+
+    /**
+     * Returns the time of the current arrival.
+     *
+     * @return The arrival time in simulated seconds.
+     */
+    @Override
+    public int getTime() {
+        return time;
+    }
+
+    /**
+     * Returns null, so the difficulty is drawn from the customer mix.
+     *
+     * @return null.
+     */
+    @Override
+    public Customer.Difficulty getDifficulty() {
+        return null;
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.program8;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * This class gives every customer of the same difficulty the same checkout time.
+ * The simulation recognizes it and looks the times up in a table instead of drawing them.
+ */
+public class FixedServiceTimeModel implements ServiceTimeModel {
+    /**
+     * The checkout times of the original simulation: one minute for easy, two minutes for medium
+     * and six minutes for difficult customers.
+     */
+    public static final FixedServiceTimeModel DEFAULT = new FixedServiceTimeModel(60, 120, 360);
+
+    private final int[] checkoutTimes;
+
+    /**
+     * Constructs a model with the given checkout times.
+     *
+     * @param easyCheckoutTime      The checkout time of easy customers in seconds.
+     * @param mediumCheckoutTime    The checkout time of medium customers in seconds.
+     * @param difficultCheckoutTime The checkout time of difficult customers in seconds.
+     */
+    public FixedServiceTimeModel(int easyCheckoutTime, int mediumCheckoutTime, int difficultCheckoutTime) {
+        if (easyCheckoutTime <= 0 || mediumCheckoutTime <= 0 || difficultCheckoutTime <= 0) {
+            throw new IllegalArgumentException("Checkout times must be positive.");
+        }
+        checkoutTimes = new int[]{easyCheckoutTime, mediumCheckoutTime, difficultCheckoutTime};
+    }
+
+    /**
+     * Returns the checkout time of the given difficulty.
+     *
+     * @param difficulty The checkout difficulty.
+     * @return The checkout time in seconds.
+     */
+    public int getCheckoutTime(Customer.Difficulty difficulty) {
+        return checkoutTimes[difficulty.ordinal()];
+    }
+
+    /**
+     * Returns the checkout time of the given difficulty without drawing from the generator.
+     *
+     * @param difficulty The checkout difficulty of the customer.
+     * @param random     Not used.
+     * @return The checkout time in seconds.
+     */
+    @Override
+    public double draw(Customer.Difficulty difficulty, RandomGenerator random) {
+        return checkoutTimes[difficulty.ordinal()];
+    }
+
+    /**
+     * Describes the model as "fixed" followed by the checkout time of every difficulty.
+     *
+     * @return The description.
+     */
+    @Override
+    public String describe() {
+        return "fixed " + checkoutTimes[0] + " " + checkoutTimes[1] + " " + checkoutTimes[2];
+    }
+}
@@ -0,0 +1,128 @@
+package org.example.program8;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * This class collects the outcome of a fleet simulation: the results of every store, in store order,
+ * and the fleet-wide results merged from them.
+ */
+public class FleetResults {
+    /**
+     * Header of the CSV written by writeCsv.
+     */
+    static final String CSV_HEADER = "store,lines,arrival_frequency,days,customers,average_wait,wait_std_dev,"
+            + "daily_average_wait_ci,average_idle,average_idle_ci";
+
+    private final int days;
+    private final List<StoreResults> stores = new ArrayList<>();
+    private final StoreResults fleet = new StoreResults(null);
+
+    /**
+     * Constructs empty fleet results.
+     *
+     * @param days The number of days simulated for every store.
+     */
+    public FleetResults(int days) {
+        this.days = days;
+    }
+
+    /**
+     * Adds the results of the next store and merges them into the fleet-wide results.
+     *
+     * @param storeResults The results of the store.
+     */
+    public void add(StoreResults storeResults) {
+        stores.add(storeResults);
+        fleet.merge(storeResults);
+    }
+
+    /**
+     * Returns the number of days simulated for every store.
+     *
+     * @return The number of days.
+     */
+    public int getDays() {
+        return days;
+    }
+
+    /**
+     * Returns the results of every store.
+     *
+     * @return The store results in store order.
+     */
+    public List<StoreResults> getStores() {
+        return Collections.unmodifiableList(stores);
+    }
+
+    /**
+     * Returns the results of all stores together. Each store day counts once in the daily statistics.
+     *
+     * @return The fleet-wide results.
+     */
+    public StoreResults getFleet() {
+        return fleet;
+    }
+
+    /**
+     * Writes one CSV row per store, followed by a row named "fleet" with the fleet-wide results.
+     *
+     * @param writer The writer to write to.
+     * @throws IOException If the CSV cannot be written.
+     */
+    public void writeCsv(Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write("\n");
+        for (StoreResults storeResults : stores) {
+            SimulationParameters parameters = storeResults.getStore().getParameters();
+            writer.write(toCsvRow(storeResults.getStore().getName(),
+                    String.valueOf(parameters.getNumberOfLines()),
+                    String.valueOf(parameters.getCustomerArrivalFrequency()),
+                    storeResults));
+        }
+        writer.write(toCsvRow("fleet", "", "", fleet));
+    }
+
+    /**
+     * Formats the given results as a CSV row.
+     *
+     * @param name                     The name in the first column.
+     * @param numberOfLines            The number of lines, or an empty string.
+     * @param customerArrivalFrequency The arrival frequency, or an empty string.
+     * @param results                  The results to format.
+     * @return The CSV row, ending with a newline.
+     */
+    private static String toCsvRow(String name, String numberOfLines, String customerArrivalFrequency, StoreResults results) {
+        return String.format(Locale.ROOT, "%s,%s,%s,%d,%d,%.3f,%.3f,%s,%.3f,%s\n",
+                name, numberOfLines, customerArrivalFrequency,
+                results.getDays(),
+                results.getWaitingTime().getCount(),
+                results.getWaitingTime().getMean(),
+                results.getWaitingTime().getStandardDeviation(),
+                SweepResultTable.formatHalfWidth(results.getDailyAverageWaitingTime()),
+                results.getDailyIdleTime().getMean(),
+                SweepResultTable.formatHalfWidth(results.getDailyIdleTime()));
+    }
+
+    /**
+     * Gets a report of the fleet-wide results.
+     *
+     * @return A string containing the fleet results.
+     */
+    public String getReport() {
+        return "Fleet Results"
+                + "\n\nStores: " + stores.size()
+                + "\nDays per Store: " + days
+                + "\nCustomers Checked Out: " + fleet.getWaitingTime().getCount()
+                + String.format("\n\nAverage Wait Time: %.1f s, std dev %.1f s, maximum %.0f s",
+                fleet.getWaitingTime().getMean(), fleet.getWaitingTime().getStandardDeviation(), fleet.getWaitingTime().getMaximum())
+                + String.format("\nDaily Average Wait Time: %.1f s +/- %.1f s (95%% CI)",
+                fleet.getDailyAverageWaitingTime().getMean(), fleet.getDailyAverageWaitingTime().getConfidenceHalfWidth())
+                + String.format("\nDaily Idle Time for Workers: %.1f s +/- %.1f s (95%% CI)",
+                fleet.getDailyIdleTime().getMean(), fleet.getDailyIdleTime().getConfidenceHalfWidth());
+    }
+}
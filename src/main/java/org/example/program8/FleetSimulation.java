@@ -0,0 +1,137 @@
+package org.example.program8;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * This class simulates every day of a period for a fleet of stores.
+ * The stores are split into contiguous shards that run on a fixed thread pool. Each shard reuses one simulation
+ * and fills its own per-store accumulators, which are merged in store order at the end.
+ * Every store gets its own seed, derived in store order, so the results do not depend on the number of threads.
+ */
+public class FleetSimulation {
+    /**
+     * Number of shards per thread. A few shards per thread keep all threads busy when stores differ in cost.
+     */
+    private static final int SHARDS_PER_THREAD = 4;
+
+    private final List<StoreConfig> stores;
+    private final int days;
+    private Supplier<SimulationLogic> simulationFactory = ReplicationRunner::createDefaultSimulation;
+    private int threadCount = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Constructs a fleet simulation.
+     *
+     * @param stores The stores of the fleet.
+     * @param days   The number of days to simulate for every store.
+     */
+    public FleetSimulation(List<StoreConfig> stores, int days) {
+        if (stores.isEmpty()) {
+            throw new IllegalArgumentException("The fleet needs at least one store.");
+        }
+        if (days <= 0) {
+            throw new IllegalArgumentException("Number of days must be positive.");
+        }
+        this.stores = new ArrayList<>(stores);
+        this.days = days;
+    }
+
+    /**
+     * Sets the factory used to create the simulation of every shard.
+     *
+     * @param simulationFactory Creates a new, configured simulation.
+     */
+    public void setSimulationFactory(Supplier<SimulationLogic> simulationFactory) {
+        this.simulationFactory = simulationFactory;
+    }
+
+    /**
+     * Sets the number of threads of the pool.
+     *
+     * @param threadCount The number of threads.
+     */
+    public void setThreadCount(int threadCount) {
+        if (threadCount <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive.");
+        }
+        this.threadCount = threadCount;
+    }
+
+    /**
+     * Simulates every day of every store and waits for all shards to finish.
+     *
+     * @param seed The seed from which the seed of every store is derived.
+     * @return The per-store and fleet-wide results.
+     * @throws InterruptedException If the thread is interrupted while waiting for the shards.
+     */
+    public FleetResults run(long seed) throws InterruptedException {
+        // Derive one seed per store in store order
+        SplittableRandom seeds = new SplittableRandom(seed);
+        long[] storeSeeds = new long[stores.size()];
+        for (int i = 0; i < storeSeeds.length; i++) {
+            storeSeeds[i] = seeds.nextLong();
+        }
+
+        int shardCount = Math.min(stores.size(), threadCount * SHARDS_PER_THREAD);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threadCount, shardCount));
+        try {
+            // Submit contiguous ranges of stores
+            List<Future<StoreResults[]>> futures = new ArrayList<>(shardCount);
+            for (int shard = 0; shard < shardCount; shard++) {
+                int from = (int) ((long) shard * stores.size() / shardCount);
+                int to = (int) ((long) (shard + 1) * stores.size() / shardCount);
+                futures.add(executor.submit(() -> runShard(from, to, storeSeeds)));
+            }
+
+            // Merge the shards in store order
+            FleetResults results = new FleetResults(days);
+            for (Future<StoreResults[]> future : futures) {
+                for (StoreResults storeResults : future.get()) {
+                    results.add(storeResults);
+                }
+            }
+            return results;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Fleet shard failed.", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Simulates every day of the given range of stores on the calling thread.
+     *
+     * @param from       The index of the first store of the shard.
+     * @param to         The index after the last store of the shard.
+     * @param storeSeeds The seed of every store.
+     * @return The results of every store of the shard, in store order.
+     */
+    private StoreResults[] runShard(int from, int to, long[] storeSeeds) {
+        // One simulation is reused for every day of the shard
+        SimulationLogic simulation = simulationFactory.get();
+        StoreResults[] shardResults = new StoreResults[to - from];
+        for (int i = from; i < to; i++) {
+            StoreConfig store = stores.get(i);
+            StoreResults storeResults = new StoreResults(store);
+            SplittableRandom daySeeds = new SplittableRandom(storeSeeds[i]);
+            simulation.setLaneSpeeds(store.getLaneSpeeds());
+            for (int day = 0; day < days; day++) {
+                simulation.setSeed(daySeeds.nextLong());
+                simulation.startSimulation(store.getParameters());
+                storeResults.add(simulation);
+            }
+            shardResults[i - from] = storeResults;
+        }
+        return shardResults;
+    }
+}
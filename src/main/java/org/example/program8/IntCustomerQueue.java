@@ -0,0 +1,112 @@
+package org.example.program8;
+
+import java.util.NoSuchElementException;
+
+/**
+ * This class represents a queue of customer store rows backed by a growable circular int array.
+ * It is used by the columnar customer store, where a checkout line holds the rows of its customers in the
+ * CustomerStore instead of Customer references. A row is not a customer ID: in streaming mode the row of a
+ * customer that has left is reused by a later customer.
+ */
+class IntCustomerQueue {
+    /**
+     * Initial capacity of the array.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] items;
+    private int front;
+    private int size;
+
+    /**
+     * Constructs an empty IntCustomerQueue.
+     */
+    IntCustomerQueue() {
+        items = new int[DEFAULT_CAPACITY];
+        front = 0;
+        size = 0;
+    }
+
+    /**
+     * Adds a store row to the end of the queue, doubling the array when it is full.
+     *
+     * @param row The store row to add.
+     */
+    void enqueue(int row) {
+        if (size == items.length) {
+            grow();
+        }
+        items[(front + size) % items.length] = row;
+        size++;
+    }
+
+    /**
+     * Returns the store row at the front of the queue without removing it.
+     *
+     * @return The store row at the front of the queue.
+     */
+    int peek() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Queue is empty. Cannot peek.");
+        }
+        return items[front];
+    }
+
+    /**
+     * Returns the store row at the given position without removing it.
+     *
+     * @param index The position in the queue, 0 being the front.
+     * @return The store row at that position.
+     */
+    int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " is outside the queue.");
+        }
+        return items[(front + index) % items.length];
+    }
+
+    /**
+     * Removes and returns the store row at the front of the queue.
+     *
+     * @return The store row that was removed.
+     */
+    int dequeue() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Queue is empty. Cannot dequeue.");
+        }
+        int row = items[front];
+        front = (front + 1) % items.length;
+        size--;
+        return row;
+    }
+
+    /**
+     * Checks if the queue is empty.
+     *
+     * @return true if the queue is empty, false otherwise.
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of store rows in the queue.
+     *
+     * @return The number of store rows in the queue.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Doubles the capacity of the array, moving the rows so the front is at index zero.
+     */
+    private void grow() {
+        int[] newItems = new int[items.length * 2];
+        for (int i = 0; i < size; i++) {
+            newItems[i] = items[(front + i) % items.length];
+        }
+        items = newItems;
+        front = 0;
+    }
+}
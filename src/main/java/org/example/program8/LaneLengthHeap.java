@@ -0,0 +1,138 @@
+package org.example.program8;
+
+/**
+ * This class keeps the checkout lines ordered by length in an indexed binary min-heap.
+ * The shortest line can be read in constant time, and changing the length of one line takes O(log n),
+ * so routing a customer stays cheap even with hundreds of lines.
+ * Lines of equal length are ordered by index, so the lowest index wins a tie, like a front-to-back scan.
+ */
+class LaneLengthHeap {
+    /**
+     * Line indices in heap order. The shortest line is at position 0.
+     */
+    private final int[] heap;
+
+    /**
+     * Position of each line in the heap.
+     */
+    private final int[] position;
+
+    /**
+     * Number of customers in each line.
+     */
+    private final int[] length;
+
+    /**
+     * Constructs a heap of the given number of empty lines.
+     *
+     * @param numberOfLines The number of lines.
+     */
+    LaneLengthHeap(int numberOfLines) {
+        heap = new int[numberOfLines];
+        position = new int[numberOfLines];
+        length = new int[numberOfLines];
+        // All lines are empty, so the lines in index order already form a valid heap
+        for (int i = 0; i < numberOfLines; i++) {
+            heap[i] = i;
+            position[i] = i;
+        }
+    }
+
+    /**
+     * Returns the index of the shortest line.
+     *
+     * @return The index of the shortest line, the lowest index if several lines are equally short.
+     */
+    int getShortestLine() {
+        return heap[0];
+    }
+
+    /**
+     * Records that a customer joined the given line.
+     *
+     * @param lineIndex The index of the line.
+     */
+    void increment(int lineIndex) {
+        length[lineIndex]++;
+        // A longer line can only move down
+        siftDown(position[lineIndex]);
+    }
+
+    /**
+     * Records that a customer left the given line.
+     *
+     * @param lineIndex The index of the line.
+     */
+    void decrement(int lineIndex) {
+        length[lineIndex]--;
+        // A shorter line can only move up
+        siftUp(position[lineIndex]);
+    }
+
+    /**
+     * Moves the line at the given heap position up until its parent is shorter.
+     *
+     * @param slot The heap position.
+     */
+    private void siftUp(int slot) {
+        int line = heap[slot];
+        while (slot > 0) {
+            int parentSlot = (slot - 1) / 2;
+            int parent = heap[parentSlot];
+            if (!isShorter(line, parent)) {
+                break;
+            }
+            place(parent, slot);
+            slot = parentSlot;
+        }
+        place(line, slot);
+    }
+
+    /**
+     * Moves the line at the given heap position down until both children are longer.
+     *
+     * @param slot The heap position.
+     */
+    private void siftDown(int slot) {
+        int line = heap[slot];
+        int half = heap.length / 2;
+        while (slot < half) {
+            // Pick the shorter of the two children
+            int childSlot = 2 * slot + 1;
+            int child = heap[childSlot];
+            int rightSlot = childSlot + 1;
+            if (rightSlot < heap.length && isShorter(heap[rightSlot], child)) {
+                childSlot = rightSlot;
+                child = heap[rightSlot];
+            }
+            if (!isShorter(child, line)) {
+                break;
+            }
+            place(child, slot);
+            slot = childSlot;
+        }
+        place(line, slot);
+    }
+
+    /**
+     * Stores a line at the given heap position.
+     *
+     * @param line The index of the line.
+     * @param slot The heap position.
+     */
+    private void place(int line, int slot) {
+        heap[slot] = line;
+        position[line] = slot;
+    }
+
+    /**
+     * Checks if one line comes before another, by length and then by index.
+     *
+     * @param a The index of the first line.
+     * @param b The index of the second line.
+     * @return true if line a comes before line b, false otherwise.
+     */
+    private boolean isShorter(int a, int b) {
+        return length[a] < length[b] || (length[a] == length[b] && a < b);
+    }
+}
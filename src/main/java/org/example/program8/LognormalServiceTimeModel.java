@@ -0,0 +1,86 @@
+package org.example.program8;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * This class draws checkout times from a lognormal distribution, which has the long right tail of real checkouts:
+ * most customers are close to the typical time, and a few take much longer.
+ * Every difficulty has its own mean, and all share the same coefficient of variation.
+ */
+public class LognormalServiceTimeModel implements ServiceTimeModel {
+    private final double[] mean;
+    private final double coefficientOfVariation;
+    private final double[] mu;
+    private final double sigma;
+
+    /**
+     * Constructs a model with the given mean times, in difficulty order, and coefficient of variation.
+     *
+     * @param mean                   The mean checkout time of every difficulty in seconds.
+     * @param coefficientOfVariation The standard deviation divided by the mean, for example 0.5.
+     */
+    public LognormalServiceTimeModel(double[] mean, double coefficientOfVariation) {
+        int difficulties = Customer.Difficulty.values().length;
+        if (mean.length != difficulties) {
+            throw new IllegalArgumentException("Expected a mean for each of the " + difficulties + " difficulties.");
+        }
+        if (coefficientOfVariation < 0) {
+            throw new IllegalArgumentException("Coefficient of variation must not be negative.");
+        }
+        this.mean = mean.clone();
+        this.coefficientOfVariation = coefficientOfVariation;
+
+        // Choose the parameters of the underlying normal distribution so the lognormal has the given mean and variation
+        double variance = Math.log(1 + coefficientOfVariation * coefficientOfVariation);
+        sigma = Math.sqrt(variance);
+        mu = new double[difficulties];
+        for (int i = 0; i < difficulties; i++) {
+            if (mean[i] <= 0) {
+                throw new IllegalArgumentException("Mean checkout times must be positive.");
+            }
+            mu[i] = Math.log(mean[i]) - variance / 2;
+        }
+    }
+
+    /**
+     * Constructs a model with the means of the given fixed times.
+     *
+     * @param base                   The fixed times used as means.
+     * @param coefficientOfVariation The standard deviation divided by the mean.
+     * @return The lognormal model.
+     */
+    public static LognormalServiceTimeModel around(FixedServiceTimeModel base, double coefficientOfVariation) {
+        Customer.Difficulty[] difficulties = Customer.Difficulty.values();
+        double[] mean = new double[difficulties.length];
+        for (Customer.Difficulty difficulty : difficulties) {
+            mean[difficulty.ordinal()] = base.getCheckoutTime(difficulty);
+        }
+        return new LognormalServiceTimeModel(mean, coefficientOfVariation);
+    }
+
+    /**
+     * Draws a lognormal checkout time for the given difficulty.
+     *
+     * @param difficulty The checkout difficulty of the customer.
+     * @param random     The random number generator to draw from.
+     * @return The checkout time in seconds.
+     */
+    @Override
+    public double draw(Customer.Difficulty difficulty, RandomGenerator random) {
+        return Math.exp(mu[difficulty.ordinal()] + sigma * random.nextGaussian());
+    }
+
+    /**
+     * Describes the model as "lognormal" followed by the coefficient of variation and the mean time of every difficulty.
+     *
+     * @return The description.
+     */
+    @Override
+    public String describe() {
+        StringBuilder description = new StringBuilder("lognormal ").append(coefficientOfVariation);
+        for (double time : mean) {
+            description.append(' ').append(time);
+        }
+        return description.toString();
+    }
+}
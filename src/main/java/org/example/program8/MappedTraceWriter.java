@@ -0,0 +1,175 @@
+package org.example.program8;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class writes a trace of customer events to a file through memory-mapped regions.
+ * Every event is a fixed-width binary record that is put straight into the mapped region, so recording an event
+ * does not allocate and does not make a system call. A new region is mapped only when the current one is full.
+ * <p>
+ * The file starts with a header of HEADER_SIZE bytes: the magic number, the format version, the record size
+ * and the number of records, which is filled in by close(). Each record holds the time, customer ID and line index
+ * as ints, followed by the event type and the difficulty as bytes and two bytes of padding.
+ * All values are big-endian.
+ * <p>
+ * The file may end with unused bytes after the last record, because some systems do not allow a file to be cut
+ * while a region of it is still mapped. Readers use the number of records in the header and ignore the rest.
+ */
+public class MappedTraceWriter implements TraceSink, Closeable {
+    /**
+     * Magic number at the start of every trace file, "CKTR" in ASCII.
+     */
+    static final int MAGIC = 0x434B5452;
+
+    /**
+     * Version of the trace file format.
+     */
+    static final short VERSION = 1;
+
+    /**
+     * Size of the file header in bytes.
+     */
+    static final int HEADER_SIZE = 16;
+
+    /**
+     * Size of one record in bytes.
+     */
+    static final int RECORD_SIZE = 16;
+
+    /**
+     * Default size of a mapped region in bytes, room for about 4 million records.
+     */
+    private static final int DEFAULT_REGION_SIZE = 64 * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final int regionSize;
+    private MappedByteBuffer region;
+    private long regionStart;
+    private long recordCount;
+
+    /**
+     * Creates a trace file with the default region size, replacing an existing file.
+     *
+     * @param file The file to write.
+     * @throws IOException If the file cannot be created or mapped.
+     */
+    public MappedTraceWriter(Path file) throws IOException {
+        this(file, DEFAULT_REGION_SIZE);
+    }
+
+    /**
+     * Creates a trace file with the given region size, replacing an existing file.
+     *
+     * @param file       The file to write.
+     * @param regionSize The size of each mapped region in bytes, rounded down to whole records.
+     * @throws IOException If the file cannot be created or mapped.
+     */
+    public MappedTraceWriter(Path file, int regionSize) throws IOException {
+        if (regionSize < RECORD_SIZE) {
+            throw new IllegalArgumentException("Region size must hold at least one record.");
+        }
+        this.regionSize = regionSize - regionSize % RECORD_SIZE;
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        writeHeader();
+        mapRegion(HEADER_SIZE);
+    }
+
+    /**
+     * Writes one record to the mapped region.
+     *
+     * @param type       The type of the event.
+     * @param time       The simulated time of the event in seconds.
+     * @param customerId The ID of the customer.
+     * @param lineIndex  The index of the checkout line.
+     * @param difficulty The checkout difficulty of the customer.
+     */
+    @Override
+    public void record(EventType type, int time, int customerId, int lineIndex, Customer.Difficulty difficulty) {
+        if (!region.hasRemaining()) {
+            try {
+                // Write the full region to the file before moving on to the next one
+                region.force();
+                mapRegion(regionStart + regionSize);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not extend the trace file.", e);
+            }
+        }
+        region.putInt(time);
+        region.putInt(customerId);
+        region.putInt(lineIndex);
+        region.put((byte) type.ordinal());
+        region.put((byte) difficulty.ordinal());
+        region.putShort((short) 0);
+        recordCount++;
+    }
+
+    /**
+     * Returns the number of records written so far.
+     *
+     * @return The number of records.
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Stores the number of records in the header, cuts the file to the records written where possible and closes it.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!channel.isOpen()) {
+            return;
+        }
+        try {
+            region.force();
+            region = null;
+            writeHeader();
+            channel.force(false);
+
+            // The last region stays mapped until it is garbage collected, and some systems refuse to cut a mapped file.
+            // The header already holds the number of records, so the unused bytes can stay.
+            try {
+                channel.truncate(HEADER_SIZE + recordCount * RECORD_SIZE);
+            } catch (IOException e) {
+                // Keep the unused bytes after the last record
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Writes the header with the current number of records.
+     *
+     * @throws IOException If the header cannot be written.
+     */
+    private void writeHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.putShort(VERSION);
+        header.putShort((short) RECORD_SIZE);
+        header.putLong(recordCount);
+        header.flip();
+        channel.write(header, 0);
+    }
+
+    /**
+     * Maps the region that starts at the given file position.
+     *
+     * @param position The file position of the region.
+     * @throws IOException If the region cannot be mapped.
+     */
+    private void mapRegion(long position) throws IOException {
+        region = channel.map(FileChannel.MapMode.READ_WRITE, position, regionSize);
+        regionStart = position;
+    }
+}
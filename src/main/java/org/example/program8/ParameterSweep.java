@@ -0,0 +1,136 @@
+package org.example.program8;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * This class runs a simulation for every combination of lane count, arrival frequency and customer mix.
+ * The points are scheduled on a work-stealing pool and every finished point is passed to a result consumer,
+ * such as a SweepResultTable, as soon as it is done.
+ * Only mixes whose easy, medium, and difficult percentages add up to 100 are simulated.
+ */
+public class ParameterSweep {
+    private final List<SimulationParameters> points = new ArrayList<>();
+    private Supplier<SimulationLogic> simulationFactory = ReplicationRunner::createDefaultSimulation;
+    private int threadCount = Runtime.getRuntime().availableProcessors();
+    private double relativePrecision;
+
+    /**
+     * Constructs a sweep over the given ranges.
+     *
+     * @param numberOfLines               The range of checkout line counts.
+     * @param customerArrivalFrequency    The range of arrival frequencies in seconds.
+     * @param easyCustomerPercentage      The range of easy customer percentages.
+     * @param mediumCustomerPercentage    The range of medium customer percentages.
+     * @param difficultCustomerPercentage The range of difficult customer percentages.
+     */
+    public ParameterSweep(SweepRange numberOfLines, SweepRange customerArrivalFrequency, SweepRange easyCustomerPercentage, SweepRange mediumCustomerPercentage, SweepRange difficultCustomerPercentage) {
+        for (int lines : numberOfLines.getValues()) {
+            for (int frequency : customerArrivalFrequency.getValues()) {
+                for (int easy : easyCustomerPercentage.getValues()) {
+                    for (int medium : mediumCustomerPercentage.getValues()) {
+                        for (int difficult : difficultCustomerPercentage.getValues()) {
+                            if (easy + medium + difficult == 100) {
+                                points.add(new SimulationParameters(lines, frequency, easy, medium, difficult));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the points of the sweep in grid order.
+     *
+     * @return The parameters of every point.
+     */
+    public List<SimulationParameters> getPoints() {
+        return points;
+    }
+
+    /**
+     * Sets the factory used to create the simulation of every replication.
+     *
+     * @param simulationFactory Creates a new, configured simulation.
+     */
+    public void setSimulationFactory(Supplier<SimulationLogic> simulationFactory) {
+        this.simulationFactory = simulationFactory;
+    }
+
+    /**
+     * Sets the number of threads of the pool.
+     *
+     * @param threadCount The number of threads.
+     */
+    public void setThreadCount(int threadCount) {
+        if (threadCount <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive.");
+        }
+        this.threadCount = threadCount;
+    }
+
+    /**
+     * Sets the precision every point is replicated to. With a precision, a point stops replicating as soon as the
+     * 95% confidence interval of its average wait is narrower than the precision relative to the mean,
+     * so easy points take few replications and noisy points take more.
+     *
+     * @param relativePrecision The largest allowed half-width relative to the mean, such as 0.05, or 0 to run a fixed number of replications.
+     */
+    public void setRelativePrecision(double relativePrecision) {
+        if (relativePrecision < 0) {
+            throw new IllegalArgumentException("Precision must not be negative.");
+        }
+        this.relativePrecision = relativePrecision;
+    }
+
+    /**
+     * Runs every point of the sweep and waits for all of them to finish.
+     * The seed of every point is derived from the given seed in grid order, so the results can be repeated.
+     *
+     * @param replications The number of replications per point, or the most replications per point if a precision is set.
+     * @param seed         The seed from which the seeds of the points are derived.
+     * @param consumer     Receives the results of every point as soon as it finishes. Called from the pool threads.
+     * @throws InterruptedException If the thread is interrupted while waiting for the points.
+     */
+    public void run(int replications, long seed, Consumer<ReplicationResults> consumer) throws InterruptedException {
+        ExecutorService pool = Executors.newWorkStealingPool(threadCount);
+        try {
+            SplittableRandom seeds = new SplittableRandom(seed);
+            List<Future<?>> futures = new ArrayList<>(points.size());
+            for (SimulationParameters parameters : points) {
+                // Each point gets its own generator, split off in grid order
+                SplittableRandom pointSeeds = seeds.split();
+                ReplicationRunner runner = new ReplicationRunner(parameters, simulationFactory, 1);
+                futures.add(pool.submit(() -> {
+                    ReplicationResults results = new ReplicationResults(parameters);
+                    if (relativePrecision > 0) {
+                        runner.runSequentiallyUntilPrecise(results, relativePrecision, replications, pointSeeds);
+                    } else {
+                        runner.runSequentially(results, replications, pointSeeds);
+                    }
+                    consumer.accept(results);
+                }));
+            }
+
+            // Wait for every point, so failures are reported to the caller
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Sweep point failed.", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.program8;
+
+/**
+ * This interface receives progress updates from a running simulation.
+ * It is called on the thread that runs the simulation.
+ */
+public interface ProgressListener {
+
+    /**
+     * Called when the simulation clock has advanced.
+     * The current time can exceed the simulation duration while the remaining customers are being checked out.
+     *
+     * @param currentTime        The current simulated time in seconds.
+     * @param simulationDuration The duration of the simulation in seconds.
+     */
+    void progressChanged(int currentTime, int simulationDuration);
+}
@@ -0,0 +1,239 @@
+package org.example.program8;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class represents checkout lines that hold one Customer object per shopper.
+ * Each line is a CheckoutQueue of customers. Unless the simulation streams its statistics,
+ * every customer created is also kept in a list.
+ */
+class QueueCheckoutLanes implements CheckoutLanes {
+
+    /**
+     * List of customers in the simulation.
+     */
+    private final List<Customer> customers = new ArrayList<>();
+
+    /**
+     * List of checkout lines in the simulation.
+     */
+    private final List<CheckoutQueue<Customer>> checkoutLines = new ArrayList<>();
+
+    /**
+     * Whether every customer created is kept in the customers list.
+     */
+    private final boolean retainCustomers;
+
+    /**
+     * The lines ordered by length, used to find the shortest line.
+     */
+    private final LaneLengthHeap lineLengths;
+
+    /**
+     * Constructs the given number of empty checkout lines.
+     *
+     * @param numberOfLines   The number of checkout lines.
+     * @param queueType       The queue implementation to use for each line.
+     * @param retainCustomers Whether every customer created is kept in the customers list.
+     */
+    QueueCheckoutLanes(int numberOfLines, SimulationLogic.QueueType queueType, boolean retainCustomers) {
+        this.retainCustomers = retainCustomers;
+        this.lineLengths = new LaneLengthHeap(numberOfLines);
+        for (int i = 0; i < numberOfLines; i++) {
+            if (queueType == SimulationLogic.QueueType.CIRCULAR) {
+                checkoutLines.add(new CircularCustomerQueue<>());
+            } else {
+                checkoutLines.add(new CustomerQueue<>());
+            }
+        }
+    }
+
+    /**
+     * Returns the number of checkout lines.
+     *
+     * @return The number of checkout lines.
+     */
+    @Override
+    public int getLineCount() {
+        return checkoutLines.size();
+    }
+
+    /**
+     * Returns the number of customers in the given line.
+     *
+     * @param lineIndex The index of the line.
+     * @return The number of customers in the line.
+     */
+    @Override
+    public int size(int lineIndex) {
+        return checkoutLines.get(lineIndex).size();
+    }
+
+    /**
+     * Checks if the given line is empty.
+     *
+     * @param lineIndex The index of the line.
+     * @return true if the line is empty, false otherwise.
+     */
+    @Override
+    public boolean isEmpty(int lineIndex) {
+        return checkoutLines.get(lineIndex).isEmpty();
+    }
+
+    /**
+     * Returns the index of the line with the fewest customers.
+     *
+     * @return The index of the shortest line, the lowest index if several lines are equally short.
+     */
+    @Override
+    public int getShortestLine() {
+        return lineLengths.getShortestLine();
+    }
+
+    /**
+     * Creates a new customer and adds it to the end of the given line.
+     * The arrival time and the enqueue time of the customer are both set to the given time.
+     *
+     * @param lineIndex  The index of the line.
+     * @param customerId The ID of the customer.
+     * @param difficulty The checkout difficulty of the customer.
+     * @param time       The current time.
+     */
+    @Override
+    public void enqueue(int lineIndex, int customerId, Customer.Difficulty difficulty, int time) {
+        // Create a new customer
+        Customer customer = new Customer(customerId);
+        customer.setCheckoutDifficulty(difficulty);
+        customer.setArrivalTime(time);
+
+        // Add the customer to the list and to the line
+        if (retainCustomers) {
+            customers.add(customer);
+        }
+        checkoutLines.get(lineIndex).enqueue(customer, time);
+        lineLengths.increment(lineIndex);
+        customer.setEnqueueTime(time);
+    }
+
+    /**
+     * Returns the ID of the customer at the front of the given line.
+     *
+     * @param lineIndex The index of the line.
+     * @return The ID of the front customer.
+     */
+    @Override
+    public int peekCustomerId(int lineIndex) {
+        return checkoutLines.get(lineIndex).peek().getId();
+    }
+
+    /**
+     * Returns the checkout difficulty of the customer at the front of the given line.
+     *
+     * @param lineIndex The index of the line.
+     * @return The checkout difficulty of the front customer.
+     */
+    @Override
+    public Customer.Difficulty peekCheckoutDifficulty(int lineIndex) {
+        return checkoutLines.get(lineIndex).peek().getCheckoutDifficulty();
+    }
+
+    /**
+     * Returns the checkout start time of the customer at the front of the given line.
+     *
+     * @param lineIndex The index of the line.
+     * @return The checkout start time of the front customer, or 0 if the checkout has not started.
+     */
+    @Override
+    public int peekCheckoutStartTime(int lineIndex) {
+        return checkoutLines.get(lineIndex).peek().getCheckoutStartTime();
+    }
+
+    /**
+     * Starts the checkout of the customer at the front of the given line.
+     *
+     * @param lineIndex The index of the line.
+     * @param time      The current time.
+     */
+    @Override
+    public void startCheckout(int lineIndex, int time) {
+        checkoutLines.get(lineIndex).peek().setCheckoutStartTime(time);
+    }
+
+    /**
+     * Finishes the checkout of the customer at the front of the given line by setting its dequeue and checkout end time.
+     * The customer stays at the front of the line until it is dequeued.
+     *
+     * @param lineIndex The index of the line.
+     * @param time      The current time.
+     */
+    @Override
+    public void finishCheckout(int lineIndex, int time) {
+        Customer customer = checkoutLines.get(lineIndex).peek();
+        customer.setDequeueTime(time);
+        customer.setCheckoutEndTime(time);
+    }
+
+    /**
+     * Returns the waiting time of the customer at the front of the given line.
+     *
+     * @param lineIndex The index of the line.
+     * @return The waiting time of the front customer.
+     */
+    @Override
+    public int peekWaitingTime(int lineIndex) {
+        return checkoutLines.get(lineIndex).peek().getWaitingTime();
+    }
+
+    /**
+     * Returns the checkout duration of the customer at the front of the given line.
+     *
+     * @param lineIndex The index of the line.
+     * @return The checkout duration of the front customer.
+     */
+    @Override
+    public int peekCheckoutDuration(int lineIndex) {
+        return checkoutLines.get(lineIndex).peek().getCheckoutDuration();
+    }
+
+    /**
+     * Removes the customer at the front of the given line.
+     *
+     * @param lineIndex The index of the line.
+     * @param time      The current time.
+     */
+    @Override
+    public void dequeue(int lineIndex, int time) {
+        checkoutLines.get(lineIndex).dequeue(time);
+        lineLengths.decrement(lineIndex);
+    }
+
+    /**
+     * Counts the customers created so far with the given checkout difficulty.
+     *
+     * @param difficulty The checkout difficulty.
+     * @return The number of customers with the given difficulty.
+     */
+    @Override
+    public int countCustomers(Customer.Difficulty difficulty) {
+        int count = 0;
+        for (Customer customer : customers) {
+            if (customer.getCheckoutDifficulty() == difficulty) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Passes every customer in the given line to the visitor, from front to back.
+     *
+     * @param lineIndex The index of the line.
+     * @param visitor   The visitor that receives the customers.
+     */
+    @Override
+    public void forEachCustomer(int lineIndex, CustomerVisitor visitor) {
+        checkoutLines.get(lineIndex).forEach(customer -> visitor.visit(customer.getId(),
+                customer.getCheckoutDifficulty(), customer.getEnqueueTime(), customer.getCheckoutStartTime()));
+    }
+}
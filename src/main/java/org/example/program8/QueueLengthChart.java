@@ -0,0 +1,91 @@
+package org.example.program8;
+
+import javafx.scene.Scene;
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.XYChart;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * This class shows the recorded queue lengths of a simulation in a chart window,
+ * with a button to export the series as CSV.
+ */
+class QueueLengthChart {
+    /**
+     * Largest number of lines drawn, so the chart stays readable and responsive for many lines.
+     */
+    private static final int MAXIMUM_SERIES = 20;
+
+    private QueueLengthChart() {
+    }
+
+    /**
+     * Opens a window with the mean length of every line per bucket.
+     *
+     * @param recorder The recorder of the finished simulation.
+     * @param owner    The window that owns the chart window.
+     */
+    static void show(QueueLengthRecorder recorder, Window owner) {
+        NumberAxis timeAxis = new NumberAxis();
+        timeAxis.setLabel("Simulated Time (hours)");
+        NumberAxis lengthAxis = new NumberAxis();
+        lengthAxis.setLabel("Mean Queue Length");
+
+        LineChart<Number, Number> chart = new LineChart<>(timeAxis, lengthAxis);
+        chart.setCreateSymbols(false);
+        chart.setAnimated(false);
+        int lines = Math.min(recorder.getLineCount(), MAXIMUM_SERIES);
+        for (int line = 0; line < lines; line++) {
+            XYChart.Series<Number, Number> series = new XYChart.Series<>();
+            series.setName("Line " + (line + 1));
+            for (int bucket = 0; bucket < recorder.getBucketCount(); bucket++) {
+                series.getData().add(new XYChart.Data<>(recorder.getBucketStartTime(bucket) / 3600.0, recorder.getMean(line, bucket)));
+            }
+            chart.getData().add(series);
+        }
+
+        Label resolutionLabel = new Label("One point per " + recorder.getBucketWidth() + " simulated seconds"
+                + (recorder.getLineCount() > lines ? ", first " + lines + " lines shown" : ""));
+        Button exportButton = new Button("Export CSV");
+        exportButton.setOnAction(event -> exportCsv(recorder, exportButton.getScene().getWindow(), resolutionLabel));
+
+        Stage stage = new Stage();
+        stage.initOwner(owner);
+        stage.setTitle("Queue Lengths");
+        stage.setScene(new Scene(new VBox(10, chart, resolutionLabel, exportButton), 720, 480));
+        stage.show();
+    }
+
+    /**
+     * Asks for a file and writes the recorded series to it as CSV.
+     *
+     * @param recorder    The recorder of the finished simulation.
+     * @param owner       The window that owns the file dialog.
+     * @param statusLabel The label that shows the outcome.
+     */
+    private static void exportCsv(QueueLengthRecorder recorder, Window owner, Label statusLabel) {
+        FileChooser chooser = new FileChooser();
+        chooser.setInitialFileName("queue-lengths.csv");
+        File file = chooser.showSaveDialog(owner);
+        if (file == null) {
+            return;
+        }
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            recorder.writeCsv(writer);
+            statusLabel.setText("Exported to " + file);
+        } catch (IOException e) {
+            statusLabel.setText("Could not export: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package org.example.program8;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * This class records how long every checkout line was over the day.
+ * The day is cut into buckets of a fixed number of simulated seconds, and for every line and bucket it keeps
+ * the shortest and longest length, the time-weighted mean length and the number of busy seconds in primitive arrays.
+ * When the buckets are full, every two neighbouring buckets are merged and the bucket width doubles,
+ * so the memory used stays the same however long the simulation runs.
+ */
+public class QueueLengthRecorder {
+    /**
+     * Default number of buckets kept per line.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final int resolution;
+    private final int capacity;
+
+    private int lineCount;
+    private int bucketWidth;
+    private int originTime;
+    private int recordStartTime;
+    private int endTime;
+
+    // One cell per line and bucket, at index lineIndex * capacity + bucket
+    private int[] minimum;
+    private int[] maximum;
+    private long[] lengthSeconds;
+    private int[] busySeconds;
+
+    // The length of every line since its last change
+    private int[] currentLength;
+    private int[] lastChangeTime;
+
+    /**
+     * Constructs a recorder with the given bucket width and the default number of buckets.
+     *
+     * @param resolution The width of a bucket in simulated seconds before any merging.
+     */
+    public QueueLengthRecorder(int resolution) {
+        this(resolution, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a recorder with the given bucket width and number of buckets.
+     *
+     * @param resolution The width of a bucket in simulated seconds before any merging.
+     * @param capacity   The number of buckets kept per line, an even number of at least 2.
+     */
+    public QueueLengthRecorder(int resolution, int capacity) {
+        if (resolution <= 0) {
+            throw new IllegalArgumentException("Resolution must be positive.");
+        }
+        if (capacity < 2 || capacity % 2 != 0) {
+            throw new IllegalArgumentException("Capacity must be an even number of at least 2.");
+        }
+        this.resolution = resolution;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Clears the recorder for a simulation with the given number of lines, all of them empty.
+     * The first bucket starts at the last multiple of the resolution at or before the start time.
+     *
+     * @param lineCount The number of checkout lines.
+     * @param startTime The simulated time the recording starts at.
+     */
+    void start(int lineCount, int startTime) {
+        this.lineCount = lineCount;
+        bucketWidth = resolution;
+        originTime = startTime - startTime % resolution;
+        recordStartTime = startTime;
+        endTime = startTime;
+
+        // Reuse the arrays if they are large enough
+        int cells = lineCount * capacity;
+        if (minimum == null || minimum.length < cells) {
+            minimum = new int[cells];
+            maximum = new int[cells];
+            lengthSeconds = new long[cells];
+            busySeconds = new int[cells];
+        }
+        Arrays.fill(minimum, Integer.MAX_VALUE);
+        Arrays.fill(maximum, 0);
+        Arrays.fill(lengthSeconds, 0);
+        Arrays.fill(busySeconds, 0);
+
+        if (currentLength == null || currentLength.length < lineCount) {
+            currentLength = new int[lineCount];
+            lastChangeTime = new int[lineCount];
+        }
+        Arrays.fill(currentLength, 0);
+        Arrays.fill(lastChangeTime, startTime);
+    }
+
+    /**
+     * Records that the length of a line changed at the given time.
+     * The old length is added to the buckets it was held in.
+     *
+     * @param lineIndex The index of the line.
+     * @param time      The current time.
+     * @param length    The new number of customers in the line.
+     */
+    void lengthChanged(int lineIndex, int time, int length) {
+        advance(lineIndex, time);
+        currentLength[lineIndex] = length;
+    }
+
+    /**
+     * Adds the current length of every line up to the given time, or up to the last change if that is later.
+     *
+     * @param time The time the recording ends at.
+     */
+    void finish(int time) {
+        endTime = time;
+        for (int i = 0; i < lineCount; i++) {
+            endTime = Math.max(endTime, lastChangeTime[i]);
+        }
+        for (int i = 0; i < lineCount; i++) {
+            advance(i, endTime);
+        }
+    }
+
+    /**
+     * Adds the current length of the given line from its last change up to the given time.
+     *
+     * @param lineIndex The index of the line.
+     * @param time      The current time.
+     */
+    private void advance(int lineIndex, int time) {
+        int from = lastChangeTime[lineIndex];
+        int length = currentLength[lineIndex];
+        while (from < time) {
+            int bucket = (from - originTime) / bucketWidth;
+            // Make room by merging buckets once the time runs past the last one
+            if (bucket >= capacity) {
+                mergeBuckets();
+                continue;
+            }
+            int to = Math.min(time, originTime + (bucket + 1) * bucketWidth);
+            int cell = lineIndex * capacity + bucket;
+            minimum[cell] = Math.min(minimum[cell], length);
+            maximum[cell] = Math.max(maximum[cell], length);
+            lengthSeconds[cell] += (long) length * (to - from);
+            if (length > 0) {
+                busySeconds[cell] += to - from;
+            }
+            from = to;
+        }
+        lastChangeTime[lineIndex] = time;
+    }
+
+    /**
+     * Merges every two neighbouring buckets into one and doubles the bucket width.
+     */
+    private void mergeBuckets() {
+        int half = capacity / 2;
+        for (int line = 0; line < lineCount; line++) {
+            int base = line * capacity;
+            for (int k = 0; k < half; k++) {
+                int first = base + 2 * k;
+                int target = base + k;
+                minimum[target] = Math.min(minimum[first], minimum[first + 1]);
+                maximum[target] = Math.max(maximum[first], maximum[first + 1]);
+                lengthSeconds[target] = lengthSeconds[first] + lengthSeconds[first + 1];
+                busySeconds[target] = busySeconds[first] + busySeconds[first + 1];
+            }
+            // The upper half is empty again
+            Arrays.fill(minimum, base + half, base + capacity, Integer.MAX_VALUE);
+            Arrays.fill(maximum, base + half, base + capacity, 0);
+            Arrays.fill(lengthSeconds, base + half, base + capacity, 0);
+            Arrays.fill(busySeconds, base + half, base + capacity, 0);
+        }
+        bucketWidth *= 2;
+    }
+
+    /**
+     * Estimates the memory taken by the recorded series.
+     *
+     * @return The number of bytes of the arrays.
+     */
+    long getSizeInBytes() {
+        if (minimum == null) {
+            return 0;
+        }
+        // Two int arrays, one long array and one int array per cell, and two int arrays per line
+        return (long) minimum.length * (4 + 4 + 8 + 4) + (long) currentLength.length * (4 + 4);
+    }
+
+    /**
+     * Returns the number of lines recorded.
+     *
+     * @return The number of lines.
+     */
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Returns the number of buckets holding recorded time.
+     *
+     * @return The number of buckets.
+     */
+    public int getBucketCount() {
+        if (endTime <= recordStartTime) {
+            return 0;
+        }
+        return (endTime - originTime + bucketWidth - 1) / bucketWidth;
+    }
+
+    /**
+     * Returns the current width of a bucket, which is the resolution doubled once for every merge.
+     *
+     * @return The bucket width in simulated seconds.
+     */
+    public int getBucketWidth() {
+        return bucketWidth;
+    }
+
+    /**
+     * Returns the simulated time the given bucket starts at.
+     *
+     * @param bucket The index of the bucket.
+     * @return The start time of the bucket in seconds.
+     */
+    public int getBucketStartTime(int bucket) {
+        return originTime + bucket * bucketWidth;
+    }
+
+    /**
+     * Returns the shortest length of the given line during the given bucket.
+     *
+     * @param lineIndex The index of the line.
+     * @param bucket    The index of the bucket.
+     * @return The shortest number of customers in the line.
+     */
+    public int getMinimum(int lineIndex, int bucket) {
+        return minimum[lineIndex * capacity + bucket];
+    }
+
+    /**
+     * Returns the longest length of the given line during the given bucket.
+     *
+     * @param lineIndex The index of the line.
+     * @param bucket    The index of the bucket.
+     * @return The longest number of customers in the line.
+     */
+    public int getMaximum(int lineIndex, int bucket) {
+        return maximum[lineIndex * capacity + bucket];
+    }
+
+    /**
+     * Returns the time-weighted mean length of the given line during the given bucket.
+     *
+     * @param lineIndex The index of the line.
+     * @param bucket    The index of the bucket.
+     * @return The mean number of customers in the line.
+     */
+    public double getMean(int lineIndex, int bucket) {
+        return (double) lengthSeconds[lineIndex * capacity + bucket] / getRecordedSeconds(bucket);
+    }
+
+    /**
+     * Returns the part of the given bucket during which the given line had a customer.
+     *
+     * @param lineIndex The index of the line.
+     * @param bucket    The index of the bucket.
+     * @return The busy fraction, from 0 for an idle worker to 1 for a worker that was busy the whole bucket.
+     */
+    public double getBusyFraction(int lineIndex, int bucket) {
+        return (double) busySeconds[lineIndex * capacity + bucket] / getRecordedSeconds(bucket);
+    }
+
+    /**
+     * Returns the number of recorded seconds in the given bucket, which is less than the bucket width
+     * for a bucket at the start or the end of the recording.
+     *
+     * @param bucket The index of the bucket.
+     * @return The number of recorded seconds.
+     */
+    private int getRecordedSeconds(int bucket) {
+        int start = Math.max(getBucketStartTime(bucket), recordStartTime);
+        int end = Math.min(getBucketStartTime(bucket + 1), endTime);
+        return Math.max(end - start, 1);
+    }
+
+    /**
+     * Writes the series as CSV, one row per line and bucket.
+     *
+     * @param writer The writer to write to.
+     * @throws IOException If the series cannot be written.
+     */
+    public void writeCsv(Writer writer) throws IOException {
+        writer.write("start_time,line,min_length,max_length,mean_length,busy_fraction\n");
+        int bucketCount = getBucketCount();
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            for (int line = 0; line < lineCount; line++) {
+                writer.write(String.format(Locale.ROOT, "%d,%d,%d,%d,%.3f,%.3f\n",
+                        getBucketStartTime(bucket), line + 1, getMinimum(line, bucket), getMaximum(line, bucket),
+                        getMean(line, bucket), getBusyFraction(line, bucket)));
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package org.example.program8;
+
+/**
+ * This class collects the outcome of independent replications of the same simulation.
+ * For the average wait and the worker idle time, overall and per line, it keeps the statistics across replications,
+ * from which the mean, standard deviation and 95% confidence interval are reported.
+ */
+public class ReplicationResults {
+    private final SimulationParameters parameters;
+    private final RunningStatistics averageWaitingTime = new RunningStatistics();
+    private final RunningStatistics averageIdleTime = new RunningStatistics();
+    private final RunningStatistics[] averageWaitingTimePerLine;
+    private final RunningStatistics[] idleTimePerLine;
+
+    /**
+     * Constructs an empty set of replication results.
+     *
+     * @param parameters The parameters shared by all replications.
+     */
+    public ReplicationResults(SimulationParameters parameters) {
+        this.parameters = parameters;
+        averageWaitingTimePerLine = new RunningStatistics[parameters.getNumberOfLines()];
+        idleTimePerLine = new RunningStatistics[parameters.getNumberOfLines()];
+        for (int i = 0; i < parameters.getNumberOfLines(); i++) {
+            averageWaitingTimePerLine[i] = new RunningStatistics();
+            idleTimePerLine[i] = new RunningStatistics();
+        }
+    }
+
+    /**
+     * Adds the outcome of a finished replication.
+     *
+     * @param simulation The simulation of the replication.
+     */
+    public void add(SimulationLogic simulation) {
+        add(new Replication(simulation));
+    }
+
+    /**
+     * Adds the outcome of a finished replication that was already reduced to its numbers.
+     *
+     * @param replication The numbers of the replication.
+     */
+    void add(Replication replication) {
+        averageWaitingTime.add(replication.averageWaitingTime);
+        averageIdleTime.add(replication.averageIdleTime);
+        for (int i = 0; i < averageWaitingTimePerLine.length; i++) {
+            averageWaitingTimePerLine[i].add(replication.averageWaitingTimePerLine[i]);
+            idleTimePerLine[i].add(replication.idleTimePerLine[i]);
+        }
+    }
+
+    /**
+     * Returns the parameters shared by all replications.
+     *
+     * @return The simulation parameters.
+     */
+    public SimulationParameters getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Returns the number of replications collected.
+     *
+     * @return The number of replications.
+     */
+    public long getReplications() {
+        return averageWaitingTime.getCount();
+    }
+
+    /**
+     * Returns the statistics of the average customer wait across replications.
+     *
+     * @return The average waiting time statistics in seconds.
+     */
+    public RunningStatistics getAverageWaitingTime() {
+        return averageWaitingTime;
+    }
+
+    /**
+     * Returns the half-width of the 95% confidence interval of the average wait relative to its mean.
+     * A value of 0.05 means the true average wait lies within 5% of the reported one with 95% confidence.
+     *
+     * @return The relative half-width, 0 if no customer ever waited, or infinity if fewer than two replications were collected.
+     */
+    public double getRelativeHalfWidth() {
+        double halfWidth = averageWaitingTime.getConfidenceHalfWidth();
+        if (halfWidth == 0) {
+            return 0;
+        }
+        return halfWidth / Math.abs(averageWaitingTime.getMean());
+    }
+
+    /**
+     * Returns the statistics of the average customer wait at the given line across replications.
+     *
+     * @param lineIndex The index of the line.
+     * @return The average waiting time statistics in seconds.
+     */
+    public RunningStatistics getAverageWaitingTime(int lineIndex) {
+        return averageWaitingTimePerLine[lineIndex];
+    }
+
+    /**
+     * Returns the statistics of the worker idle time averaged over all lines, across replications.
+     *
+     * @return The average idle time statistics in seconds.
+     */
+    public RunningStatistics getAverageIdleTime() {
+        return averageIdleTime;
+    }
+
+    /**
+     * Returns the statistics of the worker idle time at the given line across replications.
+     *
+     * @param lineIndex The index of the line.
+     * @return The idle time statistics in seconds.
+     */
+    public RunningStatistics getIdleTime(int lineIndex) {
+        return idleTimePerLine[lineIndex];
+    }
+
+    /**
+     * Gets a report of the replication results.
+     *
+     * @return A string containing the replication results.
+     */
+    public String getReport() {
+        StringBuilder output = new StringBuilder("Replication Results");
+        output.append("\n\nParameters: ").append(parameters);
+        output.append("\nReplications: ").append(getReplications());
+
+        output.append("\n\nAverage Wait Time: ").append(formatStatistics(averageWaitingTime));
+        for (int i = 0; i < averageWaitingTimePerLine.length; i++) {
+            output.append("\n\tCheckout Line ").append(i + 1).append(": ").append(formatStatistics(averageWaitingTimePerLine[i]));
+        }
+
+        output.append("\n\nAverage Idle Time for Workers: ").append(formatStatistics(averageIdleTime));
+        for (int i = 0; i < idleTimePerLine.length; i++) {
+            output.append("\n\tCheckout Line ").append(i + 1).append(": ").append(formatStatistics(idleTimePerLine[i]));
+        }
+        return output.toString();
+    }
+
+    /**
+     * Formats the mean, confidence interval and standard deviation of the given statistics.
+     *
+     * @param statistics The statistics to format.
+     * @return A string with the mean, the 95% confidence interval and the standard deviation in seconds.
+     */
+    private String formatStatistics(RunningStatistics statistics) {
+        return String.format("%.1f s +/- %.1f s (95%% CI), std dev %.1f s",
+                statistics.getMean(), statistics.getConfidenceHalfWidth(), statistics.getStandardDeviation());
+    }
+
+    /**
+     * This class holds the few numbers of one finished replication that the results collect.
+     * Keeping these instead of the simulation lets the simulation be freed as soon as it finishes.
+     */
+    static final class Replication {
+        private final double averageWaitingTime;
+        private final double averageIdleTime;
+        private final double[] averageWaitingTimePerLine;
+        private final double[] idleTimePerLine;
+
+        /**
+         * Constructs the numbers of a replication from its finished simulation.
+         *
+         * @param simulation The finished simulation of the replication.
+         */
+        Replication(SimulationLogic simulation) {
+            int lines = simulation.getNumberOfLines();
+            averageWaitingTime = simulation.getAverageWaitingTime();
+            averageIdleTime = simulation.getAverageWorkerIdleTime();
+            averageWaitingTimePerLine = new double[lines];
+            idleTimePerLine = new double[lines];
+            for (int i = 0; i < lines; i++) {
+                averageWaitingTimePerLine[i] = simulation.getAverageWaitingTime(i);
+                idleTimePerLine[i] = simulation.getWorkerIdleTime(i);
+            }
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package org.example.program8;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * This class runs independent replications of the same simulation in parallel.
+ * One simulation gives only one random sample of a day. The runner executes many replications across all cores,
+ * each with its own seed, and collects them into ReplicationResults.
+ */
+public class ReplicationRunner {
+    /**
+     * Number of replications run before the confidence interval is first checked.
+     */
+    private static final int INITIAL_REPLICATIONS = 10;
+
+    private final SimulationParameters parameters;
+    private final Supplier<SimulationLogic> simulationFactory;
+    private final int threadCount;
+
+    /**
+     * Constructs a runner that uses the event engine with streaming statistics on every available core.
+     *
+     * @param parameters The parameters of the simulation to replicate.
+     */
+    public ReplicationRunner(SimulationParameters parameters) {
+        this(parameters, ReplicationRunner::createDefaultSimulation, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a runner with the given simulation factory and number of threads.
+     *
+     * @param parameters        The parameters of the simulation to replicate.
+     * @param simulationFactory Creates a new, configured simulation for every replication.
+     * @param threadCount       The number of threads to run replications on.
+     */
+    public ReplicationRunner(SimulationParameters parameters, Supplier<SimulationLogic> simulationFactory, int threadCount) {
+        if (threadCount <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive.");
+        }
+        this.parameters = parameters;
+        this.simulationFactory = simulationFactory;
+        this.threadCount = threadCount;
+    }
+
+    /**
+     * Creates the simulation used by default for replications.
+     * The event engine with columnar, streaming storage gives the same results as the defaults, only faster.
+     *
+     * @return A new simulation.
+     */
+    static SimulationLogic createDefaultSimulation() {
+        SimulationLogic simulation = new SimulationLogic(SimulationLogic.QueueType.CIRCULAR);
+        simulation.setEngineMode(SimulationLogic.EngineMode.EVENT);
+        simulation.setCustomerStorage(SimulationLogic.CustomerStorage.COLUMNAR);
+        simulation.setStatisticsMode(SimulationLogic.StatisticsMode.STREAMING);
+        return simulation;
+    }
+
+    /**
+     * Runs the given number of replications and waits for all of them to finish.
+     * The seed of every replication is derived from the given seed, so the results can be repeated.
+     *
+     * @param replications The number of replications to run.
+     * @param seed         The seed from which the seed of every replication is derived.
+     * @return The collected results.
+     * @throws InterruptedException If the thread is interrupted while waiting for the replications.
+     */
+    public ReplicationResults run(int replications, long seed) throws InterruptedException {
+        ReplicationResults results = new ReplicationResults(parameters);
+        run(results, replications, new SplittableRandom(seed));
+        return results;
+    }
+
+    /**
+     * Runs the given number of replications and adds them to the given results.
+     * Replications are added in the order they were submitted, so the results do not depend on thread timing.
+     * Every task returns only the numbers of its replication, so the finished simulations are not kept
+     * and the memory used stays the same however many replications run.
+     *
+     * @param results      The results to add the replications to.
+     * @param replications The number of replications to run.
+     * @param seeds        The generator that provides the seed of every replication.
+     * @throws InterruptedException If the thread is interrupted while waiting for the replications.
+     */
+    void run(ReplicationResults results, int replications, SplittableRandom seeds) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threadCount, Math.max(replications, 1)));
+        try {
+            // Submit every replication with its own seed
+            List<Future<ReplicationResults.Replication>> futures = new ArrayList<>(replications);
+            for (int i = 0; i < replications; i++) {
+                long replicationSeed = seeds.nextLong();
+                futures.add(executor.submit(() -> runReplication(replicationSeed)));
+            }
+
+            // Collect the replications in submission order
+            for (Future<ReplicationResults.Replication> future : futures) {
+                results.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Replication failed.", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs replications in parallel batches until the 95% confidence interval of the average wait is narrower than
+     * the given precision, relative to its mean, or until the maximum number of replications is reached.
+     * The number of replications needed is read from the returned results.
+     * The seeds are the same as those of run, so the first replications match a run with a fixed count.
+     *
+     * @param relativePrecision   The largest allowed half-width of the interval relative to the mean, such as 0.05.
+     * @param maximumReplications The most replications to run.
+     * @param seed                The seed from which the seed of every replication is derived.
+     * @return The collected results.
+     * @throws InterruptedException If the thread is interrupted while waiting for the replications.
+     */
+    public ReplicationResults runUntilPrecise(double relativePrecision, int maximumReplications, long seed) throws InterruptedException {
+        if (!(relativePrecision > 0) || Double.isInfinite(relativePrecision)) {
+            throw new IllegalArgumentException("Precision must be positive.");
+        }
+        if (maximumReplications <= 0) {
+            throw new IllegalArgumentException("Maximum number of replications must be positive.");
+        }
+        ReplicationResults results = new ReplicationResults(parameters);
+        runUntilPrecise(results, relativePrecision, maximumReplications, new SplittableRandom(seed));
+        return results;
+    }
+
+    /**
+     * Runs parallel batches of replications until the given results are precise enough or hold the maximum number of replications.
+     * Batches are rounded up to whole multiples of the thread count, so every core is kept busy.
+     *
+     * @param results             The results to add the replications to.
+     * @param relativePrecision   The largest allowed half-width of the interval relative to the mean.
+     * @param maximumReplications The most replications the results may hold.
+     * @param seeds               The generator that provides the seed of every replication.
+     * @throws InterruptedException If the thread is interrupted while waiting for the replications.
+     */
+    void runUntilPrecise(ReplicationResults results, double relativePrecision, int maximumReplications, SplittableRandom seeds) throws InterruptedException {
+        int batch;
+        while ((batch = getNextBatchSize(results, relativePrecision, maximumReplications, threadCount)) > 0) {
+            run(results, batch, seeds);
+        }
+    }
+
+    /**
+     * Runs replications one after another on the calling thread until the given results are precise enough
+     * or hold the maximum number of replications.
+     *
+     * @param results             The results to add the replications to.
+     * @param relativePrecision   The largest allowed half-width of the interval relative to the mean.
+     * @param maximumReplications The most replications the results may hold.
+     * @param seeds               The generator that provides the seed of every replication.
+     */
+    void runSequentiallyUntilPrecise(ReplicationResults results, double relativePrecision, int maximumReplications, SplittableRandom seeds) {
+        int batch;
+        while ((batch = getNextBatchSize(results, relativePrecision, maximumReplications, 1)) > 0) {
+            runSequentially(results, batch, seeds);
+        }
+    }
+
+    /**
+     * Works out how many more replications to run before the confidence interval is checked again.
+     * The half-width shrinks with the square root of the number of replications, so the number still needed is
+     * estimated from the current half-width. A batch at most doubles the replications, because early estimates are noisy.
+     *
+     * @param results             The results collected so far.
+     * @param relativePrecision   The largest allowed half-width of the interval relative to the mean.
+     * @param maximumReplications The most replications the results may hold.
+     * @param batchMultiple       The batch is rounded up to a multiple of this number.
+     * @return The size of the next batch, or 0 if the results are precise enough or full.
+     */
+    private static int getNextBatchSize(ReplicationResults results, double relativePrecision, int maximumReplications, int batchMultiple) {
+        int done = (int) results.getReplications();
+        if (done >= maximumReplications) {
+            return 0;
+        }
+
+        int wanted;
+        if (done < INITIAL_REPLICATIONS) {
+            // Collect enough replications for a first estimate of the spread
+            wanted = INITIAL_REPLICATIONS - done;
+        } else {
+            double relativeHalfWidth = results.getRelativeHalfWidth();
+            if (relativeHalfWidth <= relativePrecision) {
+                return 0;
+            }
+            double ratio = relativeHalfWidth / relativePrecision;
+            double needed = Math.ceil(done * ratio * ratio);
+            wanted = (int) Math.max(1, Math.min(needed - done, done));
+        }
+
+        // Round up to keep every thread busy, without passing the maximum
+        wanted = (wanted + batchMultiple - 1) / batchMultiple * batchMultiple;
+        return Math.min(wanted, maximumReplications - done);
+    }
+
+    /**
+     * Runs the given number of replications one after another on the calling thread and adds them to the given results.
+     *
+     * @param results      The results to add the replications to.
+     * @param replications The number of replications to run.
+     * @param seeds        The generator that provides the seed of every replication.
+     */
+    void runSequentially(ReplicationResults results, int replications, SplittableRandom seeds) {
+        for (int i = 0; i < replications; i++) {
+            results.add(runReplication(seeds.nextLong()));
+        }
+    }
+
+    /**
+     * Runs a single replication and reduces it to the numbers the results collect.
+     *
+     * @param seed The seed of the replication.
+     * @return The numbers of the finished replication.
+     */
+    private ReplicationResults.Replication runReplication(long seed) {
+        SimulationLogic simulation = simulationFactory.get();
+        simulation.setSeed(seed);
+        simulation.startSimulation(parameters);
+        return new ReplicationResults.Replication(simulation);
+    }
+}
@@ -1,6 +1,7 @@
 package org.example.program8;
 
 import javafx.application.Application;
+import javafx.concurrent.Task;
 import javafx.geometry.Insets;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
@@ -8,6 +9,8 @@ import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 import javafx.scene.layout.HBox;
 
+import java.util.Objects;
+
 /**
  * This class represents a JavaFX application for a retail store checkout simulation.
  * The simulation measures the working time for a retail store checkout area.
@@ -17,19 +20,49 @@ public class RetailCheckoutSimulation extends Application {
 
 
     /**
-     * Radio button for selecting one checkout line.
+     * Largest number of checkout lines that can be selected.
+     */
+    private static final int MAXIMUM_LINES = 500;
+
+    /**
+     * Simulated seconds between two snapshots of the live results.
+     */
+    private static final int SNAPSHOT_INTERVAL = 60;
+
+    /**
+     * Largest number of times per second the live results are redrawn.
+     */
+    private static final int SNAPSHOT_FRAMES_PER_SECOND = 20;
+
+    /**
+     * Simulated seconds per bucket of the recorded queue lengths.
      */
-    private RadioButton checkoutLines1;
+    private static final int QUEUE_LENGTH_RESOLUTION = 60;
 
     /**
-     * Radio button for selecting two checkout lines.
+     * Most seeded runs kept in the result cache.
      */
-    private RadioButton checkoutLines2;
+    private static final int RESULT_CACHE_ENTRIES = 32;
 
     /**
-     * Radio button for selecting three checkout lines.
+     * Most bytes the result cache may take.
      */
-    private RadioButton checkoutLines3;
+    private static final long RESULT_CACHE_BYTES = 64L * 1024 * 1024;
+
+    /**
+     * Spinner for selecting the number of checkout lines.
+     */
+    private Spinner<Integer> checkoutLinesSpinner;
+
+    /**
+     * Text field for entering the speed multiplier of each checkout line.
+     */
+    private TextField laneSpeedsTextField;
+
+    /**
+     * Text field for entering the seed of the random number generator.
+     */
+    private TextField seedTextField;
 
     /**
      * Slider for adjusting the customer arrival frequency.
@@ -56,6 +89,26 @@ public class RetailCheckoutSimulation extends Application {
      */
     private Button exitButton;
 
+    /**
+     * Button for showing the queue lengths of the last simulation.
+     */
+    private Button queueLengthButton;
+
+    /**
+     * Button for cancelling a running simulation.
+     */
+    private Button cancelButton;
+
+    /**
+     * Progress bar showing the simulated time of a running simulation.
+     */
+    private ProgressBar progressBar;
+
+    /**
+     * The background task running the simulation, or null when no simulation is running.
+     */
+    private Task<Void> simulationTask;
+
     /**
      * Text field for entering the percentage of easy customers.
      */
@@ -77,26 +130,36 @@ public class RetailCheckoutSimulation extends Application {
     private SimulationLogic simulation;
 
     /**
-     * Creates radio buttons for selecting the number of checkout lines.
-     * @param root The VBox to which the radio buttons are added.
+     * The queue lengths of the last simulation, shown by the queue length button.
      */
-    private void createRadioButtons(VBox root) {
-        Label lineLabel = new Label("Number of Lines");
+    private QueueLengthRecorder queueLengthRecorder;
 
-        ToggleGroup group = new ToggleGroup();
+    /**
+     * The results of recent seeded simulations, so running the same settings again shows them at once.
+     */
+    private final SimulationResultCache resultCache = new SimulationResultCache(RESULT_CACHE_ENTRIES, RESULT_CACHE_BYTES);
 
-        checkoutLines1 = new RadioButton("1 Line");
-        checkoutLines2 = new RadioButton("2 Lines");
-        checkoutLines3 = new RadioButton("3 Lines");
+    /**
+     * Creates a spinner for selecting the number of checkout lines and a text field for their speeds.
+     * @param root The VBox to which the controls are added.
+     */
+    private void createLineControls(VBox root) {
+        Label lineLabel = new Label("Number of Lines");
+
+        checkoutLinesSpinner = new Spinner<>(1, MAXIMUM_LINES, 2);
+        checkoutLinesSpinner.setEditable(true);
+        checkoutLinesSpinner.setMaxWidth(100);
 
-        checkoutLines1.setToggleGroup(group);
-        checkoutLines2.setToggleGroup(group);
-        checkoutLines3.setToggleGroup(group);
+        Label speedLabel = new Label("Lane Speeds (optional, comma separated, 1 = normal)");
+        laneSpeedsTextField = new TextField();
+        laneSpeedsTextField.setPromptText("e.g. 1, 1.5, 0.8");
 
-        checkoutLines2.setSelected(true);
+        Label seedLabel = new Label("Seed (optional, repeats a run and reuses its cached results)");
+        seedTextField = new TextField();
+        seedTextField.setPromptText("e.g. 42");
+        seedTextField.setMaxWidth(200);
 
-        HBox radioButtons = new HBox(10, checkoutLines1, checkoutLines2, checkoutLines3);
-        root.getChildren().addAll(lineLabel, radioButtons);
+        root.getChildren().addAll(lineLabel, checkoutLinesSpinner, speedLabel, laneSpeedsTextField, seedLabel, seedTextField);
     }
 
     /**
@@ -181,11 +244,13 @@ public class RetailCheckoutSimulation extends Application {
 
         // Reset the simulation
         simulation = new SimulationLogic();
+        progressBar.setProgress(0);
+        queueLengthButton.setDisable(true);
 
         // Reset the UI Selections
-        checkoutLines1.setSelected(false);
-        checkoutLines2.setSelected(true);
-        checkoutLines3.setSelected(false);
+        checkoutLinesSpinner.getValueFactory().setValue(2);
+        laneSpeedsTextField.clear();
+        seedTextField.clear();
 
         customerArrivalSlider.setValue(60);
 
@@ -223,6 +288,39 @@ public class RetailCheckoutSimulation extends Application {
         return startButton;
     }
 
+    /**
+     * Creates a button for cancelling a running simulation.
+     * @return The created cancel button.
+     */
+    private Button createCancelButton() {
+        cancelButton = new Button("Cancel Simulation");
+        cancelButton.setOnAction(event -> cancelSimulation());
+        cancelButton.setDisable(true);
+        return cancelButton;
+    }
+
+    /**
+     * Creates a button for showing the queue lengths of the last simulation.
+     * @return The created queue length button.
+     */
+    private Button createQueueLengthButton() {
+        queueLengthButton = new Button("Show Queue Lengths");
+        queueLengthButton.setOnAction(event ->
+                QueueLengthChart.show(queueLengthRecorder, queueLengthButton.getScene().getWindow()));
+        queueLengthButton.setDisable(true);
+        return queueLengthButton;
+    }
+
+    /**
+     * Creates a progress bar for the simulated time of a running simulation.
+     * @return The created progress bar.
+     */
+    private ProgressBar createProgressBar() {
+        progressBar = new ProgressBar(0);
+        progressBar.setMaxWidth(Double.MAX_VALUE);
+        return progressBar;
+    }
+
     private Button createResetButton () {
         resetButton = new Button("Reset Simulation");
         resetButton.setOnAction(event -> resetSimulation());
@@ -240,38 +338,172 @@ public class RetailCheckoutSimulation extends Application {
     }
 
     /**
-     * Starts the simulation.
+     * Returns the number of checkout lines selected with the spinner.
+     * @return The selected number of lines.
      */
-    private void startSimulation() {
-        int numberOfLines = 0;
-
-        if (checkoutLines1.isSelected()) {
-            numberOfLines = 1;
-        } else if (checkoutLines2.isSelected()) {
-            numberOfLines = 2;
-        } else if (checkoutLines3.isSelected()) {
-            numberOfLines = 3;
-        }
+    private int getSelectedNumberOfLines() {
+        return checkoutLinesSpinner.getValue();
+    }
 
-        resetSimulation();
+    /**
+     * Reads the speed multiplier of each checkout line from the lane speeds text field.
+     * @return The speed of each line, or null if the field is blank.
+     * @throws NumberFormatException If one of the speeds is not a number.
+     */
+    private double[] getLaneSpeeds() {
+        String text = laneSpeedsTextField.getText().trim();
+        if (text.isEmpty()) {
+            return null;
+        }
+        String[] parts = text.split(",");
+        double[] speeds = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            speeds[i] = Double.parseDouble(parts[i].trim());
+        }
+        return speeds;
+    }
 
+    /**
+     * Starts the simulation on a background thread, so the window stays responsive while it runs.
+     */
+    private void startSimulation() {
+        int numberOfLines = getSelectedNumberOfLines();
         int customerArrivalFrequency = (int) customerArrivalSlider.getValue();
 
+        int easyCustomerPercentage;
+        int mediumCustomerPercentage;
+        int difficultCustomerPercentage;
         try {
-            int easyCustomerPercentage = Integer.parseInt(easyCustomerTextField.getText());
-            int mediumCustomerPercentage = Integer.parseInt(mediumCustomerTextField.getText());
-            int difficultCustomerPercentage = Integer.parseInt(difficultCustomerTextField.getText());
+            easyCustomerPercentage = Integer.parseInt(easyCustomerTextField.getText());
+            mediumCustomerPercentage = Integer.parseInt(mediumCustomerTextField.getText());
+            difficultCustomerPercentage = Integer.parseInt(difficultCustomerTextField.getText());
+        } catch (NumberFormatException e) {
+            textArea.setText("Invalid percentage entered\n");
+            return;
+        }
 
-            simulation.startSimulation(numberOfLines, customerArrivalFrequency, easyCustomerPercentage, mediumCustomerPercentage, difficultCustomerPercentage);
+        double[] laneSpeeds;
+        try {
+            laneSpeeds = getLaneSpeeds();
         } catch (NumberFormatException e) {
-            textArea.appendText("Invalid percentage entered\n");
+            textArea.setText("Invalid lane speed entered\n");
+            return;
+        }
+
+        Long seed;
+        try {
+            String seedText = seedTextField.getText().trim();
+            seed = seedText.isEmpty() ? null : Long.parseLong(seedText);
+        } catch (NumberFormatException e) {
+            textArea.setText("Invalid seed entered\n");
+            return;
+        }
+
+        // Start from a fresh simulation, keeping the selections that were just read
+        textArea.clear();
+        simulation = new SimulationLogic();
+        try {
+            simulation.setLaneSpeeds(laneSpeeds);
+        } catch (IllegalArgumentException e) {
+            textArea.setText(e.getMessage() + "\n");
+            return;
+        }
+
+        // A seeded run gives the same results every time, so show them from the cache if it has run before
+        SimulationResultCache.Key cacheKey = null;
+        if (seed != null) {
+            simulation.setSeed(seed);
+            SimulationParameters parameters = new SimulationParameters(numberOfLines, customerArrivalFrequency, easyCustomerPercentage, mediumCustomerPercentage, difficultCustomerPercentage);
+            cacheKey = new SimulationResultCache.Key(parameters, seed, simulation);
+            SimulationResultCache.Entry cached = resultCache.get(cacheKey);
+            if (cached != null) {
+                queueLengthRecorder = cached.getQueueLengthRecorder();
+                textArea.setText(cached.getReport() + "\n\nShown from the result cache (" + resultCache.getHits() + " hits, " + resultCache.getMisses() + " misses)\n");
+                progressBar.setProgress(1);
+                queueLengthButton.setDisable(queueLengthRecorder == null);
+                // Leave the buttons as a finished run does
+                startButton.setDisable(true);
+                resetButton.setDisable(false);
+                return;
+            }
         }
 
-        // Disable the start button and enable the reset button
+        simulation.setQueueLengthRecorder(new QueueLengthRecorder(QUEUE_LENGTH_RESOLUTION));
+        SimulationLogic runningSimulation = simulation;
+        SimulationResultCache.Key runningKey = cacheKey;
+
+        // Show the live results while the simulation runs, unless it has already finished
+        runningSimulation.setSnapshotListener(new ThrottledSnapshotPublisher(SNAPSHOT_FRAMES_PER_SECOND, snapshot -> {
+            if (simulationTask != null && simulation == runningSimulation) {
+                textArea.setText(snapshot.getReport());
+            }
+        }), SNAPSHOT_INTERVAL);
+
+        simulationTask = new Task<>() {
+            @Override
+            protected Void call() {
+                runningSimulation.setProgressListener((currentTime, simulationDuration) ->
+                        updateProgress(Math.min(currentTime, simulationDuration), simulationDuration));
+                runningSimulation.startSimulation(numberOfLines, customerArrivalFrequency, easyCustomerPercentage, mediumCustomerPercentage, difficultCustomerPercentage);
+                return null;
+            }
+        };
+
+        // Post the results back to the text area when the simulation is done
+        simulationTask.setOnSucceeded(event -> {
+            progressBar.progressProperty().unbind();
+            progressBar.setProgress(1);
+            updateUI();
+            queueLengthRecorder = runningSimulation.getQueueLengthRecorder();
+            if (runningKey != null) {
+                resultCache.put(runningKey, runningSimulation.getSimulationResults(), queueLengthRecorder);
+            }
+            queueLengthButton.setDisable(false);
+            finishSimulation();
+        });
+        simulationTask.setOnFailed(event -> {
+            progressBar.progressProperty().unbind();
+            // Some exceptions have no message, so show the exception itself instead of "null"
+            Throwable exception = simulationTask.getException();
+            textArea.setText(Objects.toString(exception.getMessage(), exception.toString()) + "\n");
+            finishSimulation();
+        });
+        simulationTask.setOnCancelled(event -> {
+            progressBar.progressProperty().unbind();
+            textArea.setText("Simulation cancelled\n");
+            finishSimulation();
+        });
+
+        progressBar.progressProperty().bind(simulationTask.progressProperty());
+
+        // Disable the start and reset buttons while the simulation runs
         startButton.setDisable(true);
-        resetButton.setDisable(false);
+        resetButton.setDisable(true);
+        cancelButton.setDisable(false);
+        queueLengthButton.setDisable(true);
+
+        Thread thread = new Thread(simulationTask, "simulation");
+        thread.setDaemon(true);
+        thread.start();
+    }
 
-        updateUI();
+    /**
+     * Cancels the running simulation. The engine stops at its next progress check.
+     */
+    private void cancelSimulation() {
+        if (simulationTask != null) {
+            simulationTask.cancel();
+            simulation.cancel();
+        }
+    }
+
+    /**
+     * Updates the buttons after the simulation has finished, failed, or been cancelled.
+     */
+    private void finishSimulation() {
+        simulationTask = null;
+        cancelButton.setDisable(true);
+        resetButton.setDisable(false);
     }
 
     /**
@@ -298,7 +530,7 @@ public class RetailCheckoutSimulation extends Application {
         VBox root = new VBox(10);
         root.setPadding(new Insets(10));
 
-        createRadioButtons(root);
+        createLineControls(root);
 
         createCustomerArrivalSlider(root);
 
@@ -307,7 +539,10 @@ public class RetailCheckoutSimulation extends Application {
         root.getChildren().add(hbox);
 
         root.getChildren().add(createTextArea());
+        root.getChildren().add(createProgressBar());
         root.getChildren().add(createStartButton());
+        root.getChildren().add(createCancelButton());
+        root.getChildren().add(createQueueLengthButton());
         root.getChildren().add(createResetButton());
         root.getChildren().add(createExitButton());
 
@@ -316,7 +551,7 @@ public class RetailCheckoutSimulation extends Application {
 
         simulation = new SimulationLogic();
 
-        Scene scene = new Scene(root, 720, 520);
+        Scene scene = new Scene(root, 720, 680);
         primaryStage.setTitle("Simulation GUI");
         primaryStage.setScene(scene);
         primaryStage.show();
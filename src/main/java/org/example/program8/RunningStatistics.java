@@ -0,0 +1,188 @@
+package org.example.program8;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * This class accumulates summary statistics over a stream of values without keeping the values.
+ * It tracks the count, sum, minimum and maximum, and uses Welford's online algorithm for the mean and variance.
+ * Two accumulators can be merged, so partial results computed separately can be combined.
+ */
+public class RunningStatistics {
+    /**
+     * Two-sided 95% critical values of Student's t distribution for 1 to 30 degrees of freedom.
+     */
+    private static final double[] T_CRITICAL_VALUES_95 = {
+            12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+            2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+            2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042
+    };
+
+    private long count;
+    private double sum;
+    private double mean;
+    private double sumOfSquaredDeviations;
+    private double minimum = Double.POSITIVE_INFINITY;
+    private double maximum = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Adds a value to the statistics.
+     *
+     * @param value The value to add.
+     */
+    public void add(double value) {
+        count++;
+        sum += value;
+        double delta = value - mean;
+        mean += delta / count;
+        sumOfSquaredDeviations += delta * (value - mean);
+        minimum = Math.min(minimum, value);
+        maximum = Math.max(maximum, value);
+    }
+
+    /**
+     * Adds all values of another accumulator to this one.
+     *
+     * @param other The statistics to merge into this one.
+     */
+    public void merge(RunningStatistics other) {
+        if (other.count == 0) {
+            return;
+        }
+        if (count == 0) {
+            count = other.count;
+            sum = other.sum;
+            mean = other.mean;
+            sumOfSquaredDeviations = other.sumOfSquaredDeviations;
+            minimum = other.minimum;
+            maximum = other.maximum;
+            return;
+        }
+
+        long combinedCount = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / combinedCount;
+        sumOfSquaredDeviations += other.sumOfSquaredDeviations + delta * delta * count * other.count / combinedCount;
+        count = combinedCount;
+        sum += other.sum;
+        minimum = Math.min(minimum, other.minimum);
+        maximum = Math.max(maximum, other.maximum);
+    }
+
+    /**
+     * Returns the number of values added.
+     *
+     * @return The number of values.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the sum of the values added.
+     *
+     * @return The sum of the values.
+     */
+    public double getSum() {
+        return sum;
+    }
+
+    /**
+     * Returns the mean of the values added.
+     *
+     * @return The mean, or 0 if no values were added.
+     */
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * Returns the sample variance of the values added.
+     *
+     * @return The sample variance, or 0 if fewer than two values were added.
+     */
+    public double getVariance() {
+        return count > 1 ? sumOfSquaredDeviations / (count - 1) : 0;
+    }
+
+    /**
+     * Returns the sample standard deviation of the values added.
+     *
+     * @return The sample standard deviation, or 0 if fewer than two values were added.
+     */
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    /**
+     * Returns the half-width of the 95% confidence interval for the mean, using Student's t distribution.
+     *
+     * @return The half-width of the confidence interval, or infinity if fewer than two values were added.
+     */
+    public double getConfidenceHalfWidth() {
+        if (count < 2) {
+            return Double.POSITIVE_INFINITY;
+        }
+        long degreesOfFreedom = count - 1;
+        double criticalValue;
+        if (degreesOfFreedom <= T_CRITICAL_VALUES_95.length) {
+            criticalValue = T_CRITICAL_VALUES_95[(int) degreesOfFreedom - 1];
+        } else {
+            // Close approximation of the t quantile beyond the table, tending to the normal 1.96
+            criticalValue = 1.96 + 2.4 / degreesOfFreedom;
+        }
+        return criticalValue * getStandardDeviation() / Math.sqrt(count);
+    }
+
+    /**
+     * Returns the smallest value added.
+     *
+     * @return The minimum, or 0 if no values were added.
+     */
+    public double getMinimum() {
+        return count > 0 ? minimum : 0;
+    }
+
+    /**
+     * Returns the largest value added.
+     *
+     * @return The maximum, or 0 if no values were added.
+     */
+    public double getMaximum() {
+        return count > 0 ? maximum : 0;
+    }
+
+    /**
+     * Writes the state of the statistics, so they can be restored with readFrom.
+     *
+     * @param out The output to write to.
+     * @throws IOException If the state cannot be written.
+     */
+    void writeTo(DataOutput out) throws IOException {
+        out.writeLong(count);
+        out.writeDouble(sum);
+        out.writeDouble(mean);
+        out.writeDouble(sumOfSquaredDeviations);
+        out.writeDouble(minimum);
+        out.writeDouble(maximum);
+    }
+
+    /**
+     * Reads statistics written by writeTo.
+     *
+     * @param in The input to read from.
+     * @return The restored statistics.
+     * @throws IOException If the state cannot be read.
+     */
+    static RunningStatistics readFrom(DataInput in) throws IOException {
+        RunningStatistics statistics = new RunningStatistics();
+        statistics.count = in.readLong();
+        statistics.sum = in.readDouble();
+        statistics.mean = in.readDouble();
+        statistics.sumOfSquaredDeviations = in.readDouble();
+        statistics.minimum = in.readDouble();
+        statistics.maximum = in.readDouble();
+        return statistics;
+    }
+}
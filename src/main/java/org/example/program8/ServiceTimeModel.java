@@ -0,0 +1,76 @@
+package org.example.program8;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * This interface draws how long the checkout of a customer takes.
+ * The simulation draws the time once, when the checkout starts, and divides it by the speed of the line.
+ * One model can be shared by simulations running on several threads, so implementations must not change after construction.
+ * The models of this package can be written as a one-line description and parsed back, which is how a model is saved in a checkpoint.
+ */
+public interface ServiceTimeModel {
+
+    /**
+     * Draws the checkout time of a customer at a line working at normal speed.
+     *
+     * @param difficulty The checkout difficulty of the customer.
+     * @param random     The random number generator to draw from.
+     * @return The checkout time in seconds.
+     */
+    double draw(Customer.Difficulty difficulty, RandomGenerator random);
+
+    /**
+     * Describes the model completely, so that parsing the description gives a model that draws exactly the same times.
+     * The description starts with the name of the model, followed by its numbers, all separated by spaces.
+     *
+     * @return The description, or null if the model cannot be described, which is the default.
+     */
+    default String describe() {
+        return null;
+    }
+
+    /**
+     * Creates the model written by describe().
+     *
+     * @param description The description of the model.
+     * @return The described model.
+     * @throws IllegalArgumentException If the description is not valid.
+     */
+    static ServiceTimeModel parse(String description) {
+        String[] fields = description.trim().split(" +");
+        int difficulties = Customer.Difficulty.values().length;
+        try {
+            double[] numbers = new double[fields.length - 1];
+            for (int i = 0; i < numbers.length; i++) {
+                numbers[i] = Double.parseDouble(fields[i + 1]);
+            }
+            switch (fields[0]) {
+                case "fixed":
+                    if (numbers.length == difficulties && numbers[0] == (int) numbers[0] && numbers[1] == (int) numbers[1] && numbers[2] == (int) numbers[2]) {
+                        return new FixedServiceTimeModel((int) numbers[0], (int) numbers[1], (int) numbers[2]);
+                    }
+                    break;
+                case "uniform":
+                    // The shortest times, then the longest times
+                    if (numbers.length == 2 * difficulties) {
+                        return new UniformServiceTimeModel(Arrays.copyOfRange(numbers, 0, difficulties), Arrays.copyOfRange(numbers, difficulties, 2 * difficulties));
+                    }
+                    break;
+                case "lognormal":
+                    // The coefficient of variation, then the means
+                    if (numbers.length == difficulties + 1) {
+                        return new LognormalServiceTimeModel(Arrays.copyOfRange(numbers, 1, numbers.length), numbers[0]);
+                    }
+                    break;
+                case "empirical":
+                    return EmpiricalServiceTimeModel.fromNumbers(numbers);
+                default:
+                    break;
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid service time model description \"" + description + "\": " + e.getMessage());
+        }
+        throw new IllegalArgumentException("Invalid service time model description \"" + description + "\".");
+    }
+}
@@ -0,0 +1,651 @@
+package org.example.program8;
+
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * This class is a headless command line entry point for the checkout simulation.
+ * It does not load any JavaFX class, so it can run on servers without a display:
+ * <pre>
+ * java -cp target/classes org.example.program8.SimulationCli --lines 3 --frequency 60 --replications 100 --format json
+ * </pre>
+ * Results are written as CSV or JSON to standard output, or to the file given with --output.
+ */
+public class SimulationCli {
+    /**
+     * Usage text printed for invalid arguments.
+     */
+    private static final String USAGE = String.join("\n",
+            "Usage: SimulationCli [options]",
+            "  --lines N            number of open checkout lines (default 2)",
+            "  --frequency S        seconds between customer arrivals (default 60)",
+            "  --mix E,M,D          easy, medium and difficult percentages (default 20,60,20)",
+            "  --seed N             seed of the random number generator (default 1)",
+            "  --horizon S          seconds during which customers arrive (default 43200)",
+            "  --replications N     number of independent replications (default 1)",
+            "  --precision P        replicate until the 95% interval of the average wait is within P of the mean, such as 0.05",
+            "  --max-replications N most replications run with --precision (default 1000)",
+            "  --speeds S1,S2,...   speed multiplier of each line (default 1 for every line)",
+            "  --engine tick|event  engine used to advance the clock (default event)",
+            "  --service MODEL      checkout times: fixed, uniform:SPREAD, lognormal:CV or empirical:FILE (default fixed)",
+            "  --stores FILE        simulate the fleet of stores listed in FILE instead of one store",
+            "  --days N             days simulated per store in fleet mode (default 1)",
+            "  --arrivals FILE      replay the arrivals in FILE, a CSV of time[,difficulty] or a .bin trace",
+            "  --sla S              find the fewest lines per block keeping the 90th percentile wait at most S seconds",
+            "  --block S            length of a staffing block in seconds (default 3600)",
+            "  --max-lines N        most lines tried per staffing block (default 20)",
+            "  --checkpoint FILE    save a single run to FILE while it runs, and resume from FILE if it exists",
+            "  --checkpoint-interval S  simulated seconds between checkpoints (default 3600)",
+            "  --format csv|json    output format (default csv)",
+            "  --output FILE        write to FILE instead of standard output");
+
+    /**
+     * Number of open checkout lines.
+     */
+    private int numberOfLines = 2;
+    /**
+     * Seconds between customer arrivals.
+     */
+    private int customerArrivalFrequency = 60;
+    /**
+     * Easy, medium and difficult customer percentages.
+     */
+    private int[] mix = {20, 60, 20};
+    /**
+     * Seed of the random number generator.
+     */
+    private long seed = 1;
+    /**
+     * Seconds during which customers arrive.
+     */
+    private int horizon = 43200;
+    /**
+     * Number of independent replications.
+     */
+    private int replications = 1;
+    /**
+     * Precision the average wait is replicated to, relative to its mean, or 0 for a fixed number of replications.
+     */
+    private double precision;
+    /**
+     * Most replications run when replicating to a precision.
+     */
+    private int maximumReplications = 1000;
+    /**
+     * Speed multiplier of each checkout line, or null for normal speed.
+     */
+    private double[] laneSpeeds;
+
+    /**
+     * Model of the checkout times, as given on the command line.
+     */
+    private String serviceTimeOption = "fixed";
+
+    /**
+     * Model that draws the checkout times, created from the option when the run starts.
+     */
+    private ServiceTimeModel serviceTimeModel;
+
+    /**
+     * Engine used to advance the simulation clock.
+     */
+    private SimulationLogic.EngineMode engineMode = SimulationLogic.EngineMode.EVENT;
+    /**
+     * File listing the stores of a fleet simulation, or null to simulate one store.
+     */
+    private String storesFile;
+
+    /**
+     * Days simulated per store in fleet mode.
+     */
+    private int days = 1;
+
+    /**
+     * Longest allowed 90th percentile wait in seconds when searching a staffing schedule, or -1 for no search.
+     */
+    private int slaWaitingTime = -1;
+
+    /**
+     * Length of a staffing block in seconds.
+     */
+    private int blockLength = 3600;
+
+    /**
+     * Most lines tried per staffing block.
+     */
+    private int maximumLines = 20;
+
+    /**
+     * File the arrivals are replayed from, or null for the fixed arrival interval.
+     */
+    private String arrivalsFile;
+
+    /**
+     * File a single run is checkpointed to and resumed from, or null for no checkpoints.
+     */
+    private String checkpointFile;
+
+    /**
+     * Simulated seconds between two checkpoints.
+     */
+    private int checkpointInterval = 3600;
+
+    /**
+     * Output format, either csv or json.
+     */
+    private String format = "csv";
+    /**
+     * File the results are written to, or null for standard output.
+     */
+    private String output;
+
+    /**
+     * Runs the simulation described by the command line arguments.
+     *
+     * @param args The command line arguments.
+     */
+    public static void main(String[] args) {
+        SimulationCli cli = new SimulationCli();
+        try {
+            cli.parseArguments(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+
+        try {
+            cli.run();
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+        } catch (IOException e) {
+            System.err.println("Could not write results: " + e.getMessage());
+            System.exit(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Reads the options from the command line arguments.
+     *
+     * @param args The command line arguments.
+     */
+    void parseArguments(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (option.equals("--help")) {
+                throw new IllegalArgumentException("Retail checkout simulation");
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + option);
+            }
+            String value = args[++i];
+            switch (option) {
+                case "--lines":
+                    numberOfLines = parseInt(option, value);
+                    break;
+                case "--frequency":
+                    customerArrivalFrequency = parseInt(option, value);
+                    break;
+                case "--mix":
+                    String[] parts = value.split(",");
+                    if (parts.length != 3) {
+                        throw new IllegalArgumentException("--mix needs three comma-separated percentages");
+                    }
+                    mix = new int[]{parseInt(option, parts[0]), parseInt(option, parts[1]), parseInt(option, parts[2])};
+                    break;
+                case "--seed":
+                    try {
+                        seed = Long.parseLong(value);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid value for --seed: " + value);
+                    }
+                    break;
+                case "--horizon":
+                    horizon = parseInt(option, value);
+                    break;
+                case "--replications":
+                    replications = parseInt(option, value);
+                    if (replications <= 0) {
+                        throw new IllegalArgumentException("--replications must be positive");
+                    }
+                    break;
+                case "--precision":
+                    try {
+                        precision = Double.parseDouble(value.trim());
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid value for --precision: " + value);
+                    }
+                    if (!(precision > 0) || Double.isInfinite(precision)) {
+                        throw new IllegalArgumentException("--precision must be positive");
+                    }
+                    break;
+                case "--max-replications":
+                    maximumReplications = parseInt(option, value);
+                    if (maximumReplications <= 0) {
+                        throw new IllegalArgumentException("--max-replications must be positive");
+                    }
+                    break;
+                case "--speeds":
+                    String[] speeds = value.split(",");
+                    laneSpeeds = new double[speeds.length];
+                    for (int s = 0; s < speeds.length; s++) {
+                        try {
+                            laneSpeeds[s] = Double.parseDouble(speeds[s].trim());
+                        } catch (NumberFormatException e) {
+                            throw new IllegalArgumentException("Invalid value for --speeds: " + value);
+                        }
+                    }
+                    break;
+                case "--engine":
+                    try {
+                        engineMode = SimulationLogic.EngineMode.valueOf(value.toUpperCase(Locale.ROOT));
+                    } catch (IllegalArgumentException e) {
+                        throw new IllegalArgumentException("Invalid value for --engine: " + value);
+                    }
+                    break;
+                case "--service":
+                    serviceTimeOption = value;
+                    break;
+                case "--stores":
+                    storesFile = value;
+                    break;
+                case "--days":
+                    days = parseInt(option, value);
+                    break;
+                case "--format":
+                    if (!value.equals("csv") && !value.equals("json")) {
+                        throw new IllegalArgumentException("Invalid value for --format: " + value);
+                    }
+                    format = value;
+                    break;
+                case "--output":
+                    output = value;
+                    break;
+                case "--arrivals":
+                    arrivalsFile = value;
+                    break;
+                case "--sla":
+                    slaWaitingTime = parseInt(option, value);
+                    break;
+                case "--block":
+                    blockLength = parseInt(option, value);
+                    break;
+                case "--max-lines":
+                    maximumLines = parseInt(option, value);
+                    break;
+                case "--checkpoint":
+                    checkpointFile = value;
+                    break;
+                case "--checkpoint-interval":
+                    checkpointInterval = parseInt(option, value);
+                    if (checkpointInterval <= 0) {
+                        throw new IllegalArgumentException("Checkpoint interval must be positive.");
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + option);
+            }
+        }
+    }
+
+    /**
+     * Parses an integer option value.
+     *
+     * @param option The name of the option.
+     * @param value  The value to parse.
+     * @return The parsed value.
+     */
+    private static int parseInt(String option, String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + option + ": " + value);
+        }
+    }
+
+    /**
+     * Creates the service time model described by the --service option.
+     *
+     * @param value The option value, such as lognormal:0.5.
+     * @return The service time model.
+     * @throws IOException If the histogram file of an empirical model cannot be read.
+     */
+    private static ServiceTimeModel parseServiceTimeModel(String value) throws IOException {
+        int colon = value.indexOf(':');
+        String name = colon < 0 ? value : value.substring(0, colon);
+        String argument = colon < 0 ? null : value.substring(colon + 1);
+        try {
+            switch (name) {
+                case "fixed":
+                    if (argument == null) {
+                        return FixedServiceTimeModel.DEFAULT;
+                    }
+                    break;
+                case "uniform":
+                    if (argument != null) {
+                        return UniformServiceTimeModel.around(FixedServiceTimeModel.DEFAULT, Double.parseDouble(argument));
+                    }
+                    break;
+                case "lognormal":
+                    if (argument != null) {
+                        return LognormalServiceTimeModel.around(FixedServiceTimeModel.DEFAULT, Double.parseDouble(argument));
+                    }
+                    break;
+                case "empirical":
+                    if (argument != null) {
+                        return EmpiricalServiceTimeModel.load(Paths.get(argument));
+                    }
+                    break;
+                default:
+                    break;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid value for --service: " + value);
+    }
+
+    /**
+     * Runs the replications and writes the results.
+     *
+     * @throws IOException          If the results cannot be written.
+     * @throws InterruptedException If the thread is interrupted while waiting for the replications.
+     */
+    void run() throws IOException, InterruptedException {
+        serviceTimeModel = parseServiceTimeModel(serviceTimeOption);
+        if (storesFile != null) {
+            runFleet();
+            return;
+        }
+        if (slaWaitingTime >= 0) {
+            runStaffing();
+            return;
+        }
+
+        SimulationParameters parameters = new SimulationParameters(numberOfLines, customerArrivalFrequency, mix[0], mix[1], mix[2]);
+        ReplicationResults results;
+        if (precision > 0 && (arrivalsFile != null || checkpointFile != null)) {
+            throw new IllegalArgumentException("--precision cannot be combined with --arrivals or --checkpoint.");
+        }
+        if (arrivalsFile != null) {
+            if (checkpointFile != null) {
+                throw new IllegalArgumentException("--arrivals cannot be combined with --checkpoint.");
+            }
+            results = runReplayed(parameters);
+        } else if (checkpointFile != null) {
+            results = runCheckpointed(parameters);
+        } else {
+            ReplicationRunner runner = new ReplicationRunner(parameters, this::createSimulation, Runtime.getRuntime().availableProcessors());
+            if (precision > 0) {
+                results = runner.runUntilPrecise(precision, maximumReplications, seed);
+            } else {
+                results = runner.run(replications, seed);
+            }
+        }
+
+        String text = format.equals("json") ? toJson(results) : SweepResultTable.CSV_HEADER + "\n" + SweepResultTable.toCsvRow(results);
+        write(text);
+    }
+
+    /**
+     * Runs the replications one after another, each replaying the arrivals file from the start.
+     * Only the difficulties missing from the file differ between replications.
+     *
+     * @param parameters The parameters of the simulation.
+     * @return The results of the replications.
+     * @throws IOException If the arrivals file cannot be read.
+     */
+    private ReplicationResults runReplayed(SimulationParameters parameters) throws IOException {
+        ReplicationResults results = new ReplicationResults(parameters);
+        SplittableRandom seeds = new SplittableRandom(seed);
+        for (int i = 0; i < replications; i++) {
+            SimulationLogic simulation = createSimulation();
+            simulation.setSeed(seeds.nextLong());
+            try (Closeable arrivals = openArrivals()) {
+                simulation.setArrivalSource((ArrivalSource) arrivals);
+                simulation.startSimulation(parameters);
+            }
+            results.add(simulation);
+        }
+        return results;
+    }
+
+    /**
+     * Opens the arrivals file, as a binary trace if its name ends with .bin and as CSV otherwise.
+     *
+     * @return The arrival source, which must be closed after the simulation.
+     * @throws IOException If the file cannot be opened.
+     */
+    private Closeable openArrivals() throws IOException {
+        Path file = Paths.get(arrivalsFile);
+        if (arrivalsFile.endsWith(".bin")) {
+            return new TraceArrivalSource(file);
+        }
+        return new CsvArrivalSource(file);
+    }
+
+    /**
+     * Runs a single simulation that is checkpointed to the checkpoint file.
+     * If the file already exists, the simulation saved in it is resumed instead of starting a new one,
+     * and the options describing the simulation, including the service time model, are taken from the checkpoint.
+     * The same options given on the command line are ignored when resuming.
+     * The file is deleted once the simulation has finished.
+     *
+     * @param parameters The parameters of a new simulation.
+     * @return The results of the simulation.
+     * @throws IOException If the checkpoint cannot be read or written.
+     */
+    private ReplicationResults runCheckpointed(SimulationParameters parameters) throws IOException {
+        if (replications != 1) {
+            throw new IllegalArgumentException("--checkpoint runs a single replication.");
+        }
+        Path checkpoint = Paths.get(checkpointFile);
+        SimulationLogic simulation = createSimulation();
+        simulation.setCheckpointFile(checkpoint, checkpointInterval);
+
+        if (Files.exists(checkpoint)) {
+            simulation.resumeSimulation(checkpoint);
+        } else {
+            // Use the same seed as the first replication, so the results match a run without checkpoints
+            simulation.setSeed(new SplittableRandom(seed).nextLong());
+            simulation.startSimulation(parameters);
+        }
+        Files.deleteIfExists(checkpoint);
+
+        ReplicationResults results = new ReplicationResults(simulation.getParameters());
+        results.add(simulation);
+        return results;
+    }
+
+    /**
+     * Searches the fewest lines per block that meet the --sla target and writes the schedule as CSV.
+     * The blocks cover the horizon and hold the arrivals of the arrivals file, or one arrival every --frequency seconds.
+     *
+     * @throws IOException          If the arrivals file cannot be read or the schedule cannot be written.
+     * @throws InterruptedException If the thread is interrupted while waiting for the blocks.
+     */
+    private void runStaffing() throws IOException, InterruptedException {
+        StaffingOptimizer optimizer = new StaffingOptimizer(blockLength, 0.9, slaWaitingTime);
+        optimizer.setMaximumLines(maximumLines);
+        optimizer.setCustomerMix(mix[0], mix[1], mix[2]);
+        optimizer.setSimulationFactory(this::createSimulation);
+
+        int blockCount = (horizon + blockLength - 1) / blockLength;
+        StaffingSchedule schedule;
+        if (arrivalsFile != null) {
+            try (Closeable arrivals = openArrivals()) {
+                schedule = optimizer.optimize((ArrivalSource) arrivals, blockCount, seed);
+            }
+        } else {
+            // Without this check a frequency of 0 would give an empty schedule that meets the target
+            if (customerArrivalFrequency <= 0) {
+                throw new IllegalArgumentException("Customer arrival frequency must be positive");
+            }
+            int[] arrivalFrequencies = new int[blockCount];
+            Arrays.fill(arrivalFrequencies, customerArrivalFrequency);
+            schedule = optimizer.optimize(arrivalFrequencies, seed);
+        }
+
+        StringWriter csv = new StringWriter();
+        schedule.writeCsv(csv);
+        write(csv.toString());
+        System.err.println(schedule.getSimulationsRun() + " simulations, " + schedule.getSimulationsStoppedEarly() + " stopped early");
+    }
+
+    /**
+     * Runs the fleet simulation of the stores file and writes the results.
+     *
+     * @throws IOException          If the stores file cannot be read or the results cannot be written.
+     * @throws InterruptedException If the thread is interrupted while waiting for the shards.
+     */
+    private void runFleet() throws IOException, InterruptedException {
+        FleetSimulation fleet = new FleetSimulation(StoreConfig.load(Paths.get(storesFile)), days);
+        fleet.setSimulationFactory(this::createSimulation);
+        FleetResults results = fleet.run(seed);
+
+        if (format.equals("json")) {
+            write(toJson(results));
+        } else {
+            StringWriter csv = new StringWriter();
+            results.writeCsv(csv);
+            write(csv.toString());
+        }
+    }
+
+    /**
+     * Writes the given text to the output file, or to standard output if no file was given.
+     *
+     * @param text The text to write.
+     * @throws IOException If the text cannot be written.
+     */
+    private void write(String text) throws IOException {
+        if (output == null) {
+            System.out.print(text);
+            System.out.flush();
+        } else {
+            try (Writer writer = new OutputStreamWriter(new FileOutputStream(output), StandardCharsets.UTF_8)) {
+                writer.write(text);
+            }
+        }
+    }
+
+    /**
+     * Creates the simulation of one replication with the options from the command line.
+     *
+     * @return A new simulation.
+     */
+    private SimulationLogic createSimulation() {
+        SimulationLogic simulation = ReplicationRunner.createDefaultSimulation();
+        simulation.setEngineMode(engineMode);
+        simulation.setSimulationDuration(horizon);
+        simulation.setLaneSpeeds(laneSpeeds);
+        simulation.setServiceTimeModel(serviceTimeModel);
+        return simulation;
+    }
+
+    /**
+     * Formats the given results as a JSON document.
+     *
+     * @param results The results to format.
+     * @return The JSON document, ending with a newline.
+     */
+    static String toJson(ReplicationResults results) {
+        SimulationParameters parameters = results.getParameters();
+        StringBuilder json = new StringBuilder("{\n");
+        json.append("  \"lines\": ").append(parameters.getNumberOfLines()).append(",\n");
+        json.append("  \"arrivalFrequency\": ").append(parameters.getCustomerArrivalFrequency()).append(",\n");
+        json.append("  \"mix\": [").append(parameters.getEasyCustomerPercentage()).append(", ")
+                .append(parameters.getMediumCustomerPercentage()).append(", ")
+                .append(parameters.getDifficultCustomerPercentage()).append("],\n");
+        json.append("  \"replications\": ").append(results.getReplications()).append(",\n");
+        json.append("  \"averageWait\": ").append(toJson(results.getAverageWaitingTime())).append(",\n");
+        json.append("  \"averageIdle\": ").append(toJson(results.getAverageIdleTime())).append(",\n");
+        json.append("  \"perLine\": [");
+        for (int i = 0; i < parameters.getNumberOfLines(); i++) {
+            json.append(i == 0 ? "\n" : ",\n");
+            json.append("    {\"line\": ").append(i + 1)
+                    .append(", \"averageWait\": ").append(toJson(results.getAverageWaitingTime(i)))
+                    .append(", \"idle\": ").append(toJson(results.getIdleTime(i))).append("}");
+        }
+        json.append("\n  ]\n}\n");
+        return json.toString();
+    }
+
+    /**
+     * Formats the given fleet results as a JSON document.
+     *
+     * @param results The results to format.
+     * @return The JSON document, ending with a newline.
+     */
+    static String toJson(FleetResults results) {
+        StringBuilder json = new StringBuilder("{\n");
+        json.append("  \"days\": ").append(results.getDays()).append(",\n");
+        json.append("  \"fleet\": ").append(toJson(results.getFleet())).append(",\n");
+        json.append("  \"stores\": [");
+        List<StoreResults> stores = results.getStores();
+        for (int i = 0; i < stores.size(); i++) {
+            json.append(i == 0 ? "\n" : ",\n");
+            json.append("    ").append(toJson(stores.get(i)));
+        }
+        json.append("\n  ]\n}\n");
+        return json.toString();
+    }
+
+    /**
+     * Formats the results of one store, or of the whole fleet, as a JSON object.
+     *
+     * @param results The results to format.
+     * @return The JSON object.
+     */
+    private static String toJson(StoreResults results) {
+        StringBuilder json = new StringBuilder("{");
+        if (results.getStore() != null) {
+            json.append("\"store\": \"").append(escapeJson(results.getStore().getName())).append("\", ");
+        }
+        json.append("\"customers\": ").append(results.getWaitingTime().getCount())
+                .append(", \"wait\": ").append(toJson(results.getWaitingTime()))
+                .append(", \"dailyAverageWait\": ").append(toJson(results.getDailyAverageWaitingTime()))
+                .append(", \"dailyIdle\": ").append(toJson(results.getDailyIdleTime()))
+                .append("}");
+        return json.toString();
+    }
+
+    /**
+     * Escapes quotes and backslashes in a JSON string value.
+     *
+     * @param text The text to escape.
+     * @return The escaped text.
+     */
+    private static String escapeJson(String text) {
+        return text.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    /**
+     * Formats the given statistics as a JSON object.
+     *
+     * @param statistics The statistics to format.
+     * @return The JSON object.
+     */
+    private static String toJson(RunningStatistics statistics) {
+        double halfWidth = statistics.getConfidenceHalfWidth();
+        return String.format(Locale.ROOT, "{\"mean\": %.3f, \"stdDev\": %.3f, \"ci95\": %s}",
+                statistics.getMean(), statistics.getStandardDeviation(),
+                Double.isInfinite(halfWidth) ? "null" : String.format(Locale.ROOT, "%.3f", halfWidth));
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.program8;
+
+/**
+ * This class represents a scheduled event in the event-driven checkout simulation.
+ * Events are ordered by time. When two events share the same second, arrivals are handled before
+ * the checkout events, and the checkout events are handled in line order. This mirrors the per-second
+ * tick loop, which routes every arrival first and then visits the lines one by one, so both engines
+ * record the same trace in the same order. The order is total, so a rebuilt event queue processes
+ * events in the same order.
+ */
+class SimulationEvent implements Comparable<SimulationEvent> {
+    private final int time;
+    private final Type type;
+    private final int lineIndex;
+
+    /**
+     * Constructs a new SimulationEvent.
+     *
+     * @param time      The simulated time of the event in seconds.
+     * @param type      The type of the event.
+     * @param lineIndex The index of the checkout line the event belongs to, or -1 for arrivals.
+     */
+    SimulationEvent(int time, Type type, int lineIndex) {
+        this.time = time;
+        this.type = type;
+        this.lineIndex = lineIndex;
+    }
+
+    /**
+     * Returns the simulated time of the event.
+     *
+     * @return The simulated time of the event in seconds.
+     */
+    int getTime() {
+        return time;
+    }
+
+    /**
+     * Returns the type of the event.
+     *
+     * @return The type of the event.
+     */
+    Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the index of the checkout line the event belongs to.
+     *
+     * @return The index of the checkout line, or -1 for arrivals.
+     */
+    int getLineIndex() {
+        return lineIndex;
+    }
+
+    /**
+     * Compares this event to another event by time, then arrivals first, then by line, then by type.
+     *
+     * @param other The event to compare to.
+     * @return A negative number, zero, or a positive number if this event happens before, together with, or after the other event.
+     */
+    @Override
+    public int compareTo(SimulationEvent other) {
+        if (time != other.time) {
+            return Integer.compare(time, other.time);
+        }
+        // Arrivals have line -1, so they come before the checkout events of the same second
+        if (lineIndex != other.lineIndex) {
+            return Integer.compare(lineIndex, other.lineIndex);
+        }
+        return type.compareTo(other.type);
+    }
+
+    /**
+     * This enum represents the type of simulation event.
+     * The declaration order is the processing order for events of the same line at the same time.
+     */
+    enum Type {
+        ARRIVAL, CHECKOUT_START, CHECKOUT_COMPLETE
+    }
+}
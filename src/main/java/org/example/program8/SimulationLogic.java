@@ -48,76 +48,219 @@ package org.example.program8;
  */
 
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.PriorityQueue;
+import java.util.concurrent.CancellationException;
 
 /**
  * This class represents the logic for a retail store checkout simulation.
  * The simulation measures the working time for a retail store checkout area.
  * It assumes customers complete their shopping and then seek a checkout line to pay.
- * The store has up to three checkout lines, and the simulation can be set to run with one, two, or three open.
+ * The store can have any number of open checkout lines, and each line can work at its own speed.
  * The settings for customer arrivals at the checkout area range from a very slow probability of 1 in 360 seconds
  * to an extremely busy 1 every 10 seconds.
- * The simulation is executed for an entire 12-hour work day: 43200 seconds.
+ * By default, the simulation is executed for an entire 12-hour work day: 43200 seconds.
  * If the number of queues exceeds one, a prudent customer will always select the shortest one to enter.
  * The simulation output includes the average customer wait time
  * and the idle time for workers
  */
 public class SimulationLogic {
     /**
-     * Checkout time in seconds for easy customers.
+     * Longest checkout time in seconds a service time model can produce, so a draw from a long tail cannot overflow the clock.
      */
-    private static final int EASY_CHECKOUT_TIME = 60;
+    private static final int MAXIMUM_CHECKOUT_TIME = 86400;
+
     /**
-     * Checkout time in seconds for medium customers.
+     * Mixed into the state of the main random number generator to seed the generators of the lines.
      */
-    private static final int MEDIUM_CHECKOUT_TIME = 120;
+    private static final long LANE_SEED_MASK = 0x5851f42d4c957f2dL;
     /**
-     * Checkout time in seconds for difficult customers.
+     * Default duration of the simulation in seconds. Represents a 12-hour work day.
      */
-    private static final int DIFFICULT_CHECKOUT_TIME = 360;
+    private static final int DEFAULT_SIMULATION_DURATION = 43200;
+
     /**
-     * Duration of the simulation in seconds. Represents a 12-hour work day.
+     * Duration of the simulation in seconds. Customers arrive until this time, then the lines are drained.
      */
-    private static final double SIMULATION_DURATION = 43200.0;
+    private int simulationDuration = DEFAULT_SIMULATION_DURATION;
 
     /**
-     * List of customers in the simulation.
+     * Whether every customer is kept until the end of the simulation or dropped once it has been checked out.
      */
-    List<Customer> customers;
+    private StatisticsMode statisticsMode = StatisticsMode.RETAINED;
 
     /**
-     * List of checkout lines in the simulation.
+     * Speed multiplier of each checkout line, or null if every line works at normal speed.
      */
-    List<CustomerQueue<Customer>> checkoutLines;
+    private double[] laneSpeeds;
 
+    /**
+     * Draws the checkout time of every customer.
+     */
+    private ServiceTimeModel serviceTimeModel = FixedServiceTimeModel.DEFAULT;
 
-    // Customer Variables
     /**
-     * Maximum number of customers that can be created in the simulation.
+     * Checkout time in seconds per line and checkout difficulty, adjusted for the speed of each line,
+     * or null if the service time model draws the times.
      */
-    int maximumCustomers;
+    private int[][] checkoutTimes;
 
     /**
-     * Total number of customers created in the simulation.
+     * Random number generator of every line for drawing checkout times, or null if the times are fixed.
+     * Each line has its own, so both engines draw the same times even though they start checkouts in a different order.
      */
-    int totalCustomersCreated = 0;
+    private SplitMixRandom[] laneRandoms;
+
+    /**
+     * Time the checkout at every line completes, or 0 if no checkout is in progress at the line.
+     */
+    private int[] checkoutEndTimes;
+
+    /**
+     * Random number generator used to choose checkout difficulties.
+     */
+    private SplitMixRandom random = new SplitMixRandom();
+
+    /**
+     * Listener notified as the simulation clock advances, or null.
+     */
+    private ProgressListener progressListener;
+
+    /**
+     * Receives a record for every customer event, or null if the simulation is not traced.
+     */
+    private TraceSink traceSink;
+
+    /**
+     * Whether the running simulation has been asked to stop.
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * Simulated time at which progress is next reported.
+     */
+    private int nextProgressTime;
+
+    /**
+     * How checkout difficulties are drawn for arriving customers.
+     */
+    private DifficultySampling difficultySampling = DifficultySampling.EXACT;
+
+    /**
+     * Source of checkout difficulties for the current simulation.
+     */
+    private DifficultySampler difficultySampler;
+
+    /**
+     * Smallest number of simulated seconds between two progress updates and cancellation checks.
+     */
+    private static final int PROGRESS_INTERVAL = 60;
+
+    /**
+     * Magic number at the start of every checkpoint file, "CKCP" in ASCII.
+     */
+    private static final int CHECKPOINT_MAGIC = 0x434B4350;
+
+    /**
+     * Version of the checkpoint file format.
+     */
+    private static final short CHECKPOINT_VERSION = 3;
+
+    /**
+     * File the checkpoints are written to, or null if no checkpoints are written.
+     */
+    private Path checkpointFile;
+
+    /**
+     * Simulated seconds between two checkpoints.
+     */
+    private int checkpointInterval;
+
+    /**
+     * Simulated time at which the next checkpoint is written.
+     */
+    private int nextCheckpointTime;
 
     /**
-     * Count of easy customers created in the simulation.
+     * Listener receiving snapshots of the live results, or null.
      */
-    int easyCustomersCount = 0;
+    private SnapshotListener snapshotListener;
 
     /**
-     * Count of medium customers created in the simulation.
+     * Simulated seconds between two snapshots.
      */
-    int mediumCustomersCount = 0;
+    private int snapshotInterval;
 
     /**
-     * Count of difficult customers created in the simulation.
+     * Simulated time at which the next snapshot is taken.
      */
-    int difficultCustomersCount = 0;
+    private int nextSnapshotTime;
+
+    /**
+     * Recorder of the length of every line over the day, or null.
+     */
+    private QueueLengthRecorder queueLengthRecorder;
+
+    /**
+     * Source of the customer arrivals of the next simulation, or null for the fixed arrival interval.
+     */
+    private ArrivalSource arrivalSource;
+
+    /**
+     * Metrics published through JMX, or null.
+     */
+    private SimulationMetrics metrics;
+
+    /**
+     * Number of ticks or events processed in the current run.
+     */
+    private long eventsProcessed;
+
+    /**
+     * The parameters of the prepared simulation.
+     */
+    private SimulationParameters parameters;
+
+    /**
+     * The engine used to advance the simulation clock.
+     */
+    private EngineMode engineMode = EngineMode.TICK;
+
+    /**
+     * The queue implementation used for the checkout lines.
+     */
+    private final QueueType queueType;
+
+    /**
+     * How customer data is stored during the simulation.
+     */
+    private CustomerStorage customerStorage = CustomerStorage.OBJECTS;
+
+    /**
+     * The checkout lines in the simulation, together with the customers in them.
+     */
+    CheckoutLanes checkoutLanes;
+
+
+    // Customer Variables
+    /**
+     * Maximum number of customers that can be created in the simulation.
+     */
+    int maximumCustomers;
+
+    /**
+     * Total number of customers created in the simulation.
+     */
+    int totalCustomersCreated = 0;
 
     /**
      * Total number of customers checked out in the simulation.
@@ -133,211 +276,930 @@ public class SimulationLogic {
     /**
      * Total waiting time for all customers in the simulation.
      */
-    int totalCustomerWaitingTime = 0;
+    long totalCustomerWaitingTime = 0;
 
     /**
      * Array storing the total waiting time for customers per line in the simulation.
      */
-    int[] totalCustomerWaitingTimePerLine;
+    long[] totalCustomerWaitingTimePerLine;
+
+    /**
+     * Total checkout time for all customers in the simulation.
+     */
+    long totalCustomerCheckoutTime = 0;
+
+    /**
+     * Array storing the total checkout time for customers per line in the simulation.
+     */
+    long[] totalCustomerCheckoutTimePerLine;
+
+    /**
+     * Array storing the number of customers created per checkout difficulty, indexed by ordinal.
+     */
+    int[] totalCustomersCreatedPerDifficulty;
+
+    /**
+     * Running statistics of the waiting time of all checked out customers.
+     */
+    RunningStatistics waitingTimeStatistics;
+
+    /**
+     * Array storing the running statistics of the waiting time per line.
+     */
+    RunningStatistics[] waitingTimeStatisticsPerLine;
+
+    /**
+     * Running statistics of the checkout duration of all checked out customers.
+     */
+    RunningStatistics checkoutTimeStatistics;
+
+    /**
+     * Array storing the running statistics of the checkout duration per line.
+     */
+    RunningStatistics[] checkoutTimeStatisticsPerLine;
+
+    /**
+     * Total idle time for all workers in the simulation.
+     */
+    int totalWorkerIdleTime = 0;
+    /**
+     * Array storing the total idle time for workers per line in the simulation.
+     */
+    int[] totalWorkerIdleTimePerLine;
+
+    /**
+     * Number of arrivals that have checked the lines for idle workers.
+     */
+    private int idleCheckCount;
+
+    /**
+     * Number of checkout lines that are currently empty.
+     */
+    private int emptyLineCount;
+
+    /**
+     * The idle check count at the moment each line last became empty.
+     * The idle time of an empty line is only added to its total when the line gets busy again,
+     * so an arrival does not have to visit every line.
+     */
+    private int[] emptySinceIdleCheck;
+
+    /**
+     * Constructs a new SimulationLogic that uses linked checkout lines.
+     */
+    public SimulationLogic() {
+        this(QueueType.LINKED);
+    }
+
+    /**
+     * Constructs a new SimulationLogic that uses the given queue implementation for its checkout lines.
+     *
+     * @param queueType The queue implementation to use.
+     */
+    public SimulationLogic(QueueType queueType) {
+        this.queueType = queueType;
+    }
+
+    /**
+     * Resets the simulation by setting the relevant counters to zero.
+     */
+    private void resetSimulation() {
+        // Reset the customer variables
+        totalCustomersCheckedOutPerLine = null;
+        totalCustomerWaitingTime = 0;
+        totalCustomersCheckedOut = 0;
+        totalCustomerCheckoutTime = 0;
+        totalCustomersCreated = 0;
+        totalWorkerIdleTime = 0;
+
+        // Reset the checkout line variables
+        checkoutLanes = null;
+    }
+
+    /**
+     * Starts the simulation with the given parameters.
+     *
+     * @param numberOfLines               The number of checkout lines to simulate.
+     * @param customerArrivalFrequency    The frequency of customer arrivals.
+     * @param easyCustomerPercentage      The percentage of customers that are easy to check out.
+     * @param mediumCustomerPercentage    The percentage of customers that are medium to check out.
+     * @param difficultCustomerPercentage The percentage of customers that are difficult to check out.
+     */
+    public void startSimulation(int numberOfLines, int customerArrivalFrequency, int easyCustomerPercentage, int mediumCustomerPercentage, int difficultCustomerPercentage) {
+        // Retained customers are not saved in checkpoints, so a resumed run could not report them
+        if (checkpointFile != null && statisticsMode == StatisticsMode.RETAINED) {
+            throw new IllegalStateException("Checkpoints need the STREAMING statistics mode.");
+        }
+        // The position in an arrival source is not saved in checkpoints either
+        if (checkpointFile != null && arrivalSource != null) {
+            throw new IllegalStateException("Checkpoints need the fixed arrival interval.");
+        }
+        // The service time model is saved by its description
+        if (checkpointFile != null && serviceTimeModel.describe() == null) {
+            throw new IllegalStateException("Checkpoints need a service time model that can be described.");
+        }
+
+        // Set up the counters, the difficulty sampler and the empty checkout lines
+        prepareSimulation(numberOfLines, customerArrivalFrequency, easyCustomerPercentage, mediumCustomerPercentage, difficultCustomerPercentage);
+
+        // Run from the first second of the day
+        runEngine(customerArrivalFrequency, 1);
+    }
+
+    /**
+     * Resumes the simulation saved in the given checkpoint and runs it to the end.
+     * The settings, including the service time model, the random number generators and every counter are restored from the checkpoint,
+     * so the results are identical to those of a run that was never interrupted.
+     * Checkpoints keep being written if a checkpoint file is set.
+     *
+     * @param checkpoint The checkpoint file to resume from.
+     * @throws IOException If the checkpoint cannot be read or is not a checkpoint file.
+     */
+    public void resumeSimulation(Path checkpoint) throws IOException {
+        int resumeTime;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(checkpoint)))) {
+            resumeTime = readCheckpoint(in);
+        }
+        runEngine(parameters.getCustomerArrivalFrequency(), resumeTime);
+    }
+
+    /**
+     * Runs the selected engine from the given time until every customer has been checked out.
+     *
+     * @param customerArrivalFrequency The frequency of customer arrivals, used if no arrival source is set.
+     * @param startTime                The first simulated second to process.
+     */
+    private void runEngine(int customerArrivalFrequency, int startTime) {
+        // Plan the first checkpoint after the start time
+        if (checkpointFile != null) {
+            nextCheckpointTime = (startTime / checkpointInterval + 1) * checkpointInterval;
+        }
+        // Take the first snapshot right away
+        nextSnapshotTime = startTime;
+        // Start recording with the lengths the lines have now, which are only non-zero when resuming
+        if (queueLengthRecorder != null) {
+            queueLengthRecorder.start(checkoutLanes.getLineCount(), startTime);
+            for (int i = 0; i < checkoutLanes.getLineCount(); i++) {
+                queueLengthRecorder.lengthChanged(i, startTime, checkoutLanes.size(i));
+            }
+        }
+
+        eventsProcessed = 0;
+        if (metrics != null) {
+            metrics.runStarted(simulationDuration, startTime);
+        }
+
+        ArrivalSource arrivals = arrivalSource != null ? arrivalSource : new FixedIntervalArrivals(customerArrivalFrequency, startTime, simulationDuration);
+        try {
+            // Run the selected engine
+            if (engineMode == EngineMode.EVENT) {
+                runEventEngine(arrivals, startTime);
+            } else {
+                runTickEngine(arrivals, startTime);
+            }
+
+            // Add the idle time of the lines that are empty at the end
+            settleIdleTime();
+            if (queueLengthRecorder != null) {
+                queueLengthRecorder.finish(simulationDuration);
+            }
+            if (metrics != null) {
+                publishMetrics(Math.max(simulationDuration, metrics.getSimulatedTime()));
+            }
+        } finally {
+            // Also mark a cancelled or failed run as finished
+            if (metrics != null) {
+                metrics.runFinished();
+            }
+        }
+    }
+
+    /**
+     * Prepares a simulation with the given parameters without running it.
+     * After this call the checkout lines are empty and no customer has arrived yet.
+     *
+     * @param numberOfLines               The number of checkout lines to simulate.
+     * @param customerArrivalFrequency    The frequency of customer arrivals.
+     * @param easyCustomerPercentage      The percentage of customers that are easy to check out.
+     * @param mediumCustomerPercentage    The percentage of customers that are medium to check out.
+     * @param difficultCustomerPercentage The percentage of customers that are difficult to check out.
+     */
+    void prepareSimulation(int numberOfLines, int customerArrivalFrequency, int easyCustomerPercentage, int mediumCustomerPercentage, int difficultCustomerPercentage) {
+        // Check the parameters before changing any state
+        validateParameters(numberOfLines, customerArrivalFrequency, easyCustomerPercentage, mediumCustomerPercentage, difficultCustomerPercentage);
+        parameters = new SimulationParameters(numberOfLines, customerArrivalFrequency, easyCustomerPercentage, mediumCustomerPercentage, difficultCustomerPercentage);
+
+        // Clear a cancellation left over from a previous run
+        cancelled = false;
+        nextProgressTime = 0;
+
+        // Initialize the array for the idle time of workers per line
+        totalWorkerIdleTimePerLine = new int[numberOfLines];
+        emptySinceIdleCheck = new int[numberOfLines];
+        emptyLineCount = numberOfLines;
+        idleCheckCount = 0;
+
+        // Initialize the array for the waiting time of customers per line
+        totalCustomerWaitingTimePerLine = new long[numberOfLines];
+
+        // Initialize the array for the total checkout time of customers per line
+        totalCustomerCheckoutTimePerLine = new long[numberOfLines];
+
+        // Initialize the running statistics for the waiting and checkout time per line
+        waitingTimeStatistics = new RunningStatistics();
+        checkoutTimeStatistics = new RunningStatistics();
+        waitingTimeStatisticsPerLine = new RunningStatistics[numberOfLines];
+        checkoutTimeStatisticsPerLine = new RunningStatistics[numberOfLines];
+        for (int i = 0; i < numberOfLines; i++) {
+            waitingTimeStatisticsPerLine[i] = new RunningStatistics();
+            checkoutTimeStatisticsPerLine[i] = new RunningStatistics();
+        }
+        totalCustomersCreatedPerDifficulty = new int[Customer.Difficulty.values().length];
+
+        checkoutEndTimes = new int[numberOfLines];
+        if (serviceTimeModel instanceof FixedServiceTimeModel) {
+            // Work out the checkout time of each difficulty at each line once, so the engines only look it up
+            FixedServiceTimeModel fixedTimes = (FixedServiceTimeModel) serviceTimeModel;
+            checkoutTimes = new int[numberOfLines][Customer.Difficulty.values().length];
+            for (int i = 0; i < numberOfLines; i++) {
+                for (Customer.Difficulty difficulty : Customer.Difficulty.values()) {
+                    checkoutTimes[i][difficulty.ordinal()] = toLaneCheckoutTime(i, fixedTimes.getCheckoutTime(difficulty));
+                }
+            }
+            laneRandoms = null;
+        } else {
+            // Seed the generator of every line from the main one without drawing from it,
+            // so the checkout difficulties are the same as with fixed times
+            checkoutTimes = null;
+            SplitMixRandom laneSeeds = new SplitMixRandom(random.getState() ^ LANE_SEED_MASK);
+            laneRandoms = new SplitMixRandom[numberOfLines];
+            for (int i = 0; i < numberOfLines; i++) {
+                laneRandoms[i] = new SplitMixRandom(laneSeeds.nextLong());
+            }
+        }
+
+        // To assign difficulty correctly, we need to calculate the maximum number of customers
+        maximumCustomers = (int) Math.ceil((double) simulationDuration / customerArrivalFrequency);
+
+        // Create the source of checkout difficulties for the customer mix
+        int[] percentages = {easyCustomerPercentage, mediumCustomerPercentage, difficultCustomerPercentage};
+        // The number of customers from an arrival source is not known up front, so their difficulties are drawn independently
+        if (difficultySampling == DifficultySampling.PROBABILISTIC || arrivalSource != null) {
+            difficultySampler = new AliasSampler(percentages, random);
+        } else {
+            difficultySampler = new ExactMixSampler(maximumCustomers, percentages, random);
+        }
+
+        // Reset the simulation
+        resetSimulation();
+
+        // Create the checkout lines
+        checkoutLanes = createCheckoutLanes(numberOfLines);
+        // Initialize the array for the total number of customers checked out per line
+        totalCustomersCheckedOutPerLine = new int[numberOfLines];
+    }
+
+    /**
+     * Starts the simulation with the given parameters.
+     *
+     * @param parameters The parameters of the simulation.
+     */
+    public void startSimulation(SimulationParameters parameters) {
+        startSimulation(parameters.getNumberOfLines(), parameters.getCustomerArrivalFrequency(),
+                parameters.getEasyCustomerPercentage(), parameters.getMediumCustomerPercentage(),
+                parameters.getDifficultCustomerPercentage());
+    }
+
+    /**
+     * Checks that the given parameters describe a simulation that can run.
+     *
+     * @param numberOfLines               The number of checkout lines to simulate.
+     * @param customerArrivalFrequency    The frequency of customer arrivals.
+     * @param easyCustomerPercentage      The percentage of customers that are easy to check out.
+     * @param mediumCustomerPercentage    The percentage of customers that are medium to check out.
+     * @param difficultCustomerPercentage The percentage of customers that are difficult to check out.
+     */
+    private void validateParameters(int numberOfLines, int customerArrivalFrequency, int easyCustomerPercentage, int mediumCustomerPercentage, int difficultCustomerPercentage) {
+        if (numberOfLines <= 0) {
+            throw new IllegalArgumentException("Number of lines must be positive.");
+        }
+        if (customerArrivalFrequency <= 0) {
+            throw new IllegalArgumentException("Customer arrival frequency must be positive.");
+        }
+        if (easyCustomerPercentage < 0 || mediumCustomerPercentage < 0 || difficultCustomerPercentage < 0) {
+            throw new IllegalArgumentException("Customer percentages must not be negative.");
+        }
+        if (easyCustomerPercentage + mediumCustomerPercentage + difficultCustomerPercentage == 0) {
+            throw new IllegalArgumentException("At least one customer percentage must be positive.");
+        }
+        if (laneSpeeds != null && laneSpeeds.length > numberOfLines) {
+            throw new IllegalArgumentException("More lane speeds than checkout lines.");
+        }
+    }
+
+    /**
+     * Seeds the random number generator, so that the next simulation can be repeated exactly.
+     * A seeded simulation gives bit-for-bit the same results every time it is run with the same settings.
+     *
+     * @param seed The seed.
+     */
+    public void setSeed(long seed) {
+        random = new SplitMixRandom(seed);
+    }
+
+    /**
+     * Sets the listener notified as the simulation clock advances.
+     *
+     * @param progressListener The listener, or null to remove it.
+     */
+    public void setProgressListener(ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Sets the sink that receives a record for every arrival, checkout start and checkout completion.
+     * A trace holds the customers of one simulation, so a new sink should be set before every run.
+     *
+     * @param traceSink The trace sink, or null to stop tracing.
+     */
+    public void setTraceSink(TraceSink traceSink) {
+        this.traceSink = traceSink;
+    }
+
+    /**
+     * Sets the file the state of the simulation is saved to while it runs.
+     * A checkpoint is written at the first tick or event at or after every multiple of the interval.
+     * Each checkpoint replaces the previous one in a single move, so the file always holds a complete checkpoint.
+     * Checkpoints need the STREAMING statistics mode.
+     *
+     * @param checkpointFile     The checkpoint file, or null to stop writing checkpoints.
+     * @param checkpointInterval The number of simulated seconds between two checkpoints.
+     */
+    public void setCheckpointFile(Path checkpointFile, int checkpointInterval) {
+        if (checkpointFile != null && checkpointInterval <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive.");
+        }
+        this.checkpointFile = checkpointFile;
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    /**
+     * Sets the listener that receives snapshots of the live results while the simulation runs.
+     * A snapshot is taken at the first tick or event at least the given number of simulated seconds after the last one.
+     *
+     * @param snapshotListener The listener, or null to stop taking snapshots.
+     * @param snapshotInterval The number of simulated seconds between two snapshots.
+     */
+    public void setSnapshotListener(SnapshotListener snapshotListener, int snapshotInterval) {
+        if (snapshotListener != null && snapshotInterval <= 0) {
+            throw new IllegalArgumentException("Snapshot interval must be positive.");
+        }
+        this.snapshotListener = snapshotListener;
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    /**
+     * Sets the recorder that keeps the length of every line over the day.
+     * The recorder is cleared at the start of every simulation.
+     *
+     * @param queueLengthRecorder The recorder, or null to stop recording.
+     */
+    public void setQueueLengthRecorder(QueueLengthRecorder queueLengthRecorder) {
+        this.queueLengthRecorder = queueLengthRecorder;
+    }
+
+    /**
+     * Returns the recorder that keeps the length of every line over the day.
+     *
+     * @return The recorder, or null if no recorder is set.
+     */
+    public QueueLengthRecorder getQueueLengthRecorder() {
+        return queueLengthRecorder;
+    }
+
+    /**
+     * Returns the model that draws the checkout time of every customer.
+     *
+     * @return The service time model.
+     */
+    public ServiceTimeModel getServiceTimeModel() {
+        return serviceTimeModel;
+    }
+
+    /**
+     * Sets the model that draws the checkout time of every customer, in place of the fixed times per difficulty.
+     * The time is drawn once when the checkout starts and divided by the speed of the line.
+     * The model is saved in checkpoints by its description and restored on resume, so checkpoints need a model that can be described.
+     *
+     * @param serviceTimeModel The service time model, or null for the fixed default times.
+     */
+    public void setServiceTimeModel(ServiceTimeModel serviceTimeModel) {
+        this.serviceTimeModel = serviceTimeModel != null ? serviceTimeModel : FixedServiceTimeModel.DEFAULT;
+    }
+
+    /**
+     * Sets the source of the customer arrivals, in place of one arrival every arrival frequency.
+     * Arrivals after the simulation duration are ignored, and arrivals without a difficulty get one
+     * drawn independently from the customer mix, because the number of arrivals is not known up front.
+     * A source is read once, so set a new one before every simulation.
+     *
+     * @param arrivalSource The arrival source, or null to use the fixed arrival interval.
+     */
+    public void setArrivalSource(ArrivalSource arrivalSource) {
+        this.arrivalSource = arrivalSource;
+    }
+
+    /**
+     * Sets the metrics the simulation publishes its progress to, for example to watch it through JMX.
+     * The metrics are updated at every progress update and at the end of every run.
+     *
+     * @param metrics The metrics, or null to stop publishing.
+     */
+    public void setMetrics(SimulationMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns the parameters of the last simulation.
+     *
+     * @return The simulation parameters, or null before the first simulation.
+     */
+    public SimulationParameters getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Asks the running simulation to stop. It can be called from any thread.
+     * The simulation stops at its next progress check by throwing a CancellationException from startSimulation.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Returns whether the simulation has been asked to stop.
+     *
+     * @return true if the simulation was cancelled, false otherwise.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Reports progress and stops the simulation if it was cancelled.
+     * This is cheap enough to call on every tick or event, since it only does work every PROGRESS_INTERVAL seconds
+     * or every thousandth of the simulation duration, whichever is longer.
+     *
+     * @param time The current time.
+     */
+    private void checkProgress(int time) {
+        eventsProcessed++;
+        // Save the state before anything at this time is processed
+        if (checkpointFile != null && time >= nextCheckpointTime) {
+            writeCheckpoint(time);
+            nextCheckpointTime = (time / checkpointInterval + 1) * checkpointInterval;
+        }
+        if (snapshotListener != null && time >= nextSnapshotTime) {
+            snapshotListener.snapshotTaken(takeSnapshot(time));
+            nextSnapshotTime = time + snapshotInterval;
+        }
+        if (time < nextProgressTime) {
+            return;
+        }
+        if (cancelled) {
+            throw new CancellationException("Simulation cancelled.");
+        }
+        if (progressListener != null) {
+            progressListener.progressChanged(time, simulationDuration);
+        }
+        if (metrics != null) {
+            publishMetrics(time);
+        }
+        nextProgressTime = time + Math.max(PROGRESS_INTERVAL, simulationDuration / 1000);
+    }
+
+    /**
+     * Returns how checkout difficulties are drawn for arriving customers.
+     *
+     * @return The difficulty sampling mode.
+     */
+    public DifficultySampling getDifficultySampling() {
+        return difficultySampling;
+    }
+
+    /**
+     * Sets how checkout difficulties are drawn for arriving customers.
+     *
+     * @param difficultySampling The difficulty sampling mode to use for the next simulation.
+     */
+    public void setDifficultySampling(DifficultySampling difficultySampling) {
+        this.difficultySampling = difficultySampling;
+    }
+
+    /**
+     * Returns the engine used to advance the simulation clock.
+     *
+     * @return The engine mode.
+     */
+    public EngineMode getEngineMode() {
+        return engineMode;
+    }
+
+    /**
+     * Sets the engine used to advance the simulation clock.
+     * Both engines produce the same results for the same inputs.
+     *
+     * @param engineMode The engine mode to use for the next simulation.
+     */
+    public void setEngineMode(EngineMode engineMode) {
+        this.engineMode = engineMode;
+    }
+
+    /**
+     * Returns the queue implementation used for the checkout lines.
+     *
+     * @return The queue type.
+     */
+    public QueueType getQueueType() {
+        return queueType;
+    }
+
+    /**
+     * Returns how customer data is stored during the simulation.
+     *
+     * @return The customer storage.
+     */
+    public CustomerStorage getCustomerStorage() {
+        return customerStorage;
+    }
+
+    /**
+     * Sets how customer data is stored during the simulation.
+     * COLUMNAR ignores the queue type, since its lines always hold customer IDs in a circular int array.
+     *
+     * @param customerStorage The customer storage to use for the next simulation.
+     */
+    public void setCustomerStorage(CustomerStorage customerStorage) {
+        this.customerStorage = customerStorage;
+    }
+
+    /**
+     * Returns the checkout lines of the prepared or finished simulation.
+     *
+     * @return The checkout lines, or null before the first simulation.
+     */
+    CheckoutLanes getCheckoutLanes() {
+        return checkoutLanes;
+    }
+
+    /**
+     * Creates the given number of empty checkout lines with the configured storage and queue type.
+     *
+     * @param numberOfLines The number of checkout lines.
+     * @return The new checkout lines.
+     */
+    private CheckoutLanes createCheckoutLanes(int numberOfLines) {
+        boolean retainCustomers = statisticsMode == StatisticsMode.RETAINED;
+        if (customerStorage == CustomerStorage.COLUMNAR) {
+            return new ColumnarCheckoutLanes(numberOfLines, retainCustomers);
+        }
+        return new QueueCheckoutLanes(numberOfLines, queueType, retainCustomers);
+    }
+
+    /**
+     * Returns the duration of the simulation.
+     *
+     * @return The duration of the simulation in seconds.
+     */
+    public int getSimulationDuration() {
+        return simulationDuration;
+    }
+
+    /**
+     * Sets the duration of the simulation. Customers arrive until this time, then the lines are drained.
+     *
+     * @param simulationDuration The duration of the simulation in seconds.
+     */
+    public void setSimulationDuration(int simulationDuration) {
+        if (simulationDuration <= 0) {
+            throw new IllegalArgumentException("Simulation duration must be positive.");
+        }
+        this.simulationDuration = simulationDuration;
+    }
+
+    /**
+     * Returns whether customers are kept until the end of the simulation.
+     *
+     * @return The statistics mode.
+     */
+    public StatisticsMode getStatisticsMode() {
+        return statisticsMode;
+    }
 
     /**
-     * Total checkout time for all customers in the simulation.
+     * Sets whether customers are kept until the end of the simulation.
+     * In STREAMING mode, checked out customers are only folded into the running statistics,
+     * so memory is bounded by the number of customers waiting in line.
+     *
+     * @param statisticsMode The statistics mode to use for the next simulation.
      */
-    int totalCustomerCheckoutTime = 0;
+    public void setStatisticsMode(StatisticsMode statisticsMode) {
+        this.statisticsMode = statisticsMode;
+    }
 
     /**
-     * Array storing the total checkout time for customers per line in the simulation.
+     * Sets the speed multiplier of each checkout line. A speed of 2 checks customers out in half the time,
+     * a speed of 0.5 takes twice as long. Lines without a speed work at normal speed.
+     *
+     * @param laneSpeeds The speed multiplier of each line, or null for normal speed at every line.
      */
-    int[] totalCustomerCheckoutTimePerLine;
+    public void setLaneSpeeds(double... laneSpeeds) {
+        if (laneSpeeds != null) {
+            for (double speed : laneSpeeds) {
+                if (!(speed > 0) || Double.isInfinite(speed)) {
+                    throw new IllegalArgumentException("Lane speeds must be positive.");
+                }
+            }
+            laneSpeeds = laneSpeeds.clone();
+        }
+        this.laneSpeeds = laneSpeeds;
+    }
 
     /**
-     * Total idle time for all workers in the simulation.
+     * Returns the speed multiplier of each checkout line, as set by setLaneSpeeds.
+     *
+     * @return A copy of the speed multipliers, or null for normal speed at every line.
      */
-    int totalWorkerIdleTime = 0;
+    double[] getLaneSpeeds() {
+        return laneSpeeds == null ? null : laneSpeeds.clone();
+    }
+
     /**
-     * Array storing the total idle time for workers per line in the simulation.
+     * Returns the speed multiplier of the given checkout line.
+     *
+     * @param lineIndex The index of the line.
+     * @return The speed multiplier, 1 for a line working at normal speed.
      */
-    int[] totalWorkerIdleTimePerLine;
-
+    public double getLaneSpeed(int lineIndex) {
+        if (laneSpeeds == null || lineIndex >= laneSpeeds.length) {
+            return 1;
+        }
+        return laneSpeeds[lineIndex];
+    }
 
     /**
-     * Resets the simulation by setting the relevant counters to zero.
+     * Runs the simulation by advancing the clock one second at a time.
+     *
+     * @param arrivals  The source of the customer arrivals.
+     * @param startTime The first simulated second to process.
      */
-    private void resetSimulation() {
-        // Reset the customer variables
-        totalCustomersCheckedOutPerLine = null;
-        totalCustomerWaitingTime = 0;
-        totalCustomersCheckedOut = 0;
-        totalCustomerCheckoutTime = 0;
+    private void runTickEngine(ArrivalSource arrivals, int startTime) {
+        boolean moreArrivals = arrivals.next();
+
+        // Loop through the simulation duration to create customers
+        int time = startTime;
+        for (; time <= simulationDuration; time++) {
+            // Report progress and stop the simulation if it was cancelled
+            checkProgress(time);
+
+            // Create every customer arriving by this second and assign it to a queue right away,
+            // so each customer is routed exactly once
+            while (moreArrivals && arrivals.getTime() <= time) {
+                routeArrivingCustomer(time, arrivals.getDifficulty());
+                moreArrivals = arrivals.next();
+            }
 
-        // Reset the checkout line variables
-        if (checkoutLines != null) {
-            checkoutLines.clear();
+            // Process the checkout lines
+            processCheckoutLines(time);
         }
 
-        // Reset the customer ID
-        Customer.resetId();
+        // Continue processing the checkout lines until all customers have been checked out
+        for (; totalCustomersCheckedOut < totalCustomersCreated; time++) {
+            // Report progress and stop the simulation if it was cancelled
+            checkProgress(time);
+            // Process the checkout lines
+            processCheckoutLines(time);
+        }
     }
 
     /**
-     * Starts the simulation with the given parameters.
+     * Runs the simulation by jumping the clock from one event to the next.
+     * Arrivals, checkout starts and checkout completions are kept in a time-ordered event queue, so the
+     * run time depends on the number of customers rather than the number of simulated seconds.
      *
-     * @param numberOfLines               The number of checkout lines to simulate.
-     * @param customerArrivalFrequency    The frequency of customer arrivals.
-     * @param easyCustomerPercentage      The percentage of customers that are easy to check out.
-     * @param mediumCustomerPercentage    The percentage of customers that are medium to check out.
-     * @param difficultCustomerPercentage The percentage of customers that are difficult to check out.
+     * @param arrivals  The source of the customer arrivals.
+     * @param startTime The first simulated second to process.
      */
-    public void startSimulation(int numberOfLines, int customerArrivalFrequency, int easyCustomerPercentage, int mediumCustomerPercentage, int difficultCustomerPercentage) {
-        // Initialize the array for the idle time of workers per line
-        totalWorkerIdleTimePerLine = new int[numberOfLines];
-
-        // Initialize the array for the waiting time of customers per line
-        totalCustomerWaitingTimePerLine = new int[numberOfLines];
+    private void runEventEngine(ArrivalSource arrivals, int startTime) {
+        PriorityQueue<SimulationEvent> events = new PriorityQueue<>();
+
+        // Schedule the first arrival; only one arrival is in the queue at a time, the one the source is at
+        scheduleNextArrival(events, arrivals, startTime);
+
+        // When resuming, the customer at the front of every busy line is already checking out,
+        // and the customer at the front of every other non-empty line starts right away
+        for (int i = 0; i < checkoutEndTimes.length; i++) {
+            if (checkoutEndTimes[i] != 0) {
+                events.add(new SimulationEvent(checkoutEndTimes[i], SimulationEvent.Type.CHECKOUT_COMPLETE, i));
+            } else if (!checkoutLanes.isEmpty(i)) {
+                events.add(new SimulationEvent(startTime, SimulationEvent.Type.CHECKOUT_START, i));
+            }
+        }
 
-        // Initialize the array for the total checkout time of customers per line
-        totalCustomerCheckoutTimePerLine = new int[numberOfLines];
+        // Process events in time order until every customer has been checked out
+        while (!events.isEmpty()) {
+            SimulationEvent event = events.poll();
+            int time = event.getTime();
+            // Report progress and stop the simulation if it was cancelled
+            checkProgress(time);
 
-        // To assign difficulty correctly, we need to calculate the maximum number of customers
-        maximumCustomers = (int) Math.ceil(SIMULATION_DURATION / customerArrivalFrequency);
+            if (event.getType() == SimulationEvent.Type.ARRIVAL) {
+                int lineIndex = routeArrivingCustomer(time, arrivals.getDifficulty());
 
-        // Calculate the number of customers for each difficulty
-        int easyCustomers = maximumCustomers * easyCustomerPercentage / 100;
-        int mediumCustomers = maximumCustomers * mediumCustomerPercentage / 100;
-        int difficultCustomers = maximumCustomers * difficultCustomerPercentage / 100;
+                // Start the checkout in the same second if the customer is alone in the line;
+                // the start is queued so that it is handled after the other arrivals of this second
+                if (checkoutLanes.size(lineIndex) == 1) {
+                    events.add(new SimulationEvent(time, SimulationEvent.Type.CHECKOUT_START, lineIndex));
+                }
 
-        easyCustomersCount = easyCustomers;
-        mediumCustomersCount = mediumCustomers;
-        difficultCustomersCount = difficultCustomers;
+                // Schedule the next arrival
+                scheduleNextArrival(events, arrivals, time);
+            } else if (event.getType() == SimulationEvent.Type.CHECKOUT_START) {
+                // Start the checkout of the customer at the front of the line
+                events.add(startCheckout(event.getLineIndex(), time));
+            } else {
+                int lineIndex = event.getLineIndex();
 
-        // Reset the simulation
-        resetSimulation();
+                // Check out the customer at the front of the line
+                dequeueCustomer(lineIndex, time);
 
-        // Create the checkout lines
-        checkoutLines = new ArrayList<>();
-        // Initialize the array for the total number of customers checked out per line
-        totalCustomersCheckedOutPerLine = new int[numberOfLines];
-        for (int i = 0; i < numberOfLines; i++) {
-            checkoutLines.add(new CustomerQueue<>());
-        }
-
-        // Create the customer array list
-        customers = new ArrayList<>();
-
-        // Loop through the simulation duration of 12 hours to create customers
-        for (int time = 1; time <= SIMULATION_DURATION; time++) {
-            // Create a new customer if the modulo of the time and the customer arrival frequency is zero
-            if (time % customerArrivalFrequency == 0) {
-                // Create a new customer
-                Customer customer = createCustomer();
-                // Add the customer to the list
-                customers.add(customer);
-                // Assign a checkout difficulty to each customer
-                assignCustomerCheckoutDifficulty(customer);
-                // Set the arrival time for the customer (Creation time)
-                customer.setArrivalTime(time);
-                // Increment the total number of customers created
-                totalCustomersCreated++;
+                // The next customer in line starts checking out on the following second
+                if (!checkoutLanes.isEmpty(lineIndex)) {
+                    events.add(new SimulationEvent(time + 1, SimulationEvent.Type.CHECKOUT_START, lineIndex));
+                }
             }
+        }
+    }
 
+    /**
+     * Moves the arrival source to its next arrival and schedules it, unless it comes after the simulation duration.
+     * An arrival before the given time is moved up to that time.
+     *
+     * @param events   The event queue.
+     * @param arrivals The source of the customer arrivals.
+     * @param time     The current time.
+     */
+    private void scheduleNextArrival(PriorityQueue<SimulationEvent> events, ArrivalSource arrivals, int time) {
+        if (arrivals.next() && arrivals.getTime() <= simulationDuration) {
+            events.add(new SimulationEvent(Math.max(arrivals.getTime(), time), SimulationEvent.Type.ARRIVAL, -1));
+        }
+    }
 
-            // Assign customers to queues at the time of their arrival
-            for (Customer customer : customers) {
-                if (customer.getArrivalTime() == time) {
-                    // Check if the checkout lines are empty
-                    checkEmptyCheckoutLines();
-                    // Assign the customer to the shortest queue
-                    assignToShortestQueue(customer, time);
-                    // Set the customer's enqueue time
-                    customer.setEnqueueTime(time);
-                }
-            }
+    /**
+     * Starts the checkout of the customer at the front of the given line and returns the matching completion event.
+     *
+     * @param lineIndex The index of the line.
+     * @param time      The time the checkout starts.
+     * @return The event that completes the checkout.
+     */
+    private SimulationEvent startCheckout(int lineIndex, int time) {
+        return new SimulationEvent(beginCheckout(lineIndex, time), SimulationEvent.Type.CHECKOUT_COMPLETE, lineIndex);
+    }
 
-            // Process the checkout lines
-            processCheckoutLines(time);
+    /**
+     * Creates a customer arriving at the given time and assigns it to the shortest queue.
+     *
+     * @param time       The arrival time.
+     * @param difficulty The checkout difficulty of the customer, or null to draw it from the customer mix.
+     * @return The index of the line the customer was assigned to.
+     */
+    private int routeArrivingCustomer(int time, Customer.Difficulty difficulty) {
+        // The ID of the customer is the number of customers created before it in this simulation
+        int customerId = totalCustomersCreated;
+        // Increment the total number of customers created
+        totalCustomersCreated++;
+        // Assign a checkout difficulty to the customer, unless the arrival brings its own
+        if (difficulty == null) {
+            difficulty = assignCustomerCheckoutDifficulty();
+        }
+        totalCustomersCreatedPerDifficulty[difficulty.ordinal()]++;
+        // Check if the checkout lines are empty
+        checkEmptyCheckoutLines();
+        // Assign the customer to the shortest queue
+        int lineIndex = assignToShortestQueue(customerId, difficulty, time);
+        if (queueLengthRecorder != null) {
+            queueLengthRecorder.lengthChanged(lineIndex, time, checkoutLanes.size(lineIndex));
         }
+        return lineIndex;
+    }
 
-        // Continue processing the checkout lines until all customers have been checked out
-        for (int time = (int) SIMULATION_DURATION + 1; totalCustomersCheckedOut < totalCustomersCreated; time++) {
-            // Process the checkout lines
-            processCheckoutLines(time);
+    /**
+     * Starts the checkout of the customer at the front of the given line and draws how long it takes.
+     *
+     * @param lineIndex The index of the line.
+     * @param time      The time the checkout starts.
+     * @return The time the checkout completes.
+     */
+    private int beginCheckout(int lineIndex, int time) {
+        checkoutLanes.startCheckout(lineIndex, time);
+        traceCheckout(TraceSink.EventType.CHECKOUT_START, lineIndex, time);
+
+        Customer.Difficulty difficulty = checkoutLanes.peekCheckoutDifficulty(lineIndex);
+        int checkoutTime;
+        if (checkoutTimes != null) {
+            checkoutTime = checkoutTimes[lineIndex][difficulty.ordinal()];
+        } else {
+            checkoutTime = toLaneCheckoutTime(lineIndex, serviceTimeModel.draw(difficulty, laneRandoms[lineIndex]));
         }
+        checkoutEndTimes[lineIndex] = time + checkoutTime;
+        return checkoutEndTimes[lineIndex];
     }
 
     /**
-     * Creates a new customer.
+     * Converts a checkout time at normal speed to whole seconds at the given line.
      *
-     * @return A new customer.
+     * @param lineIndex        The index of the line.
+     * @param baseCheckoutTime The checkout time at a line working at normal speed.
+     * @return The checkout time in seconds at the line, at least 1.
      */
-    public Customer createCustomer() {
-        // Create a new customer
-        return new Customer();
+    private int toLaneCheckoutTime(int lineIndex, double baseCheckoutTime) {
+        long checkoutTime = Math.round(baseCheckoutTime / getLaneSpeed(lineIndex));
+        return (int) Math.max(1, Math.min(checkoutTime, MAXIMUM_CHECKOUT_TIME));
     }
 
     /**
-     * Assigns a checkout difficulty to each customer in the given list.
+     * Chooses a checkout difficulty for a new customer.
      *
-     * @param customer                   The list of customers.
+     * @return The checkout difficulty of the customer.
      */
-    private void assignCustomerCheckoutDifficulty(Customer customer) {
-        Random random = new Random();
-            while (true) {
-                int randomValue = random.nextInt(3) + 1;
-                if (randomValue == 1 && easyCustomersCount > 0) {
-                    customer.setCheckoutDifficulty(Customer.Difficulty.EASY);
-                    easyCustomersCount--;
-                    break;
-                } else if (randomValue == 2 && mediumCustomersCount > 0) {
-                    customer.setCheckoutDifficulty(Customer.Difficulty.MEDIUM);
-                    mediumCustomersCount--;
-                    break;
-                } else if (randomValue == 3 && difficultCustomersCount > 0) {
-                    customer.setCheckoutDifficulty(Customer.Difficulty.DIFFICULT);
-                    difficultCustomersCount--;
-                    break;
-                }
-            }
+    private Customer.Difficulty assignCustomerCheckoutDifficulty() {
+        return difficultySampler.next();
     }
 
 
             /**
-             * Assigns the given customer to the shortest queue.
+             * Creates a customer with the given ID and difficulty and assigns it to the shortest queue.
              *
-             * @param customer    The customer to assign.
+             * @param customerId  The ID of the customer.
+             * @param difficulty  The checkout difficulty of the customer.
              * @param CurrentTime The current time.
+             * @return The index of the line the customer was assigned to.
              */
-    private void assignToShortestQueue(Customer customer, int CurrentTime) {
-        // Get the shortest queue
-        CustomerQueue<Customer> shortestQueue = checkoutLines.get(0);
-
-        // Loop through the checkout lines and find the shortest queue
-        for (CustomerQueue<Customer> queue : checkoutLines) {
-            // Check if the current queue is shorter than the shortest queue
-            if (queue.size() < shortestQueue.size()) {
-                // Set the current queue as the shortest queue
-                shortestQueue = queue;
-            }
+    int assignToShortestQueue(int customerId, Customer.Difficulty difficulty, int CurrentTime) {
+        // Get the shortest queue from the lines, which keep themselves ordered by length
+        int shortestLine = checkoutLanes.getShortestLine();
+
+        // The worker of an empty line stops being idle
+        if (checkoutLanes.isEmpty(shortestLine)) {
+            markLineBusy(shortestLine);
         }
 
         // Enqueue the customer to the shortest queue
-        shortestQueue.enqueue(customer, CurrentTime);
-        customer.setEnqueueTime(CurrentTime);
+        checkoutLanes.enqueue(shortestLine, customerId, difficulty, CurrentTime);
+        if (traceSink != null) {
+            traceSink.record(TraceSink.EventType.ARRIVAL, CurrentTime, customerId, shortestLine, difficulty);
+        }
+        return shortestLine;
     }
 
     /**
      * Checks if the checkout lines are empty and increments the idle time for the workers.
      */
     private void checkEmptyCheckoutLines() {
-        int i = 0;
+        // Every empty line is idle for 1 more second
+        idleCheckCount++;
+        totalWorkerIdleTime += emptyLineCount;
+    }
 
-        // Loop through the checkout lines
-        for (CustomerQueue<Customer> checkoutLine : checkoutLines) {
-            if (checkoutLine.isEmpty()) {
-                // Increment the idle time for the worker by 1 second
-                totalWorkerIdleTimePerLine[i]++;
-                totalWorkerIdleTime++;
+    /**
+     * Adds the idle time a line collected while it was empty, then marks the line as busy.
+     *
+     * @param lineIndex The index of the line that is about to receive a customer.
+     */
+    private void markLineBusy(int lineIndex) {
+        totalWorkerIdleTimePerLine[lineIndex] += idleCheckCount - emptySinceIdleCheck[lineIndex];
+        emptyLineCount--;
+    }
+
+    /**
+     * Marks a line as empty from the current idle check on.
+     *
+     * @param lineIndex The index of the line that just lost its last customer.
+     */
+    private void markLineEmpty(int lineIndex) {
+        emptySinceIdleCheck[lineIndex] = idleCheckCount;
+        emptyLineCount++;
+    }
+
+    /**
+     * Adds the idle time collected by the lines that are still empty, so the per-line totals are complete.
+     */
+    private void settleIdleTime() {
+        for (int i = 0; i < checkoutLanes.getLineCount(); i++) {
+            if (checkoutLanes.isEmpty(i)) {
+                totalWorkerIdleTimePerLine[i] += idleCheckCount - emptySinceIdleCheck[i];
+                emptySinceIdleCheck[i] = idleCheckCount;
             }
-            i++;
         }
     }
 
@@ -346,85 +1208,321 @@ public class SimulationLogic {
      *
      * @param time The current time.
      */
-    private void processCheckoutLines(int time) {
+    void processCheckoutLines(int time) {
         // Loop through the checkout lines
-        for (CustomerQueue<Customer> checkoutLine : checkoutLines) {
-            // Check if the checkout line is not empty
-            if (!checkoutLine.isEmpty()) {
-                // Peek at the customer at the front of the queue
-                Customer customer = checkoutLine.peek();
-
-                // Check if the customer is easy, medium, or difficult to check out
-                if (customer.getCheckoutDifficulty() == Customer.Difficulty.EASY) {
-                    // Set the checkout start time for the customer
-                    if (customer.getCheckoutStartTime() == 0) {
-                        customer.setCheckoutStartTime(time);
-                    }
-                    // Dequeue the customer if the checkout time has been reached for 60 seconds
-                    if (time >= customer.getCheckoutStartTime() + EASY_CHECKOUT_TIME) {
-                        dequeueCustomer(checkoutLine, checkoutLines.indexOf(checkoutLine), time);
-                        totalCustomerCheckoutTime += EASY_CHECKOUT_TIME;
-                    }
-                } else if (customer.getCheckoutDifficulty() == Customer.Difficulty.MEDIUM) {
-                    // Set the checkout start time for the customer
-                    if (customer.getCheckoutStartTime() == 0) {
-                        customer.setCheckoutStartTime(time);
-                    }
-                    // Dequeue the customer if the checkout time has been reached for 120 seconds
-                    if (time >= customer.getCheckoutStartTime() + MEDIUM_CHECKOUT_TIME) {
-                        dequeueCustomer(checkoutLine, checkoutLines.indexOf(checkoutLine), time);
-                        totalCustomerCheckoutTime += MEDIUM_CHECKOUT_TIME;
-                    }
-                } else if (customer.getCheckoutDifficulty() == Customer.Difficulty.DIFFICULT) {
-                    // Set the checkout start time for the customer
-                    if (customer.getCheckoutStartTime() == 0) {
-                        customer.setCheckoutStartTime(time);
-                    }
-                    // Dequeue the customer if the checkout time has been reached for 360 seconds
-                    if (time >= customer.getCheckoutStartTime() + DIFFICULT_CHECKOUT_TIME) {
-                        dequeueCustomer(checkoutLine, checkoutLines.indexOf(checkoutLine), time);
-                        totalCustomerCheckoutTime += DIFFICULT_CHECKOUT_TIME;
-                    }
+        for (int lineIndex = 0; lineIndex < checkoutEndTimes.length; lineIndex++) {
+            int endTime = checkoutEndTimes[lineIndex];
+
+            // Start the checkout of the customer at the front of a line without a checkout in progress
+            if (endTime == 0) {
+                if (checkoutLanes.isEmpty(lineIndex)) {
+                    continue;
                 }
+                endTime = beginCheckout(lineIndex, time);
+            }
+            // Dequeue the customer if the checkout time has been reached
+            if (time >= endTime) {
+                dequeueCustomer(lineIndex, time);
             }
         }
     }
 
     /**
-     * Dequeues a customer from the given queue.
+     * Dequeues the customer at the front of the given line.
      *
-     * @param queue       The queue to dequeue a customer from.
      * @param lineIndex   The index of the line.
      * @param currentTime The current time.
      */
-    private void dequeueCustomer(CustomerQueue<Customer> queue, int lineIndex, int currentTime) {
+    private void dequeueCustomer(int lineIndex, int currentTime) {
 
-        // Dequeue the customer
-        Customer customer = queue.dequeue(currentTime);
+        // Set the dequeue time and the checkout end time for the customer
+        checkoutLanes.finishCheckout(lineIndex, currentTime);
 
-        // Set the dequeue time for the customer
-        customer.setDequeueTime(currentTime);
+        int waitingTime = checkoutLanes.peekWaitingTime(lineIndex);
+        int checkoutDuration = checkoutLanes.peekCheckoutDuration(lineIndex);
+        traceCheckout(TraceSink.EventType.CHECKOUT_COMPLETE, lineIndex, currentTime);
+        checkoutEndTimes[lineIndex] = 0;
 
-        // Set the checkout end time for the customer
-        customer.setCheckoutEndTime(currentTime);
+        // Dequeue the customer
+        checkoutLanes.dequeue(lineIndex, currentTime);
+        if (checkoutLanes.isEmpty(lineIndex)) {
+            markLineEmpty(lineIndex);
+        }
+        if (queueLengthRecorder != null) {
+            queueLengthRecorder.lengthChanged(lineIndex, currentTime, checkoutLanes.size(lineIndex));
+        }
 
         // Add the waiting time to the total customer waiting time
-        totalCustomerWaitingTime += customer.getWaitingTime();
+        totalCustomerWaitingTime += waitingTime;
 
         // Add the waiting time to the total customer waiting time for the line
-        totalCustomerWaitingTimePerLine[lineIndex] += customer.getWaitingTime();
+        totalCustomerWaitingTimePerLine[lineIndex] += waitingTime;
 
         // Add the checkout duration to the total customer checkout time
-        totalCustomerCheckoutTimePerLine[lineIndex] += customer.getCheckoutDuration();
+        totalCustomerCheckoutTime += checkoutDuration;
+        totalCustomerCheckoutTimePerLine[lineIndex] += checkoutDuration;
+
+        // Fold the customer into the running statistics
+        waitingTimeStatistics.add(waitingTime);
+        waitingTimeStatisticsPerLine[lineIndex].add(waitingTime);
+        checkoutTimeStatistics.add(checkoutDuration);
+        checkoutTimeStatisticsPerLine[lineIndex].add(checkoutDuration);
 
         // Increment the total customers checked out
         totalCustomersCheckedOut++;
 
         // Increment the total customers checked out for the line
         totalCustomersCheckedOutPerLine[lineIndex]++;
+    }
+
+    /**
+     * Records an event of the customer at the front of the given line, if the simulation is traced.
+     *
+     * @param type      The type of the event.
+     * @param lineIndex The index of the line.
+     * @param time      The time of the event.
+     */
+    private void traceCheckout(TraceSink.EventType type, int lineIndex, int time) {
+        if (traceSink != null) {
+            traceSink.record(type, time, checkoutLanes.peekCustomerId(lineIndex), lineIndex, checkoutLanes.peekCheckoutDifficulty(lineIndex));
+        }
+    }
+
+    /**
+     * Copies the counters of the running simulation to the metrics.
+     *
+     * @param time The current time.
+     */
+    private void publishMetrics(int time) {
+        int[] queueDepths = new int[checkoutLanes.getLineCount()];
+        int[] idleTimes = new int[queueDepths.length];
+        for (int i = 0; i < queueDepths.length; i++) {
+            queueDepths[i] = checkoutLanes.size(i);
+            // An empty line has not added its current idle stretch to its total yet
+            idleTimes[i] = totalWorkerIdleTimePerLine[i] + (checkoutLanes.isEmpty(i) ? idleCheckCount - emptySinceIdleCheck[i] : 0);
+        }
+        metrics.update(time, totalCustomersCreated, totalCustomersCheckedOut, eventsProcessed, queueDepths, idleTimes);
+    }
+
+    /**
+     * Takes a snapshot of the live results.
+     *
+     * @param time The current time.
+     * @return The snapshot.
+     */
+    private SimulationSnapshot takeSnapshot(int time) {
+        int[] queueLengths = new int[checkoutLanes.getLineCount()];
+        for (int i = 0; i < queueLengths.length; i++) {
+            queueLengths[i] = checkoutLanes.size(i);
+        }
+        return new SimulationSnapshot(time, simulationDuration, queueLengths, totalCustomersCreated, totalCustomersCheckedOut,
+                getAverageWaitingTime(), getAverageWorkerIdleTime());
+    }
+
+    /**
+     * Writes a checkpoint for the given time to the checkpoint file.
+     *
+     * @param resumeTime The first simulated second that has not been processed yet.
+     */
+    private void writeCheckpoint(int resumeTime) {
+        Path temporaryFile = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+                writeCheckpoint(out, resumeTime);
+            }
+            Files.move(temporaryFile, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write checkpoint.", e);
+        }
+    }
+
+    /**
+     * Writes the settings and the state of the running simulation.
+     * Only customers still in a line are saved, so a checkpoint stays small however long the simulation runs.
+     *
+     * @param out        The output to write to.
+     * @param resumeTime The first simulated second that has not been processed yet.
+     * @throws IOException If the checkpoint cannot be written.
+     */
+    private void writeCheckpoint(DataOutputStream out, int resumeTime) throws IOException {
+        out.writeInt(CHECKPOINT_MAGIC);
+        out.writeShort(CHECKPOINT_VERSION);
+
+        // Settings
+        out.writeByte(engineMode.ordinal());
+        out.writeByte(customerStorage.ordinal());
+        out.writeByte(statisticsMode.ordinal());
+        out.writeByte(difficultySampling.ordinal());
+        out.writeInt(simulationDuration);
+        out.writeInt(laneSpeeds == null ? -1 : laneSpeeds.length);
+        if (laneSpeeds != null) {
+            for (double speed : laneSpeeds) {
+                out.writeDouble(speed);
+            }
+        }
+        byte[] serviceTimeModelDescription = serviceTimeModel.describe().getBytes(StandardCharsets.UTF_8);
+        out.writeInt(serviceTimeModelDescription.length);
+        out.write(serviceTimeModelDescription);
+        out.writeInt(parameters.getNumberOfLines());
+        out.writeInt(parameters.getCustomerArrivalFrequency());
+        out.writeInt(parameters.getEasyCustomerPercentage());
+        out.writeInt(parameters.getMediumCustomerPercentage());
+        out.writeInt(parameters.getDifficultCustomerPercentage());
+
+        // Clock, random number generator and remaining difficulty quotas
+        out.writeInt(resumeTime);
+        out.writeLong(random.getState());
+        int[] remaining = difficultySampler instanceof ExactMixSampler ? ((ExactMixSampler) difficultySampler).getRemaining() : new int[0];
+        out.writeInt(remaining.length);
+        for (int count : remaining) {
+            out.writeInt(count);
+        }
+
+        // Totals
+        out.writeInt(totalCustomersCreated);
+        out.writeInt(totalCustomersCheckedOut);
+        out.writeLong(totalCustomerWaitingTime);
+        out.writeLong(totalCustomerCheckoutTime);
+        out.writeInt(totalWorkerIdleTime);
+        out.writeInt(idleCheckCount);
+        out.writeInt(emptyLineCount);
+        for (int count : totalCustomersCreatedPerDifficulty) {
+            out.writeInt(count);
+        }
+        waitingTimeStatistics.writeTo(out);
+        checkoutTimeStatistics.writeTo(out);
+
+        // Every line with its accumulators and the customers standing in it
+        for (int i = 0; i < checkoutLanes.getLineCount(); i++) {
+            out.writeInt(totalCustomersCheckedOutPerLine[i]);
+            out.writeLong(totalCustomerWaitingTimePerLine[i]);
+            out.writeLong(totalCustomerCheckoutTimePerLine[i]);
+            out.writeInt(totalWorkerIdleTimePerLine[i]);
+            out.writeInt(emptySinceIdleCheck[i]);
+            out.writeInt(checkoutEndTimes[i]);
+            out.writeLong(laneRandoms == null ? 0 : laneRandoms[i].getState());
+            waitingTimeStatisticsPerLine[i].writeTo(out);
+            checkoutTimeStatisticsPerLine[i].writeTo(out);
+
+            int[] customers = new int[checkoutLanes.size(i) * 4];
+            int[] next = {0};
+            checkoutLanes.forEachCustomer(i, (customerId, difficulty, enqueueTime, checkoutStartTime) -> {
+                customers[next[0]++] = customerId;
+                customers[next[0]++] = difficulty.ordinal();
+                customers[next[0]++] = enqueueTime;
+                customers[next[0]++] = checkoutStartTime;
+            });
+            out.writeInt(checkoutLanes.size(i));
+            for (int value : customers) {
+                out.writeInt(value);
+            }
+        }
+    }
+
+    /**
+     * Restores the settings and the state of a simulation from a checkpoint.
+     *
+     * @param in The input to read from.
+     * @return The first simulated second that has not been processed yet.
+     * @throws IOException If the checkpoint cannot be read or is not a checkpoint file.
+     */
+    private int readCheckpoint(DataInputStream in) throws IOException {
+        if (in.readInt() != CHECKPOINT_MAGIC) {
+            throw new IOException("Not a checkpoint file.");
+        }
+        short version = in.readShort();
+        if (version != CHECKPOINT_VERSION) {
+            throw new IOException("Unsupported checkpoint version " + version + ".");
+        }
+
+        // Settings
+        engineMode = EngineMode.values()[in.readByte()];
+        customerStorage = CustomerStorage.values()[in.readByte()];
+        statisticsMode = StatisticsMode.values()[in.readByte()];
+        difficultySampling = DifficultySampling.values()[in.readByte()];
+        simulationDuration = in.readInt();
+        int speedCount = in.readInt();
+        double[] speeds = null;
+        if (speedCount >= 0) {
+            speeds = new double[speedCount];
+            for (int i = 0; i < speedCount; i++) {
+                speeds[i] = in.readDouble();
+            }
+        }
+        setLaneSpeeds(speeds);
+        byte[] serviceTimeModelDescription = new byte[in.readInt()];
+        in.readFully(serviceTimeModelDescription);
+        try {
+            setServiceTimeModel(ServiceTimeModel.parse(new String(serviceTimeModelDescription, StandardCharsets.UTF_8)));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid checkpoint: " + e.getMessage(), e);
+        }
+        int numberOfLines = in.readInt();
+        int customerArrivalFrequency = in.readInt();
+        int easyCustomerPercentage = in.readInt();
+        int mediumCustomerPercentage = in.readInt();
+        int difficultCustomerPercentage = in.readInt();
+
+        // Build empty lines and fresh counters for these settings, then overwrite them with the saved state
+        prepareSimulation(numberOfLines, customerArrivalFrequency, easyCustomerPercentage, mediumCustomerPercentage, difficultCustomerPercentage);
+
+        // Clock, random number generator and remaining difficulty quotas
+        int resumeTime = in.readInt();
+        random = new SplitMixRandom(in.readLong());
+        int[] remaining = new int[in.readInt()];
+        for (int i = 0; i < remaining.length; i++) {
+            remaining[i] = in.readInt();
+        }
+        if (difficultySampling == DifficultySampling.PROBABILISTIC) {
+            difficultySampler = new AliasSampler(new int[]{easyCustomerPercentage, mediumCustomerPercentage, difficultCustomerPercentage}, random);
+        } else {
+            difficultySampler = new ExactMixSampler(remaining, random);
+        }
+
+        // Totals
+        totalCustomersCreated = in.readInt();
+        totalCustomersCheckedOut = in.readInt();
+        totalCustomerWaitingTime = in.readLong();
+        totalCustomerCheckoutTime = in.readLong();
+        totalWorkerIdleTime = in.readInt();
+        idleCheckCount = in.readInt();
+        emptyLineCount = in.readInt();
+        for (int i = 0; i < totalCustomersCreatedPerDifficulty.length; i++) {
+            totalCustomersCreatedPerDifficulty[i] = in.readInt();
+        }
+        waitingTimeStatistics = RunningStatistics.readFrom(in);
+        checkoutTimeStatistics = RunningStatistics.readFrom(in);
 
-        // Debug Statement
-        // System.out.println("Customer " + customer.getId() + " created at " + customer.getArrivalTime() + " seconds, enqueued at " + customer.getEnqueueTime() + " seconds, started checkout at " + customer.getCheckoutStartTime() + " seconds, dequeued at " + customer.getDequeueTime() + " seconds, wait time: " + customer.getWaitingTime() + " seconds, difficulty: " + customer.getCheckoutDifficulty());    }
+        // Every line with its accumulators and the customers standing in it
+        Customer.Difficulty[] difficulties = Customer.Difficulty.values();
+        for (int i = 0; i < numberOfLines; i++) {
+            totalCustomersCheckedOutPerLine[i] = in.readInt();
+            totalCustomerWaitingTimePerLine[i] = in.readLong();
+            totalCustomerCheckoutTimePerLine[i] = in.readLong();
+            totalWorkerIdleTimePerLine[i] = in.readInt();
+            emptySinceIdleCheck[i] = in.readInt();
+            checkoutEndTimes[i] = in.readInt();
+            long laneState = in.readLong();
+            if (laneRandoms != null) {
+                laneRandoms[i] = new SplitMixRandom(laneState);
+            }
+            waitingTimeStatisticsPerLine[i] = RunningStatistics.readFrom(in);
+            checkoutTimeStatisticsPerLine[i] = RunningStatistics.readFrom(in);
+
+            int customers = in.readInt();
+            for (int c = 0; c < customers; c++) {
+                int customerId = in.readInt();
+                Customer.Difficulty difficulty = difficulties[in.readInt()];
+                int enqueueTime = in.readInt();
+                int checkoutStartTime = in.readInt();
+                checkoutLanes.enqueue(i, customerId, difficulty, enqueueTime);
+                // Only the customer at the front can have started checking out
+                if (c == 0 && checkoutStartTime != 0) {
+                    checkoutLanes.startCheckout(i, checkoutStartTime);
+                }
+            }
+        }
+        return resumeTime;
     }
 
     /**
@@ -432,26 +1530,11 @@ public class SimulationLogic {
      *
      * @return A string containing the customer statistics.
      */
-    private String generateCustomerStats(List<Customer> customers) {
+    private String generateCustomerStats() {
         // Count the number of easy, medium, and difficult customers
-        int easyCustomersCount = 0;
-        int mediumCustomersCount = 0;
-        int difficultCustomersCount = 0;
-
-        // Loop through the customers and count the number of easy, medium, and difficult customers
-        for (Customer customer : customers) {
-            switch (customer.getCheckoutDifficulty()) {
-                case EASY:
-                    easyCustomersCount++;
-                    break;
-                case MEDIUM:
-                    mediumCustomersCount++;
-                    break;
-                case DIFFICULT:
-                    difficultCustomersCount++;
-                    break;
-            }
-        }
+        int easyCustomersCount = countCustomers(Customer.Difficulty.EASY);
+        int mediumCustomersCount = countCustomers(Customer.Difficulty.MEDIUM);
+        int difficultCustomersCount = countCustomers(Customer.Difficulty.DIFFICULT);
 
         // Return the customer statistics
         return "\n\nTotal Number of Customers Created: " + totalCustomersCreated +
@@ -460,6 +1543,20 @@ public class SimulationLogic {
                 "\n\tTotal Number of Difficult Customers: " + difficultCustomersCount;
     }
 
+    /**
+     * Counts the customers created with the given checkout difficulty.
+     * Streaming simulations do not keep their customers, so the count kept at creation time is used instead.
+     *
+     * @param difficulty The checkout difficulty.
+     * @return The number of customers with the given difficulty.
+     */
+    private int countCustomers(Customer.Difficulty difficulty) {
+        if (statisticsMode == StatisticsMode.STREAMING) {
+            return totalCustomersCreatedPerDifficulty[difficulty.ordinal()];
+        }
+        return checkoutLanes.countCustomers(difficulty);
+    }
+
     /**
      * Generates statistics about a specific checkout line.
      *
@@ -475,7 +1572,13 @@ public class SimulationLogic {
             averageCheckoutTime = (double) totalCustomerCheckoutTimePerLine[lineIndex] / totalCustomersCheckedOutPerLine[lineIndex];
         }
 
-        return "\n\nCheckout Line " + (lineIndex + 1) + ":" +
+        // Only mention the speed of lines that do not work at normal speed
+        String speed = "";
+        if (getLaneSpeed(lineIndex) != 1) {
+            speed = "\n\tCheckout Speed: " + getLaneSpeed(lineIndex) + "x";
+        }
+
+        return "\n\nCheckout Line " + (lineIndex + 1) + ":" + speed +
                 "\n\tTotal Customers Checked Out: " + totalCustomersCheckedOutPerLine[lineIndex] +
                 "\n\tAverage Wait Time: " + formatTime(averageWaitTime) +
                 "\n\tAverage Checkout Time: " + formatTime(averageCheckoutTime);
@@ -488,10 +1591,10 @@ public class SimulationLogic {
      */
     private String generateWorkerStats() {
         StringBuilder output = new StringBuilder("\n\nWorker Results");
-        if (!checkoutLines.isEmpty()) {
+        if (checkoutLanes.getLineCount() > 0) {
             output.append("\n\tAverage Idle Time for Workers: ")
-                    .append(formatTime((double) totalWorkerIdleTime / checkoutLines.size()));
-            for (int i = 0; i < checkoutLines.size(); i++) {
+                    .append(formatTime((double) totalWorkerIdleTime / checkoutLanes.getLineCount()));
+            for (int i = 0; i < checkoutLanes.getLineCount(); i++) {
                 output.append("\n\tCheckout Line ").append(i + 1).append(" Idle Time: ")
                         .append(formatTime(totalWorkerIdleTimePerLine[i]));
             }
@@ -499,6 +1602,94 @@ public class SimulationLogic {
         return output.toString();
     }
 
+    /**
+     * Returns the number of checkout lines of the last simulation.
+     *
+     * @return The number of checkout lines.
+     */
+    public int getNumberOfLines() {
+        return checkoutLanes.getLineCount();
+    }
+
+    /**
+     * Returns the average waiting time of all checked out customers.
+     *
+     * @return The average waiting time in seconds.
+     */
+    public double getAverageWaitingTime() {
+        return totalCustomersCheckedOut > 0 ? (double) totalCustomerWaitingTime / totalCustomersCheckedOut : 0;
+    }
+
+    /**
+     * Returns the average waiting time of the customers checked out at the given line.
+     *
+     * @param lineIndex The index of the line.
+     * @return The average waiting time in seconds.
+     */
+    public double getAverageWaitingTime(int lineIndex) {
+        if (totalCustomersCheckedOutPerLine[lineIndex] == 0) {
+            return 0;
+        }
+        return (double) totalCustomerWaitingTimePerLine[lineIndex] / totalCustomersCheckedOutPerLine[lineIndex];
+    }
+
+    /**
+     * Returns the idle time of the worker at the given line.
+     *
+     * @param lineIndex The index of the line.
+     * @return The idle time in seconds.
+     */
+    public int getWorkerIdleTime(int lineIndex) {
+        return totalWorkerIdleTimePerLine[lineIndex];
+    }
+
+    /**
+     * Returns the idle time of the workers averaged over all lines.
+     *
+     * @return The average idle time in seconds.
+     */
+    public double getAverageWorkerIdleTime() {
+        return (double) totalWorkerIdleTime / checkoutLanes.getLineCount();
+    }
+
+    /**
+     * Returns the running statistics of the waiting time of all checked out customers.
+     *
+     * @return The waiting time statistics in seconds.
+     */
+    public RunningStatistics getWaitingTimeStatistics() {
+        return waitingTimeStatistics;
+    }
+
+    /**
+     * Returns the running statistics of the waiting time of the customers checked out at the given line.
+     *
+     * @param lineIndex The index of the line.
+     * @return The waiting time statistics in seconds.
+     */
+    public RunningStatistics getWaitingTimeStatistics(int lineIndex) {
+        return waitingTimeStatisticsPerLine[lineIndex];
+    }
+
+    /**
+     * Returns the running statistics of the checkout duration of all checked out customers.
+     *
+     * @return The checkout duration statistics in seconds.
+     */
+    public RunningStatistics getCheckoutTimeStatistics() {
+        return checkoutTimeStatistics;
+    }
+
+    /**
+     * Returns the running statistics of the checkout duration of the customers checked out at the given line.
+     *
+     * @param lineIndex The index of the line.
+     * @return The checkout duration statistics in seconds.
+     */
+    public RunningStatistics getCheckoutTimeStatistics(int lineIndex) {
+        return checkoutTimeStatisticsPerLine[lineIndex];
+    }
+
     /**
      * Gets the results of the simulation.
      *
@@ -508,7 +1699,7 @@ public class SimulationLogic {
         StringBuilder output = new StringBuilder();
         output.append("Simulation Results");
 
-        output.append(generateCustomerStats(customers));
+        output.append(generateCustomerStats());
 
         for (int i = 0; i < totalCustomersCheckedOutPerLine.length; i++) {
             output.append(generateCheckoutLineStats(i));
@@ -530,4 +1721,45 @@ public class SimulationLogic {
         int seconds = (int) timeInSeconds % 60;
         return minutes + " minutes " + seconds + " seconds";
     }
+
+    /**
+     * This enum represents the engine used to advance the simulation clock.
+     * TICK advances one second at a time, EVENT jumps from one arrival or checkout completion to the next.
+     */
+    public enum EngineMode {
+        TICK, EVENT
+    }
+
+    /**
+     * This enum represents the queue implementation used for the checkout lines.
+     * LINKED allocates a node per customer, CIRCULAR reuses a growable array.
+     */
+    public enum QueueType {
+        LINKED, CIRCULAR
+    }
+
+    /**
+     * This enum represents how customer data is stored during the simulation.
+     * OBJECTS keeps one Customer object per shopper, COLUMNAR keeps parallel primitive columns indexed by customer ID.
+     */
+    public enum CustomerStorage {
+        OBJECTS, COLUMNAR
+    }
+
+    /**
+     * This enum represents whether customers are kept until the end of the simulation.
+     * RETAINED keeps every customer, STREAMING folds checked out customers into running statistics and drops them.
+     */
+    public enum StatisticsMode {
+        RETAINED, STREAMING
+    }
+
+    /**
+     * This enum represents how checkout difficulties are drawn for arriving customers.
+     * EXACT hands out the percentages of the day's customers in random order, so the mix is met exactly.
+     * PROBABILISTIC draws every customer independently with the percentages as probabilities.
+     */
+    public enum DifficultySampling {
+        EXACT, PROBABILISTIC
+    }
 }
\ No newline at end of file
@@ -0,0 +1,250 @@
+package org.example.program8;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * This class holds the metrics of the simulations run by one SimulationLogic and publishes them through JMX.
+ * The simulation thread is the only writer. It keeps its own counters in plain fields while it runs
+ * and copies them here only at progress updates, so the hot loop pays nothing extra.
+ * Readers see each value through a volatile field, without locks.
+ * One instance can be reused for every run of the same SimulationLogic.
+ */
+public class SimulationMetrics implements SimulationMetricsMXBean {
+    /**
+     * JMX domain of the registered metrics.
+     */
+    public static final String DOMAIN = "org.example.program8";
+
+    private volatile boolean running;
+    private volatile int simulatedTime;
+    private volatile int simulationDuration;
+    private volatile int customersCreated;
+    private volatile int customersCheckedOut;
+    private volatile long eventsProcessed;
+    private volatile double eventsPerSecond;
+    private volatile int[] queueDepths = new int[0];
+    private volatile int[] idleTimes = new int[0];
+    private volatile long startNanos;
+    private volatile long endNanos;
+    private volatile long runsStarted;
+
+    // Only used by the simulation thread to compute the processing rate
+    private long lastUpdateNanos;
+    private long lastUpdateEvents;
+
+    /**
+     * The name the metrics are registered under, or null if they are not registered.
+     */
+    private ObjectName objectName;
+
+    /**
+     * Registers the metrics with the platform MBean server under the given name.
+     *
+     * @param name The name of the simulation, unique in this JVM.
+     * @throws IllegalStateException If the metrics are already registered or the name is taken.
+     */
+    public synchronized void register(String name) {
+        if (objectName != null) {
+            throw new IllegalStateException("Metrics are already registered as " + objectName);
+        }
+        try {
+            ObjectName newName = new ObjectName(DOMAIN + ":type=Simulation,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, newName);
+            objectName = newName;
+        } catch (InstanceAlreadyExistsException e) {
+            throw new IllegalStateException("A simulation named " + name + " is already registered.", e);
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register metrics.", e);
+        }
+    }
+
+    /**
+     * Removes the metrics from the platform MBean server. Does nothing if they are not registered.
+     */
+    public synchronized void unregister() {
+        if (objectName == null) {
+            return;
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.unregisterMBean(objectName);
+        } catch (InstanceNotFoundException e) {
+            // Already removed by someone else
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not unregister metrics.", e);
+        }
+        objectName = null;
+    }
+
+    /**
+     * Records the start of a run.
+     *
+     * @param simulationDuration The duration of the simulation in seconds.
+     * @param startTime          The first simulated second of the run.
+     */
+    void runStarted(int simulationDuration, int startTime) {
+        long now = System.nanoTime();
+        this.simulationDuration = simulationDuration;
+        simulatedTime = startTime;
+        eventsProcessed = 0;
+        eventsPerSecond = 0;
+        startNanos = now;
+        lastUpdateNanos = now;
+        lastUpdateEvents = 0;
+        runsStarted++;
+        running = true;
+    }
+
+    /**
+     * Publishes the current state of a run.
+     *
+     * @param time                The current simulated time.
+     * @param customersCreated    The number of customers created so far.
+     * @param customersCheckedOut The number of customers checked out so far.
+     * @param eventsProcessed     The number of ticks or events processed so far.
+     * @param queueDepths         The number of customers in every line, kept by the metrics.
+     * @param idleTimes           The idle time of every line so far, kept by the metrics.
+     */
+    void update(int time, int customersCreated, int customersCheckedOut, long eventsProcessed, int[] queueDepths, int[] idleTimes) {
+        long now = System.nanoTime();
+        if (now > lastUpdateNanos) {
+            eventsPerSecond = (eventsProcessed - lastUpdateEvents) * 1e9 / (now - lastUpdateNanos);
+        }
+        lastUpdateNanos = now;
+        lastUpdateEvents = eventsProcessed;
+
+        simulatedTime = time;
+        this.customersCreated = customersCreated;
+        this.customersCheckedOut = customersCheckedOut;
+        this.eventsProcessed = eventsProcessed;
+        this.queueDepths = queueDepths;
+        this.idleTimes = idleTimes;
+    }
+
+    /**
+     * Records the end of a run, whether it finished or was cancelled.
+     */
+    void runFinished() {
+        endNanos = System.nanoTime();
+        running = false;
+    }
+
+    /**
+     * Returns whether a simulation is running.
+     *
+     * @return true while a simulation is running, false otherwise.
+     */
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Returns the current simulated time.
+     *
+     * @return The simulated time in seconds.
+     */
+    @Override
+    public int getSimulatedTime() {
+        return simulatedTime;
+    }
+
+    /**
+     * Returns the duration of the simulation.
+     *
+     * @return The duration in simulated seconds.
+     */
+    @Override
+    public int getSimulationDuration() {
+        return simulationDuration;
+    }
+
+    /**
+     * Returns the number of customers created so far.
+     *
+     * @return The number of customers created.
+     */
+    @Override
+    public int getCustomersCreated() {
+        return customersCreated;
+    }
+
+    /**
+     * Returns the number of customers checked out so far.
+     *
+     * @return The number of customers checked out.
+     */
+    @Override
+    public int getCustomersCheckedOut() {
+        return customersCheckedOut;
+    }
+
+    /**
+     * Returns the number of ticks or events the engine has processed in the current or last run.
+     *
+     * @return The number of ticks or events.
+     */
+    @Override
+    public long getEventsProcessed() {
+        return eventsProcessed;
+    }
+
+    /**
+     * Returns the number of ticks or events processed per wall-clock second between the last two updates.
+     *
+     * @return The processing rate.
+     */
+    @Override
+    public double getEventsPerSecond() {
+        return eventsPerSecond;
+    }
+
+    /**
+     * Returns the number of customers in every line.
+     *
+     * @return The queue depth of every line.
+     */
+    @Override
+    public int[] getQueueDepths() {
+        return queueDepths.clone();
+    }
+
+    /**
+     * Returns the idle time collected so far by the worker of every line.
+     *
+     * @return The idle time of every line.
+     */
+    @Override
+    public int[] getIdleTimes() {
+        return idleTimes.clone();
+    }
+
+    /**
+     * Returns the wall-clock time the current run has taken so far, or the last run took.
+     *
+     * @return The duration in milliseconds.
+     */
+    @Override
+    public long getWallClockMillis() {
+        if (runsStarted == 0) {
+            return 0;
+        }
+        long end = running ? System.nanoTime() : endNanos;
+        return (end - startNanos) / 1_000_000;
+    }
+
+    /**
+     * Returns the number of runs started since the metrics were created.
+     *
+     * @return The number of runs.
+     */
+    @Override
+    public long getRunsStarted() {
+        return runsStarted;
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.program8;
+
+/**
+ * This interface is the JMX view of a running simulation, as shown in JConsole or VisualVM.
+ * The values are published by the simulation thread at every progress update, so they can lag by a few simulated minutes.
+ */
+public interface SimulationMetricsMXBean {
+
+    /**
+     * Returns whether a simulation is running.
+     *
+     * @return true while a simulation is running, false otherwise.
+     */
+    boolean isRunning();
+
+    /**
+     * Returns the current simulated time.
+     *
+     * @return The simulated time in seconds.
+     */
+    int getSimulatedTime();
+
+    /**
+     * Returns the duration of the simulation.
+     *
+     * @return The duration in simulated seconds.
+     */
+    int getSimulationDuration();
+
+    /**
+     * Returns the number of customers created so far.
+     *
+     * @return The number of customers created.
+     */
+    int getCustomersCreated();
+
+    /**
+     * Returns the number of customers checked out so far.
+     *
+     * @return The number of customers checked out.
+     */
+    int getCustomersCheckedOut();
+
+    /**
+     * Returns the number of ticks or events the engine has processed in the current or last run.
+     *
+     * @return The number of ticks or events.
+     */
+    long getEventsProcessed();
+
+    /**
+     * Returns the number of ticks or events processed per wall-clock second between the last two updates.
+     *
+     * @return The processing rate.
+     */
+    double getEventsPerSecond();
+
+    /**
+     * Returns the number of customers in every line.
+     *
+     * @return The queue depth of every line.
+     */
+    int[] getQueueDepths();
+
+    /**
+     * Returns the idle time collected so far by the worker of every line.
+     *
+     * @return The idle time of every line.
+     */
+    int[] getIdleTimes();
+
+    /**
+     * Returns the wall-clock time the current run has taken so far, or the last run took.
+     *
+     * @return The duration in milliseconds.
+     */
+    long getWallClockMillis();
+
+    /**
+     * Returns the number of runs started since the metrics were created.
+     *
+     * @return The number of runs.
+     */
+    long getRunsStarted();
+}
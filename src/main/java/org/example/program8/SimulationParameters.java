@@ -0,0 +1,120 @@
+package org.example.program8;
+
+import java.util.Objects;
+
+/**
+ * This class holds the inputs of one simulation run: the number of open lines,
+ * the customer arrival frequency and the percentages of easy, medium, and difficult customers.
+ */
+public final class SimulationParameters {
+    private final int numberOfLines;
+    private final int customerArrivalFrequency;
+    private final int easyCustomerPercentage;
+    private final int mediumCustomerPercentage;
+    private final int difficultCustomerPercentage;
+
+    /**
+     * Constructs a new set of simulation parameters.
+     *
+     * @param numberOfLines               The number of checkout lines to simulate.
+     * @param customerArrivalFrequency    The frequency of customer arrivals.
+     * @param easyCustomerPercentage      The percentage of customers that are easy to check out.
+     * @param mediumCustomerPercentage    The percentage of customers that are medium to check out.
+     * @param difficultCustomerPercentage The percentage of customers that are difficult to check out.
+     */
+    public SimulationParameters(int numberOfLines, int customerArrivalFrequency, int easyCustomerPercentage, int mediumCustomerPercentage, int difficultCustomerPercentage) {
+        this.numberOfLines = numberOfLines;
+        this.customerArrivalFrequency = customerArrivalFrequency;
+        this.easyCustomerPercentage = easyCustomerPercentage;
+        this.mediumCustomerPercentage = mediumCustomerPercentage;
+        this.difficultCustomerPercentage = difficultCustomerPercentage;
+    }
+
+    /**
+     * Returns the number of checkout lines.
+     *
+     * @return The number of checkout lines.
+     */
+    public int getNumberOfLines() {
+        return numberOfLines;
+    }
+
+    /**
+     * Returns the frequency of customer arrivals.
+     *
+     * @return The number of seconds between two arrivals.
+     */
+    public int getCustomerArrivalFrequency() {
+        return customerArrivalFrequency;
+    }
+
+    /**
+     * Returns the percentage of customers that are easy to check out.
+     *
+     * @return The percentage of easy customers.
+     */
+    public int getEasyCustomerPercentage() {
+        return easyCustomerPercentage;
+    }
+
+    /**
+     * Returns the percentage of customers that are medium to check out.
+     *
+     * @return The percentage of medium customers.
+     */
+    public int getMediumCustomerPercentage() {
+        return mediumCustomerPercentage;
+    }
+
+    /**
+     * Returns the percentage of customers that are difficult to check out.
+     *
+     * @return The percentage of difficult customers.
+     */
+    public int getDifficultCustomerPercentage() {
+        return difficultCustomerPercentage;
+    }
+
+    /**
+     * Checks if the given object holds the same parameters.
+     *
+     * @param o The object to compare to.
+     * @return true if the parameters are equal, false otherwise.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SimulationParameters)) {
+            return false;
+        }
+        SimulationParameters other = (SimulationParameters) o;
+        return numberOfLines == other.numberOfLines
+                && customerArrivalFrequency == other.customerArrivalFrequency
+                && easyCustomerPercentage == other.easyCustomerPercentage
+                && mediumCustomerPercentage == other.mediumCustomerPercentage
+                && difficultCustomerPercentage == other.difficultCustomerPercentage;
+    }
+
+    /**
+     * Returns a hash code for the parameters.
+     *
+     * @return The hash code.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(numberOfLines, customerArrivalFrequency, easyCustomerPercentage, mediumCustomerPercentage, difficultCustomerPercentage);
+    }
+
+    /**
+     * Returns a string representation of the parameters.
+     *
+     * @return A string representation of the parameters.
+     */
+    @Override
+    public String toString() {
+        return numberOfLines + " lines, 1 customer every " + customerArrivalFrequency + " seconds, mix "
+                + easyCustomerPercentage + "/" + mediumCustomerPercentage + "/" + difficultCustomerPercentage;
+    }
+}
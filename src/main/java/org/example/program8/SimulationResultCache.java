@@ -0,0 +1,257 @@
+package org.example.program8;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * This class keeps the results of recent seeded simulations in memory, so running the same simulation again costs nothing.
+ * A seeded simulation always gives the same results, so the results are looked up by everything that determines them:
+ * the simulation parameters, the seed and the settings of the simulation.
+ * Only single seeded runs are cached. Sweeps and replication runs combine many runs with seeds split from one base seed,
+ * so their results are not kept here.
+ * When the cache holds too many entries or too many bytes, the least recently used entries are removed first.
+ * All methods are synchronized, so one cache can be shared by several threads.
+ */
+public class SimulationResultCache {
+    private final int maximumEntries;
+    private final long maximumBytes;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Constructs an empty cache with the given limits.
+     *
+     * @param maximumEntries The most entries kept.
+     * @param maximumBytes   The most bytes the entries may take, as estimated from their contents.
+     */
+    public SimulationResultCache(int maximumEntries, long maximumBytes) {
+        if (maximumEntries <= 0 || maximumBytes <= 0) {
+            throw new IllegalArgumentException("Cache limits must be positive.");
+        }
+        this.maximumEntries = maximumEntries;
+        this.maximumBytes = maximumBytes;
+    }
+
+    /**
+     * Looks up the results of a simulation and marks them as the most recently used.
+     *
+     * @param key The key of the simulation.
+     * @return The cached results, or null if the simulation has not been cached.
+     */
+    public synchronized Entry get(Key key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return entry;
+    }
+
+    /**
+     * Stores the results of a finished simulation, replacing older results with the same key,
+     * and removes the least recently used entries until the cache is within its limits again.
+     * Results larger than the byte limit on their own are not stored.
+     *
+     * @param key                 The key of the simulation.
+     * @param report              The results report of the simulation.
+     * @param queueLengthRecorder The recorded queue lengths of the simulation, or null if none were recorded.
+     */
+    public synchronized void put(Key key, String report, QueueLengthRecorder queueLengthRecorder) {
+        Entry entry = new Entry(report, queueLengthRecorder);
+        Entry previous = entries.remove(key);
+        if (previous != null) {
+            bytes -= previous.bytes;
+        }
+        if (entry.bytes > maximumBytes) {
+            return;
+        }
+        entries.put(key, entry);
+        bytes += entry.bytes;
+
+        // The iteration order of an access-ordered map starts at the least recently used entry
+        Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maximumEntries || bytes > maximumBytes) {
+            bytes -= eldest.next().getValue().bytes;
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Removes every entry. The counters are kept.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    /**
+     * Returns the number of entries in the cache.
+     *
+     * @return The number of entries.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the estimated number of bytes taken by the entries.
+     *
+     * @return The number of bytes.
+     */
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Returns the number of lookups that found cached results.
+     *
+     * @return The number of hits.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of lookups that found no cached results.
+     *
+     * @return The number of misses.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of entries removed to stay within the limits.
+     *
+     * @return The number of evictions.
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * This class identifies a seeded simulation by everything that determines its results.
+     * A simulation that replays an arrival source is not identified by a key, because the key does not cover the arrivals.
+     */
+    public static final class Key {
+        private final SimulationParameters parameters;
+        private final long seed;
+        private final SimulationLogic.EngineMode engineMode;
+        private final int simulationDuration;
+        private final SimulationLogic.DifficultySampling difficultySampling;
+        private final SimulationLogic.StatisticsMode statisticsMode;
+        private final double[] laneSpeeds;
+
+        /**
+         * The description of the service time model, or the model itself if it cannot be described.
+         */
+        private final Object serviceTimeModel;
+
+        /**
+         * Constructs the key of a simulation from its current settings.
+         *
+         * @param parameters The simulation parameters.
+         * @param seed       The seed of the random number generator.
+         * @param simulation The simulation, with every setting made except the seed.
+         */
+        public Key(SimulationParameters parameters, long seed, SimulationLogic simulation) {
+            this.parameters = parameters;
+            this.seed = seed;
+            this.engineMode = simulation.getEngineMode();
+            this.simulationDuration = simulation.getSimulationDuration();
+            this.difficultySampling = simulation.getDifficultySampling();
+            this.statisticsMode = simulation.getStatisticsMode();
+            this.laneSpeeds = simulation.getLaneSpeeds();
+            String description = simulation.getServiceTimeModel().describe();
+            this.serviceTimeModel = description != null ? description : simulation.getServiceTimeModel();
+        }
+
+        /**
+         * Checks if the given object is a key of the same simulation.
+         *
+         * @param o The object to compare with.
+         * @return true if every part of the key is equal, false otherwise.
+         */
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return seed == other.seed
+                    && engineMode == other.engineMode
+                    && simulationDuration == other.simulationDuration
+                    && difficultySampling == other.difficultySampling
+                    && statisticsMode == other.statisticsMode
+                    && parameters.equals(other.parameters)
+                    && serviceTimeModel.equals(other.serviceTimeModel)
+                    && Arrays.equals(laneSpeeds, other.laneSpeeds);
+        }
+
+        /**
+         * Returns a hash code combining every part of the key.
+         *
+         * @return The hash code.
+         */
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hash(parameters, seed, engineMode, simulationDuration, difficultySampling, statisticsMode, serviceTimeModel)
+                    + Arrays.hashCode(laneSpeeds);
+        }
+    }
+
+    /**
+     * This class holds the cached results of one simulation.
+     */
+    public static final class Entry {
+        private final String report;
+        private final QueueLengthRecorder queueLengthRecorder;
+        private final long bytes;
+
+        /**
+         * Constructs an entry and estimates its size.
+         *
+         * @param report              The results report.
+         * @param queueLengthRecorder The recorded queue lengths, or null.
+         */
+        private Entry(String report, QueueLengthRecorder queueLengthRecorder) {
+            this.report = report;
+            this.queueLengthRecorder = queueLengthRecorder;
+            // Two bytes per character, plus the arrays of the recorder
+            long size = 64 + 2L * report.length();
+            if (queueLengthRecorder != null) {
+                size += queueLengthRecorder.getSizeInBytes();
+            }
+            this.bytes = size;
+        }
+
+        /**
+         * Returns the results report.
+         *
+         * @return The report, as returned by SimulationLogic.getSimulationResults.
+         */
+        public String getReport() {
+            return report;
+        }
+
+        /**
+         * Returns the recorded queue lengths.
+         *
+         * @return The queue length recorder, or null if none was recorded.
+         */
+        public QueueLengthRecorder getQueueLengthRecorder() {
+            return queueLengthRecorder;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package org.example.program8;
+
+/**
+ * This class is an immutable picture of a running simulation at one moment of simulated time.
+ * It is created on the simulation thread and can be read safely from any other thread, such as the JavaFX thread.
+ */
+public final class SimulationSnapshot {
+    private final int time;
+    private final int simulationDuration;
+    private final int[] queueLengths;
+    private final int customersCreated;
+    private final int customersCheckedOut;
+    private final double averageWaitingTime;
+    private final double averageIdleTime;
+
+    /**
+     * Constructs a snapshot. The snapshot keeps the given queue length array, so the caller must not change it afterwards.
+     *
+     * @param time                The simulated time of the snapshot in seconds.
+     * @param simulationDuration  The duration of the simulation in seconds.
+     * @param queueLengths        The number of customers in each line.
+     * @param customersCreated    The number of customers created so far.
+     * @param customersCheckedOut The number of customers checked out so far.
+     * @param averageWaitingTime  The average waiting time of the customers checked out so far, in seconds.
+     * @param averageIdleTime     The average idle time per worker so far, in seconds.
+     */
+    SimulationSnapshot(int time, int simulationDuration, int[] queueLengths, int customersCreated, int customersCheckedOut,
+                       double averageWaitingTime, double averageIdleTime) {
+        this.time = time;
+        this.simulationDuration = simulationDuration;
+        this.queueLengths = queueLengths;
+        this.customersCreated = customersCreated;
+        this.customersCheckedOut = customersCheckedOut;
+        this.averageWaitingTime = averageWaitingTime;
+        this.averageIdleTime = averageIdleTime;
+    }
+
+    /**
+     * Returns the simulated time of the snapshot.
+     *
+     * @return The time in seconds.
+     */
+    public int getTime() {
+        return time;
+    }
+
+    /**
+     * Returns the duration of the simulation.
+     *
+     * @return The duration in seconds.
+     */
+    public int getSimulationDuration() {
+        return simulationDuration;
+    }
+
+    /**
+     * Returns the number of checkout lines.
+     *
+     * @return The number of lines.
+     */
+    public int getLineCount() {
+        return queueLengths.length;
+    }
+
+    /**
+     * Returns the number of customers in the given line.
+     *
+     * @param lineIndex The index of the line.
+     * @return The number of customers in the line, including the one checking out.
+     */
+    public int getQueueLength(int lineIndex) {
+        return queueLengths[lineIndex];
+    }
+
+    /**
+     * Returns the number of customers created so far.
+     *
+     * @return The number of customers created.
+     */
+    public int getCustomersCreated() {
+        return customersCreated;
+    }
+
+    /**
+     * Returns the number of customers checked out so far.
+     *
+     * @return The number of customers checked out.
+     */
+    public int getCustomersCheckedOut() {
+        return customersCheckedOut;
+    }
+
+    /**
+     * Returns the average waiting time of the customers checked out so far.
+     *
+     * @return The average waiting time in seconds.
+     */
+    public double getAverageWaitingTime() {
+        return averageWaitingTime;
+    }
+
+    /**
+     * Returns the average idle time per worker so far.
+     *
+     * @return The average idle time in seconds.
+     */
+    public double getAverageIdleTime() {
+        return averageIdleTime;
+    }
+
+    /**
+     * Gets a short report of the snapshot with a bar for the length of every line.
+     *
+     * @return A string describing the snapshot.
+     */
+    public String getReport() {
+        StringBuilder output = new StringBuilder("Live Results");
+        output.append(String.format("\n\nSimulated Time: %d:%02d:%02d of %d:%02d:%02d",
+                time / 3600, time / 60 % 60, time % 60,
+                simulationDuration / 3600, simulationDuration / 60 % 60, simulationDuration % 60));
+        output.append("\nCustomers: ").append(customersCreated).append(" arrived, ").append(customersCheckedOut).append(" checked out");
+        output.append(String.format("\nAverage Wait Time so far: %.1f s", averageWaitingTime));
+        output.append(String.format("\nAverage Idle Time for Workers so far: %.1f s", averageIdleTime));
+
+        output.append("\n\nQueue Lengths:");
+        for (int i = 0; i < queueLengths.length; i++) {
+            output.append("\n\tCheckout Line ").append(i + 1).append(": ").append(queueLengths[i]);
+            if (queueLengths[i] > 0) {
+                output.append(' ');
+            }
+            // Cap the bar, so a very long line does not fill the text area
+            for (int c = 0; c < Math.min(queueLengths[i], 50); c++) {
+                output.append('#');
+            }
+        }
+        return output.toString();
+    }
+}
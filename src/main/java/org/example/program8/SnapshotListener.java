@@ -0,0 +1,16 @@
+package org.example.program8;
+
+/**
+ * This interface receives snapshots of the live results from a running simulation.
+ * It is called on the thread that runs the simulation, which waits until it returns,
+ * so implementations should hand the snapshot off instead of doing slow work.
+ */
+public interface SnapshotListener {
+
+    /**
+     * Called when the simulation has taken a snapshot.
+     *
+     * @param snapshot The snapshot of the live results.
+     */
+    void snapshotTaken(SimulationSnapshot snapshot);
+}
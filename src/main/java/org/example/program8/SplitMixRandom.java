@@ -0,0 +1,104 @@
+package org.example.program8;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * This class is a SplitMix64 random number generator whose state can be saved and restored.
+ * It produces exactly the same numbers as a java.util.SplittableRandom created with the same seed,
+ * but unlike SplittableRandom its state is a single long that can be written to a checkpoint.
+ * It implements RandomGenerator, so service time models can draw from it with the standard methods.
+ */
+class SplitMixRandom implements RandomGenerator {
+    /**
+     * The increment added to the state for every number, the same one SplittableRandom uses.
+     */
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private long state;
+
+    /**
+     * Constructs a generator with a seed that is different for every generator.
+     */
+    SplitMixRandom() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Constructs a generator from the given seed or saved state.
+     *
+     * @param state The seed, or a state returned by getState.
+     */
+    SplitMixRandom(long state) {
+        this.state = state;
+    }
+
+    /**
+     * Returns the current state, from which a new generator continues with the same numbers.
+     *
+     * @return The state of the generator.
+     */
+    long getState() {
+        return state;
+    }
+
+    /**
+     * Returns the next random long.
+     *
+     * @return A random long.
+     */
+    @Override
+    public long nextLong() {
+        long z = (state += GOLDEN_GAMMA);
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Returns the next random int.
+     *
+     * @return A random int.
+     */
+    @Override
+    public int nextInt() {
+        long z = (state += GOLDEN_GAMMA);
+        z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+        return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+    }
+
+    /**
+     * Returns a random int from 0 up to, but not including, the given bound.
+     * Draws that would make the result uneven are rejected, the same way SplittableRandom does it.
+     *
+     * @param bound The upper bound, which must be positive.
+     * @return A random int in the range [0, bound).
+     */
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("Bound must be positive.");
+        }
+        int r = nextInt();
+        int m = bound - 1;
+        if ((bound & m) == 0) {
+            // The bound is a power of two, so the low bits are already even
+            r &= m;
+        } else {
+            for (int u = r >>> 1; u + m - (r = u % bound) < 0; u = nextInt() >>> 1) {
+                // Reject draws from the uneven top of the range
+            }
+        }
+        return r;
+    }
+
+    /**
+     * Returns a random double.
+     *
+     * @return A random double in the range [0, 1).
+     */
+    @Override
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+}
@@ -0,0 +1,417 @@
+package org.example.program8;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * This class finds the fewest checkout lines per time block that keep a percentile of the waiting time under a target,
+ * for example a 90th percentile wait of at most 4 minutes.
+ * The day is cut into blocks, such as hours, and every block is simulated on its own with the arrivals of that block.
+ * For every block the number of lines is found by bisection, and a candidate run is cancelled as soon as
+ * so many customers have waited too long that the target can no longer be met, so hopeless candidates cost little.
+ * The blocks are searched in parallel.
+ */
+public class StaffingOptimizer {
+    private final int blockLength;
+    private final double percentile;
+    private final int targetWaitingTime;
+    private int maximumLines = 20;
+    private int easyCustomerPercentage = 20;
+    private int mediumCustomerPercentage = 60;
+    private int difficultCustomerPercentage = 20;
+    private Supplier<SimulationLogic> simulationFactory = ReplicationRunner::createDefaultSimulation;
+    private int threadCount = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Constructs an optimizer for the given service level.
+     *
+     * @param blockLength       The length of a time block in seconds, such as 3600 for staffing per hour.
+     * @param percentile        The percentile of the waiting time that must meet the target, such as 0.9.
+     * @param targetWaitingTime The longest allowed waiting time at that percentile in seconds.
+     */
+    public StaffingOptimizer(int blockLength, double percentile, int targetWaitingTime) {
+        if (blockLength <= 0) {
+            throw new IllegalArgumentException("Block length must be positive.");
+        }
+        if (percentile <= 0 || percentile > 1) {
+            throw new IllegalArgumentException("Percentile must be above 0 and at most 1.");
+        }
+        if (targetWaitingTime < 0) {
+            throw new IllegalArgumentException("Target waiting time must not be negative.");
+        }
+        this.blockLength = blockLength;
+        this.percentile = percentile;
+        this.targetWaitingTime = targetWaitingTime;
+    }
+
+    /**
+     * Sets the most lines a block can be given.
+     *
+     * @param maximumLines The largest number of lines tried.
+     */
+    public void setMaximumLines(int maximumLines) {
+        if (maximumLines <= 0) {
+            throw new IllegalArgumentException("Maximum number of lines must be positive.");
+        }
+        this.maximumLines = maximumLines;
+    }
+
+    /**
+     * Sets the customer mix used for arrivals without their own checkout difficulty.
+     *
+     * @param easyCustomerPercentage      The percentage of customers that are easy to check out.
+     * @param mediumCustomerPercentage    The percentage of customers that are medium to check out.
+     * @param difficultCustomerPercentage The percentage of customers that are difficult to check out.
+     */
+    public void setCustomerMix(int easyCustomerPercentage, int mediumCustomerPercentage, int difficultCustomerPercentage) {
+        this.easyCustomerPercentage = easyCustomerPercentage;
+        this.mediumCustomerPercentage = mediumCustomerPercentage;
+        this.difficultCustomerPercentage = difficultCustomerPercentage;
+    }
+
+    /**
+     * Sets the factory used to create the simulation of every candidate.
+     *
+     * @param simulationFactory Creates a new, configured simulation.
+     */
+    public void setSimulationFactory(Supplier<SimulationLogic> simulationFactory) {
+        this.simulationFactory = simulationFactory;
+    }
+
+    /**
+     * Sets the number of threads the blocks are searched on.
+     *
+     * @param threadCount The number of threads.
+     */
+    public void setThreadCount(int threadCount) {
+        if (threadCount <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive.");
+        }
+        this.threadCount = threadCount;
+    }
+
+    /**
+     * Finds the staffing for blocks with one arrival every given number of seconds.
+     *
+     * @param arrivalFrequencies The seconds between two arrivals in every block, or 0 for a block without customers.
+     * @param seed               The seed from which the seeds of the blocks are derived.
+     * @return The staffing schedule.
+     * @throws InterruptedException If the thread is interrupted while waiting for the blocks.
+     */
+    public StaffingSchedule optimize(int[] arrivalFrequencies, long seed) throws InterruptedException {
+        BlockArrivals[] blocks = new BlockArrivals[arrivalFrequencies.length];
+        for (int b = 0; b < blocks.length; b++) {
+            blocks[b] = new BlockArrivals();
+            if (arrivalFrequencies[b] > 0) {
+                ArrivalSource arrivals = new FixedIntervalArrivals(arrivalFrequencies[b], 1, blockLength);
+                while (arrivals.next()) {
+                    blocks[b].add(arrivals.getTime(), null);
+                }
+            }
+        }
+        return optimize(blocks, seed);
+    }
+
+    /**
+     * Finds the staffing for the arrivals of the given source, such as a day of point-of-sale logs.
+     * Block b holds the arrivals from b times the block length up to the next block, and later arrivals are ignored.
+     *
+     * @param arrivals   The arrivals of the day, starting at time 0.
+     * @param blockCount The number of blocks.
+     * @param seed       The seed from which the seeds of the blocks are derived.
+     * @return The staffing schedule.
+     * @throws InterruptedException If the thread is interrupted while waiting for the blocks.
+     */
+    public StaffingSchedule optimize(ArrivalSource arrivals, int blockCount, long seed) throws InterruptedException {
+        BlockArrivals[] blocks = new BlockArrivals[blockCount];
+        for (int b = 0; b < blockCount; b++) {
+            blocks[b] = new BlockArrivals();
+        }
+        while (arrivals.next()) {
+            int block = arrivals.getTime() / blockLength;
+            if (block >= blockCount) {
+                break;
+            }
+            // Every block is simulated from its own first second
+            blocks[block].add(arrivals.getTime() - block * blockLength + 1, arrivals.getDifficulty());
+        }
+        return optimize(blocks, seed);
+    }
+
+    /**
+     * Searches every block on the pool and collects the results.
+     *
+     * @param blocks The arrivals of every block.
+     * @param seed   The seed from which the seeds of the blocks are derived.
+     * @return The staffing schedule.
+     * @throws InterruptedException If the thread is interrupted while waiting for the blocks.
+     */
+    private StaffingSchedule optimize(BlockArrivals[] blocks, long seed) throws InterruptedException {
+        StaffingSchedule schedule = new StaffingSchedule(blockLength, percentile, targetWaitingTime, blocks.length);
+        AtomicInteger simulationsRun = new AtomicInteger();
+        AtomicInteger simulationsStoppedEarly = new AtomicInteger();
+        ExecutorService pool = Executors.newWorkStealingPool(threadCount);
+        try {
+            SplittableRandom seeds = new SplittableRandom(seed);
+            List<Future<?>> futures = new ArrayList<>(blocks.length);
+            for (int b = 0; b < blocks.length; b++) {
+                // Each block gets its own seed, split off in block order
+                long blockSeed = seeds.split().nextLong();
+                int block = b;
+                futures.add(pool.submit(() -> {
+                    Candidate best = searchBlock(blocks[block], blockSeed, simulationsRun, simulationsStoppedEarly);
+                    schedule.setBlock(block, blocks[block].count, best.lines, best.percentileWaitingTime, best.passed);
+                }));
+            }
+
+            // Wait for every block, so failures are reported to the caller
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Staffing search failed.", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        schedule.setSimulationCounts(simulationsRun.get(), simulationsStoppedEarly.get());
+        return schedule;
+    }
+
+    /**
+     * Finds the fewest lines that meet the target in one block by bisection.
+     * More lines never make the waits longer, so the lines that pass form a range up to the maximum.
+     * Every candidate of a block uses the same seed, so they are compared under the same random draws.
+     *
+     * @param block                   The arrivals of the block.
+     * @param seed                    The seed of the block.
+     * @param simulationsRun          Counts the simulations started.
+     * @param simulationsStoppedEarly Counts the simulations cancelled because they could not meet the target.
+     * @return The candidate with the fewest lines that passed, or the maximum number of lines if none passed.
+     */
+    private Candidate searchBlock(BlockArrivals block, long seed, AtomicInteger simulationsRun, AtomicInteger simulationsStoppedEarly) {
+        // A block without customers needs no lines
+        if (block.count == 0) {
+            return new Candidate(0, true, 0);
+        }
+
+        // The answer lies between low and high, and high is taken to pass until it has been tried
+        int low = 1;
+        int high = maximumLines;
+        Candidate best = null;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            Candidate candidate = simulate(block, middle, seed, simulationsRun, simulationsStoppedEarly);
+            if (candidate.passed) {
+                high = middle;
+                best = candidate;
+            } else {
+                low = middle + 1;
+            }
+        }
+        // The maximum is only reached without trying it when every smaller candidate failed
+        if (best == null || best.lines != high) {
+            best = simulate(block, high, seed, simulationsRun, simulationsStoppedEarly);
+        }
+        return best;
+    }
+
+    /**
+     * Simulates one block with the given number of lines.
+     *
+     * @param block                   The arrivals of the block.
+     * @param lines                   The number of lines.
+     * @param seed                    The seed of the block.
+     * @param simulationsRun          Counts the simulations started.
+     * @param simulationsStoppedEarly Counts the simulations cancelled because they could not meet the target.
+     * @return The outcome of the candidate.
+     */
+    private Candidate simulate(BlockArrivals block, int lines, long seed, AtomicInteger simulationsRun, AtomicInteger simulationsStoppedEarly) {
+        SimulationLogic simulation = simulationFactory.get();
+        WaitMonitor monitor = new WaitMonitor(simulation, block.count);
+        block.rewind();
+        simulation.setArrivalSource(block);
+        simulation.setTraceSink(monitor);
+        simulation.setSimulationDuration(blockLength);
+        simulation.setSeed(seed);
+        simulationsRun.incrementAndGet();
+        try {
+            simulation.startSimulation(lines, blockLength, easyCustomerPercentage, mediumCustomerPercentage, difficultCustomerPercentage);
+        } catch (CancellationException e) {
+            simulationsStoppedEarly.incrementAndGet();
+            return new Candidate(lines, false, -1);
+        }
+        int percentileWaitingTime = monitor.getPercentileWaitingTime();
+        return new Candidate(lines, percentileWaitingTime <= targetWaitingTime, percentileWaitingTime);
+    }
+
+    /**
+     * Returns the rank, counted from 1, of the waiting time at the percentile among the given number of customers.
+     *
+     * @param customers The number of customers.
+     * @return The rank of the percentile waiting time in increasing order.
+     */
+    private int getPercentileRank(int customers) {
+        // Subtract a little, so 0.9 times 10 does not round up to 10
+        return Math.max(1, (int) Math.ceil(percentile * customers - 1e-9));
+    }
+
+    /**
+     * This class holds the outcome of one candidate number of lines.
+     */
+    private static final class Candidate {
+        private final int lines;
+        private final boolean passed;
+        private final int percentileWaitingTime;
+
+        /**
+         * Constructs the outcome of a candidate.
+         *
+         * @param lines                 The number of lines.
+         * @param passed                Whether the target was met.
+         * @param percentileWaitingTime The waiting time at the percentile, or -1 if the run was stopped early.
+         */
+        private Candidate(int lines, boolean passed, int percentileWaitingTime) {
+            this.lines = lines;
+            this.passed = passed;
+            this.percentileWaitingTime = percentileWaitingTime;
+        }
+    }
+
+    /**
+     * This class keeps the arrivals of one block in memory, so every candidate can replay them.
+     */
+    private static final class BlockArrivals implements ArrivalSource {
+        private int[] times = new int[16];
+        private Customer.Difficulty[] difficulties = new Customer.Difficulty[16];
+        private int count;
+        private int position = -1;
+
+        /**
+         * Adds an arrival to the end of the block.
+         *
+         * @param time       The arrival time within the block.
+         * @param difficulty The checkout difficulty, or null to draw it from the customer mix.
+         */
+        private void add(int time, Customer.Difficulty difficulty) {
+            if (count == times.length) {
+                times = Arrays.copyOf(times, count * 2);
+                difficulties = Arrays.copyOf(difficulties, count * 2);
+            }
+            times[count] = time;
+            difficulties[count] = difficulty;
+            count++;
+        }
+
+        /**
+         * Moves back to before the first arrival.
+         */
+        private void rewind() {
+            position = -1;
+        }
+
+        /**
+         * Moves to the next arrival.
+         *
+         * @return true if there is a next arrival, false at the end of the block.
+         */
+        @Override
+        public boolean next() {
+            if (position + 1 >= count) {
+                return false;
+            }
+            position++;
+            return true;
+        }
+
+        /**
+         * Returns the time of the current arrival.
+         *
+         * @return The arrival time in simulated seconds.
+         */
+        @Override
+        public int getTime() {
+            return times[position];
+        }
+
+        /**
+         * Returns the checkout difficulty of the current arrival.
+         *
+         * @return The checkout difficulty, or null to draw it from the customer mix.
+         */
+        @Override
+        public Customer.Difficulty getDifficulty() {
+            return difficulties[position];
+        }
+    }
+
+    /**
+     * This class collects the waiting time of every customer of a candidate run and cancels the run
+     * once more customers have waited too long than the percentile allows.
+     */
+    private final class WaitMonitor implements TraceSink {
+        private final SimulationLogic simulation;
+        private final int[] arrivalTimes;
+        private final int[] waitingTimes;
+        private final int allowedLateCustomers;
+        private int startedCustomers;
+        private int lateCustomers;
+
+        /**
+         * Constructs a monitor for a run with the given number of customers.
+         *
+         * @param simulation The simulation to cancel.
+         * @param customers  The number of customers that arrive.
+         */
+        private WaitMonitor(SimulationLogic simulation, int customers) {
+            this.simulation = simulation;
+            this.arrivalTimes = new int[customers];
+            this.waitingTimes = new int[customers];
+            this.allowedLateCustomers = customers - getPercentileRank(customers);
+        }
+
+        /**
+         * Notes the arrival time of every customer and the waiting time at the start of its checkout.
+         *
+         * @param type       The type of the event.
+         * @param time       The simulated time of the event in seconds.
+         * @param customerId The ID of the customer.
+         * @param lineIndex  The index of the checkout line.
+         * @param difficulty The checkout difficulty of the customer.
+         */
+        @Override
+        public void record(EventType type, int time, int customerId, int lineIndex, Customer.Difficulty difficulty) {
+            if (type == EventType.ARRIVAL) {
+                arrivalTimes[customerId] = time;
+            } else if (type == EventType.CHECKOUT_START) {
+                int waitingTime = time - arrivalTimes[customerId];
+                waitingTimes[startedCustomers++] = waitingTime;
+                // Once too many customers waited too long, the percentile cannot meet the target anymore
+                if (waitingTime > targetWaitingTime && ++lateCustomers > allowedLateCustomers) {
+                    simulation.cancel();
+                }
+            }
+        }
+
+        /**
+         * Returns the waiting time at the percentile, once every customer has been checked out.
+         *
+         * @return The waiting time at the percentile in seconds.
+         */
+        private int getPercentileWaitingTime() {
+            Arrays.sort(waitingTimes, 0, startedCustomers);
+            return waitingTimes[getPercentileRank(startedCustomers) - 1];
+        }
+    }
+}
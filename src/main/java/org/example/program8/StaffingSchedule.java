@@ -0,0 +1,179 @@
+package org.example.program8;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * This class holds the staffing found by a StaffingOptimizer: the fewest lines of every time block,
+ * together with the waiting time at the percentile those lines achieve and the number of simulations it took.
+ */
+public class StaffingSchedule {
+    private final int blockLength;
+    private final double percentile;
+    private final int targetWaitingTime;
+    private final int[] lines;
+    private final int[] customers;
+    private final int[] percentileWaitingTimes;
+    private final boolean[] targetMet;
+    private int simulationsRun;
+    private int simulationsStoppedEarly;
+
+    /**
+     * Constructs an empty schedule.
+     *
+     * @param blockLength       The length of a time block in seconds.
+     * @param percentile        The percentile of the waiting time the target applies to.
+     * @param targetWaitingTime The longest allowed waiting time at the percentile in seconds.
+     * @param blockCount        The number of blocks.
+     */
+    StaffingSchedule(int blockLength, double percentile, int targetWaitingTime, int blockCount) {
+        this.blockLength = blockLength;
+        this.percentile = percentile;
+        this.targetWaitingTime = targetWaitingTime;
+        this.lines = new int[blockCount];
+        this.customers = new int[blockCount];
+        this.percentileWaitingTimes = new int[blockCount];
+        this.targetMet = new boolean[blockCount];
+    }
+
+    /**
+     * Stores the result of one block. Different blocks can be stored from different threads.
+     *
+     * @param block                 The index of the block.
+     * @param customers             The number of customers arriving in the block.
+     * @param lines                 The number of lines chosen.
+     * @param percentileWaitingTime The waiting time at the percentile with those lines, or -1 if the run was stopped early.
+     * @param targetMet             Whether the target is met with those lines.
+     */
+    void setBlock(int block, int customers, int lines, int percentileWaitingTime, boolean targetMet) {
+        this.customers[block] = customers;
+        this.lines[block] = lines;
+        this.percentileWaitingTimes[block] = percentileWaitingTime;
+        this.targetMet[block] = targetMet;
+    }
+
+    /**
+     * Stores how many simulations the search took.
+     *
+     * @param simulationsRun          The number of simulations started.
+     * @param simulationsStoppedEarly The number of simulations cancelled because they could not meet the target.
+     */
+    void setSimulationCounts(int simulationsRun, int simulationsStoppedEarly) {
+        this.simulationsRun = simulationsRun;
+        this.simulationsStoppedEarly = simulationsStoppedEarly;
+    }
+
+    /**
+     * Returns the longest allowed waiting time at the percentile.
+     *
+     * @return The target waiting time in seconds.
+     */
+    public int getTargetWaitingTime() {
+        return targetWaitingTime;
+    }
+
+    /**
+     * Returns the number of blocks.
+     *
+     * @return The number of blocks.
+     */
+    public int getBlockCount() {
+        return lines.length;
+    }
+
+    /**
+     * Returns the time the given block starts at.
+     *
+     * @param block The index of the block.
+     * @return The start time of the block in seconds.
+     */
+    public int getBlockStartTime(int block) {
+        return block * blockLength;
+    }
+
+    /**
+     * Returns the fewest lines that meet the target in the given block.
+     *
+     * @param block The index of the block.
+     * @return The number of lines, 0 for a block without customers, or the maximum tried if the target cannot be met.
+     */
+    public int getLines(int block) {
+        return lines[block];
+    }
+
+    /**
+     * Returns the number of customers arriving in the given block.
+     *
+     * @param block The index of the block.
+     * @return The number of customers.
+     */
+    public int getCustomers(int block) {
+        return customers[block];
+    }
+
+    /**
+     * Returns the waiting time at the percentile with the chosen lines in the given block.
+     *
+     * @param block The index of the block.
+     * @return The waiting time in seconds, or -1 if even the maximum number of lines was stopped early.
+     */
+    public int getPercentileWaitingTime(int block) {
+        return percentileWaitingTimes[block];
+    }
+
+    /**
+     * Returns whether the target is met in the given block.
+     *
+     * @param block The index of the block.
+     * @return true if the chosen lines meet the target, false if even the maximum number of lines does not.
+     */
+    public boolean isTargetMet(int block) {
+        return targetMet[block];
+    }
+
+    /**
+     * Returns the sum of the lines over all blocks, a measure of the staff hours needed.
+     *
+     * @return The total number of line blocks.
+     */
+    public int getTotalLines() {
+        int total = 0;
+        for (int count : lines) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Returns the number of simulations the search started.
+     *
+     * @return The number of simulations.
+     */
+    public int getSimulationsRun() {
+        return simulationsRun;
+    }
+
+    /**
+     * Returns the number of simulations cancelled because they could no longer meet the target.
+     *
+     * @return The number of simulations stopped early.
+     */
+    public int getSimulationsStoppedEarly() {
+        return simulationsStoppedEarly;
+    }
+
+    /**
+     * Writes the schedule as CSV, one row per block.
+     *
+     * @param writer The writer to write to.
+     * @throws IOException If the schedule cannot be written.
+     */
+    public void writeCsv(Writer writer) throws IOException {
+        int percent = (int) Math.round(percentile * 100);
+        writer.write("block_start,customers,lines,p" + percent + "_wait,target_met\n");
+        for (int block = 0; block < lines.length; block++) {
+            writer.write(getBlockStartTime(block) + "," + customers[block] + "," + lines[block] + ","
+                    + percentileWaitingTimes[block] + "," + targetMet[block] + "\n");
+        }
+    }
+}
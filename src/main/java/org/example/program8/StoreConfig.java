@@ -0,0 +1,135 @@
+package org.example.program8;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class holds the configuration of one store in a fleet simulation:
+ * its name, the simulation parameters and the optional speed of each checkout line.
+ * Store files are CSV, one store per line:
+ * <pre>
+ * store,lines,arrival_frequency,easy_percentage,medium_percentage,difficult_percentage,lane_speeds
+ * downtown,3,45,20,60,20,1;1;0.5
+ * </pre>
+ * The lane speeds are separated by semicolons and may be left out. Blank lines, lines starting with #,
+ * and the header line starting with "store,lines" are skipped.
+ */
+public final class StoreConfig {
+    private final String name;
+    private final SimulationParameters parameters;
+    private final double[] laneSpeeds;
+
+    /**
+     * Constructs a new store configuration.
+     *
+     * @param name       The name of the store.
+     * @param parameters The simulation parameters of the store.
+     * @param laneSpeeds The speed multiplier of each checkout line, or null for normal speed.
+     */
+    public StoreConfig(String name, SimulationParameters parameters, double[] laneSpeeds) {
+        this.name = name;
+        this.parameters = parameters;
+        this.laneSpeeds = laneSpeeds == null ? null : laneSpeeds.clone();
+    }
+
+    /**
+     * Returns the name of the store.
+     *
+     * @return The name of the store.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the simulation parameters of the store.
+     *
+     * @return The simulation parameters.
+     */
+    public SimulationParameters getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Returns the speed multiplier of each checkout line.
+     *
+     * @return A copy of the lane speeds, or null if every line works at normal speed.
+     */
+    public double[] getLaneSpeeds() {
+        return laneSpeeds == null ? null : laneSpeeds.clone();
+    }
+
+    /**
+     * Reads the store configurations from the given CSV file.
+     *
+     * @param file The file to read.
+     * @return The stores in file order.
+     * @throws IOException If the file cannot be read.
+     */
+    public static List<StoreConfig> load(Path file) throws IOException {
+        List<StoreConfig> stores = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                // Skip blank lines, comments and the header
+                if (line.isEmpty() || line.startsWith("#") || line.startsWith("store,lines")) {
+                    continue;
+                }
+                stores.add(parse(line, file + ":" + lineNumber));
+            }
+        }
+        return stores;
+    }
+
+    /**
+     * Parses one store from a CSV line.
+     *
+     * @param line     The CSV line.
+     * @param location The file and line number, used in error messages.
+     * @return The store configuration.
+     */
+    static StoreConfig parse(String line, String location) {
+        String[] fields = line.split(",");
+        if (fields.length != 6 && fields.length != 7) {
+            throw new IllegalArgumentException(location + ": expected 6 or 7 fields but found " + fields.length);
+        }
+        try {
+            SimulationParameters parameters = new SimulationParameters(
+                    Integer.parseInt(fields[1].trim()),
+                    Integer.parseInt(fields[2].trim()),
+                    Integer.parseInt(fields[3].trim()),
+                    Integer.parseInt(fields[4].trim()),
+                    Integer.parseInt(fields[5].trim()));
+
+            double[] laneSpeeds = null;
+            if (fields.length == 7 && !fields[6].trim().isEmpty()) {
+                String[] speeds = fields[6].split(";");
+                laneSpeeds = new double[speeds.length];
+                for (int i = 0; i < speeds.length; i++) {
+                    laneSpeeds[i] = Double.parseDouble(speeds[i].trim());
+                }
+            }
+            return new StoreConfig(fields[0].trim(), parameters, laneSpeeds);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(location + ": invalid number " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns a string representation of the store.
+     *
+     * @return The name and parameters of the store.
+     */
+    @Override
+    public String toString() {
+        return name + " (" + parameters + ")";
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.program8;
+
+/**
+ * This class collects the outcome of the simulated days of one store.
+ * It keeps the waiting time of every customer, pooled over all days, together with the statistics of the daily
+ * average wait and the daily worker idle time, from which day-to-day variation and confidence intervals follow.
+ */
+public class StoreResults {
+    private final StoreConfig store;
+    private final RunningStatistics waitingTime = new RunningStatistics();
+    private final RunningStatistics dailyAverageWaitingTime = new RunningStatistics();
+    private final RunningStatistics dailyIdleTime = new RunningStatistics();
+
+    /**
+     * Constructs empty results for the given store.
+     *
+     * @param store The store, or null for results that combine several stores.
+     */
+    public StoreResults(StoreConfig store) {
+        this.store = store;
+    }
+
+    /**
+     * Adds the outcome of one simulated day.
+     *
+     * @param simulation The finished simulation of the day.
+     */
+    public void add(SimulationLogic simulation) {
+        waitingTime.merge(simulation.getWaitingTimeStatistics());
+        dailyAverageWaitingTime.add(simulation.getAverageWaitingTime());
+        dailyIdleTime.add(simulation.getAverageWorkerIdleTime());
+    }
+
+    /**
+     * Adds all days collected by other results.
+     *
+     * @param other The results to add.
+     */
+    public void merge(StoreResults other) {
+        waitingTime.merge(other.waitingTime);
+        dailyAverageWaitingTime.merge(other.dailyAverageWaitingTime);
+        dailyIdleTime.merge(other.dailyIdleTime);
+    }
+
+    /**
+     * Returns the store the results belong to.
+     *
+     * @return The store, or null for results that combine several stores.
+     */
+    public StoreConfig getStore() {
+        return store;
+    }
+
+    /**
+     * Returns the number of store days collected.
+     *
+     * @return The number of store days.
+     */
+    public long getDays() {
+        return dailyAverageWaitingTime.getCount();
+    }
+
+    /**
+     * Returns the statistics of the waiting time of every checked out customer.
+     *
+     * @return The waiting time statistics in seconds.
+     */
+    public RunningStatistics getWaitingTime() {
+        return waitingTime;
+    }
+
+    /**
+     * Returns the statistics of the average customer wait of each day.
+     *
+     * @return The daily average waiting time statistics in seconds.
+     */
+    public RunningStatistics getDailyAverageWaitingTime() {
+        return dailyAverageWaitingTime;
+    }
+
+    /**
+     * Returns the statistics of the worker idle time of each day, averaged over the lines of the store.
+     *
+     * @return The daily idle time statistics in seconds.
+     */
+    public RunningStatistics getDailyIdleTime() {
+        return dailyIdleTime;
+    }
+}
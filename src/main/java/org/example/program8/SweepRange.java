@@ -0,0 +1,63 @@
+package org.example.program8;
+
+/**
+ * This class represents an inclusive range of integer values visited with a fixed step,
+ * used for one dimension of a parameter sweep.
+ */
+public final class SweepRange {
+    private final int start;
+    private final int end;
+    private final int step;
+
+    /**
+     * Constructs a range from start to end, inclusive, with the given step.
+     *
+     * @param start The first value.
+     * @param end   The last value, included if it is reached by the step.
+     * @param step  The difference between two consecutive values.
+     */
+    public SweepRange(int start, int end, int step) {
+        if (step <= 0) {
+            throw new IllegalArgumentException("Step must be positive.");
+        }
+        if (end < start) {
+            throw new IllegalArgumentException("End must not be before start.");
+        }
+        this.start = start;
+        this.end = end;
+        this.step = step;
+    }
+
+    /**
+     * Constructs a range holding a single value.
+     *
+     * @param value The only value of the range.
+     * @return The range.
+     */
+    public static SweepRange of(int value) {
+        return new SweepRange(value, value, 1);
+    }
+
+    /**
+     * Returns the values of the range in increasing order.
+     *
+     * @return The values of the range.
+     */
+    public int[] getValues() {
+        int[] values = new int[(end - start) / step + 1];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = start + i * step;
+        }
+        return values;
+    }
+
+    /**
+     * Returns a string representation of the range.
+     *
+     * @return A string representation of the range.
+     */
+    @Override
+    public String toString() {
+        return start + ".." + end + " step " + step;
+    }
+}
@@ -0,0 +1,148 @@
+package org.example.program8;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * This class collects the results of a parameter sweep as the points finish.
+ * Every result is stored in an in-memory grid, indexed by the position of its point in the sweep,
+ * and, if a writer is given, appended to it as a CSV row.
+ */
+public class SweepResultTable implements Consumer<ReplicationResults> {
+    /**
+     * Header row of the CSV output.
+     */
+    static final String CSV_HEADER = "lines,arrival_frequency,easy_percentage,medium_percentage,difficult_percentage,"
+            + "replications,average_wait,average_wait_ci,average_idle,average_idle_ci";
+
+    private final ReplicationResults[] grid;
+    private final ConcurrentHashMap<SimulationParameters, Integer> pointIndexes = new ConcurrentHashMap<>();
+    private final Writer csvWriter;
+    private int completedPoints;
+
+    /**
+     * Constructs an empty table for the given sweep points.
+     *
+     * @param points    The points of the sweep, in grid order.
+     * @param csvWriter The writer CSV rows are appended to, or null to keep results in memory only.
+     */
+    public SweepResultTable(List<SimulationParameters> points, Writer csvWriter) {
+        grid = new ReplicationResults[points.size()];
+        for (int i = 0; i < points.size(); i++) {
+            pointIndexes.put(points.get(i), i);
+        }
+        this.csvWriter = csvWriter;
+        if (csvWriter != null) {
+            write(CSV_HEADER + "\n");
+        }
+    }
+
+    /**
+     * Records the results of a finished point. Called from the sweep threads as points finish.
+     *
+     * @param results The results of the point.
+     */
+    @Override
+    public synchronized void accept(ReplicationResults results) {
+        Integer index = pointIndexes.get(results.getParameters());
+        if (index == null) {
+            throw new IllegalArgumentException("Point is not part of the sweep: " + results.getParameters());
+        }
+        grid[index] = results;
+        completedPoints++;
+        if (csvWriter != null) {
+            write(toCsvRow(results));
+        }
+    }
+
+    /**
+     * Returns the results of the given point.
+     *
+     * @param parameters The parameters of the point.
+     * @return The results, or null if the point has not finished.
+     */
+    public synchronized ReplicationResults get(SimulationParameters parameters) {
+        Integer index = pointIndexes.get(parameters);
+        return index == null ? null : grid[index];
+    }
+
+    /**
+     * Returns the results of the point at the given position in the sweep.
+     *
+     * @param index The position of the point.
+     * @return The results, or null if the point has not finished.
+     */
+    public synchronized ReplicationResults get(int index) {
+        return grid[index];
+    }
+
+    /**
+     * Returns the number of points in the sweep.
+     *
+     * @return The number of points.
+     */
+    public int size() {
+        return grid.length;
+    }
+
+    /**
+     * Returns the number of points that have finished.
+     *
+     * @return The number of finished points.
+     */
+    public synchronized int getCompletedPoints() {
+        return completedPoints;
+    }
+
+    /**
+     * Formats the given results as a CSV row.
+     *
+     * @param results The results to format.
+     * @return The CSV row, ending with a newline.
+     */
+    static String toCsvRow(ReplicationResults results) {
+        SimulationParameters parameters = results.getParameters();
+        return String.format(Locale.ROOT, "%d,%d,%d,%d,%d,%d,%.3f,%s,%.3f,%s\n",
+                parameters.getNumberOfLines(),
+                parameters.getCustomerArrivalFrequency(),
+                parameters.getEasyCustomerPercentage(),
+                parameters.getMediumCustomerPercentage(),
+                parameters.getDifficultCustomerPercentage(),
+                results.getReplications(),
+                results.getAverageWaitingTime().getMean(),
+                formatHalfWidth(results.getAverageWaitingTime()),
+                results.getAverageIdleTime().getMean(),
+                formatHalfWidth(results.getAverageIdleTime()));
+    }
+
+    /**
+     * Formats the confidence interval half-width of the given statistics as a CSV field.
+     * With fewer than two values there is no interval, so the field is left empty instead of holding "Infinity".
+     *
+     * @param statistics The statistics to format.
+     * @return The half-width with three decimals, or an empty string.
+     */
+    static String formatHalfWidth(RunningStatistics statistics) {
+        double halfWidth = statistics.getConfidenceHalfWidth();
+        return Double.isInfinite(halfWidth) ? "" : String.format(Locale.ROOT, "%.3f", halfWidth);
+    }
+
+    /**
+     * Writes and flushes the given text, so finished points are visible while the sweep is running.
+     *
+     * @param text The text to write.
+     */
+    private void write(String text) {
+        try {
+            csvWriter.write(text);
+            csvWriter.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.program8;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * This class passes snapshots from the simulation thread to the JavaFX thread at a capped frame rate.
+ * Only the newest snapshot is kept, and at most one render is queued with Platform.runLater at a time,
+ * so the simulation never waits for the user interface and snapshots that arrive faster than the frame rate are dropped.
+ */
+class ThrottledSnapshotPublisher implements SnapshotListener {
+    /**
+     * The newest snapshot that has not been rendered yet, or null.
+     */
+    private final AtomicReference<SimulationSnapshot> latestSnapshot = new AtomicReference<>();
+
+    /**
+     * Whether a render is already queued on the JavaFX thread.
+     */
+    private final AtomicBoolean renderQueued = new AtomicBoolean();
+
+    /**
+     * Shows a snapshot, called on the JavaFX thread.
+     */
+    private final Consumer<SimulationSnapshot> renderer;
+
+    /**
+     * Smallest number of nanoseconds between two queued renders.
+     */
+    private final long frameNanos;
+
+    /**
+     * Time the last render was queued, only used on the simulation thread.
+     */
+    private long lastQueueTime;
+
+    /**
+     * Constructs a publisher that renders at most the given number of frames per second.
+     *
+     * @param framesPerSecond The largest number of renders per second.
+     * @param renderer        Shows a snapshot, called on the JavaFX thread.
+     */
+    ThrottledSnapshotPublisher(int framesPerSecond, Consumer<SimulationSnapshot> renderer) {
+        if (framesPerSecond <= 0) {
+            throw new IllegalArgumentException("Frames per second must be positive.");
+        }
+        this.frameNanos = 1_000_000_000L / framesPerSecond;
+        this.renderer = renderer;
+        this.lastQueueTime = System.nanoTime() - frameNanos;
+    }
+
+    /**
+     * Keeps the snapshot and queues a render if the last one is done and a frame has passed.
+     *
+     * @param snapshot The snapshot of the live results.
+     */
+    @Override
+    public void snapshotTaken(SimulationSnapshot snapshot) {
+        latestSnapshot.set(snapshot);
+        long now = System.nanoTime();
+        if (now - lastQueueTime >= frameNanos && renderQueued.compareAndSet(false, true)) {
+            lastQueueTime = now;
+            Platform.runLater(this::render);
+        }
+    }
+
+    /**
+     * Renders the newest snapshot on the JavaFX thread.
+     */
+    private void render() {
+        renderQueued.set(false);
+        SimulationSnapshot snapshot = latestSnapshot.getAndSet(null);
+        if (snapshot != null) {
+            renderer.accept(snapshot);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package org.example.program8;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class streams customer arrivals from a binary trace file written by MappedTraceWriter.
+ * Only the ARRIVAL records are used, with their time and checkout difficulty, so a recorded day can be replayed
+ * with other settings, such as a different number of lines.
+ * The file is memory-mapped one region at a time, so only the region being read is held in memory.
+ */
+public class TraceArrivalSource implements ArrivalSource, Closeable {
+    /**
+     * Number of records mapped at a time.
+     */
+    private static final int RECORDS_PER_REGION = 4 * 1024 * 1024;
+
+    private static final TraceSink.EventType[] TYPES = TraceSink.EventType.values();
+    private static final Customer.Difficulty[] DIFFICULTIES = Customer.Difficulty.values();
+
+    private final Path file;
+    private final FileChannel channel;
+    private final long recordCount;
+    private long recordsMapped;
+    private MappedByteBuffer region;
+
+    private int time = Integer.MIN_VALUE;
+    private Customer.Difficulty difficulty;
+
+    /**
+     * Opens the given trace file.
+     *
+     * @param file The trace file.
+     * @throws IOException If the file cannot be opened or is not a trace file.
+     */
+    public TraceArrivalSource(Path file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            this.recordCount = TraceReader.readHeader(channel);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Moves to the next ARRIVAL record.
+     *
+     * @return true if there is a next arrival, false at the end of the trace.
+     * @throws IllegalArgumentException If the arrival times decrease.
+     * @throws UncheckedIOException     If the file cannot be read.
+     */
+    @Override
+    public boolean next() {
+        while (true) {
+            if (region == null || !region.hasRemaining()) {
+                if (recordsMapped == recordCount) {
+                    return false;
+                }
+                mapNextRegion();
+            }
+            int recordTime = region.getInt();
+            region.getInt();
+            region.getInt();
+            TraceSink.EventType type = TYPES[region.get()];
+            Customer.Difficulty recordDifficulty = DIFFICULTIES[region.get()];
+            region.getShort();
+
+            if (type == TraceSink.EventType.ARRIVAL) {
+                if (recordTime < time) {
+                    throw new IllegalArgumentException(file + ": arrival times must not decrease");
+                }
+                time = recordTime;
+                difficulty = recordDifficulty;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns the time of the current arrival.
+     *
+     * @return The arrival time in simulated seconds.
+     */
+    @Override
+    public int getTime() {
+        return time;
+    }
+
+    /**
+     * Returns the checkout difficulty of the current arrival.
+     *
+     * @return The checkout difficulty recorded in the trace.
+     */
+    @Override
+    public Customer.Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        region = null;
+        channel.close();
+    }
+
+    /**
+     * Maps the next block of records.
+     */
+    private void mapNextRegion() {
+        long count = Math.min(RECORDS_PER_REGION, recordCount - recordsMapped);
+        long position = MappedTraceWriter.HEADER_SIZE + recordsMapped * MappedTraceWriter.RECORD_SIZE;
+        try {
+            region = channel.map(FileChannel.MapMode.READ_ONLY, position, count * MappedTraceWriter.RECORD_SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + file, e);
+        }
+        recordsMapped += count;
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.program8;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class replays a trace file written by MappedTraceWriter into a TraceSink, record by record.
+ * Replaying into a TraceStatistics rebuilds the queue of every line and recomputes the waiting time statistics.
+ * It can also be run from the command line to inspect a trace:
+ * <pre>
+ * java -cp target/classes org.example.program8.TraceReader trace.bin [--dump N]
+ * </pre>
+ */
+public class TraceReader {
+    /**
+     * Number of records mapped at a time.
+     */
+    private static final int RECORDS_PER_REGION = 4 * 1024 * 1024;
+
+    /**
+     * Constructs a new TraceReader. All methods are static.
+     */
+    private TraceReader() {
+    }
+
+    /**
+     * Replays every record of the given trace file into the given sink.
+     *
+     * @param file The trace file.
+     * @param sink The sink that receives the records in file order.
+     * @return The number of records replayed.
+     * @throws IOException If the file cannot be read or is not a trace file.
+     */
+    public static long replay(Path file, TraceSink sink) throws IOException {
+        return replay(file, sink, Long.MAX_VALUE);
+    }
+
+    /**
+     * Replays the first records of the given trace file into the given sink.
+     *
+     * @param file       The trace file.
+     * @param sink       The sink that receives the records in file order.
+     * @param maxRecords The largest number of records to replay.
+     * @return The number of records replayed.
+     * @throws IOException If the file cannot be read or is not a trace file.
+     */
+    public static long replay(Path file, TraceSink sink, long maxRecords) throws IOException {
+        TraceSink.EventType[] types = TraceSink.EventType.values();
+        Customer.Difficulty[] difficulties = Customer.Difficulty.values();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long recordCount = Math.min(readHeader(channel), maxRecords);
+
+            long replayed = 0;
+            while (replayed < recordCount) {
+                // Map the next block of records
+                long count = Math.min(RECORDS_PER_REGION, recordCount - replayed);
+                long position = MappedTraceWriter.HEADER_SIZE + replayed * MappedTraceWriter.RECORD_SIZE;
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, count * MappedTraceWriter.RECORD_SIZE);
+
+                for (long i = 0; i < count; i++) {
+                    int time = region.getInt();
+                    int customerId = region.getInt();
+                    int lineIndex = region.getInt();
+                    TraceSink.EventType type = types[region.get()];
+                    Customer.Difficulty difficulty = difficulties[region.get()];
+                    region.getShort();
+                    sink.record(type, time, customerId, lineIndex, difficulty);
+                }
+                replayed += count;
+            }
+            return replayed;
+        }
+    }
+
+    /**
+     * Reads and checks the header of a trace file.
+     *
+     * @param channel The channel of the trace file.
+     * @return The number of records in the file, which may end with unused bytes after them.
+     * @throws IOException If the header cannot be read or does not describe a complete trace.
+     */
+    static long readHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(MappedTraceWriter.HEADER_SIZE);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                throw new IOException("Trace file is too short.");
+            }
+        }
+        header.flip();
+        if (header.getInt() != MappedTraceWriter.MAGIC) {
+            throw new IOException("Not a trace file.");
+        }
+        short version = header.getShort();
+        if (version != MappedTraceWriter.VERSION) {
+            throw new IOException("Unsupported trace version " + version + ".");
+        }
+        if (header.getShort() != MappedTraceWriter.RECORD_SIZE) {
+            throw new IOException("Unexpected trace record size.");
+        }
+        long recordCount = header.getLong();
+        // The file may be longer than the records it holds, the unused bytes at the end are ignored
+        if (channel.size() < MappedTraceWriter.HEADER_SIZE + recordCount * MappedTraceWriter.RECORD_SIZE) {
+            throw new IOException("Trace file is truncated.");
+        }
+        return recordCount;
+    }
+
+    /**
+     * Prints the statistics recomputed from a trace file, and optionally its first records.
+     *
+     * @param args The trace file, optionally followed by --dump and the number of records to print.
+     */
+    public static void main(String[] args) {
+        if (args.length != 1 && !(args.length == 3 && args[1].equals("--dump"))) {
+            System.err.println("Usage: TraceReader FILE [--dump N]");
+            System.exit(2);
+        }
+        try {
+            Path file = Paths.get(args[0]);
+            if (args.length == 3) {
+                replay(file, (type, time, customerId, lineIndex, difficulty) ->
+                        System.out.println(time + "\t" + type + "\tcustomer " + customerId + "\tline " + (lineIndex + 1) + "\t" + difficulty),
+                        Long.parseLong(args[2]));
+                System.out.println();
+            }
+            TraceStatistics statistics = new TraceStatistics();
+            replay(file, statistics);
+            System.out.println(statistics.getReport());
+        } catch (IOException | NumberFormatException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.program8;
+
+/**
+ * This interface receives one record for every customer event of a running simulation.
+ * It is called on the thread that runs the simulation, once per event, so implementations should not allocate.
+ */
+public interface TraceSink {
+
+    /**
+     * Called when a customer event happens.
+     *
+     * @param type       The type of the event.
+     * @param time       The simulated time of the event in seconds.
+     * @param customerId The ID of the customer.
+     * @param lineIndex  The index of the checkout line.
+     * @param difficulty The checkout difficulty of the customer.
+     */
+    void record(EventType type, int time, int customerId, int lineIndex, Customer.Difficulty difficulty);
+
+    /**
+     * This enum represents the type of a traced customer event.
+     * ARRIVAL is recorded when a customer joins a line, CHECKOUT_START when its checkout starts,
+     * and CHECKOUT_COMPLETE when it leaves the line.
+     */
+    enum EventType {
+        ARRIVAL, CHECKOUT_START, CHECKOUT_COMPLETE
+    }
+}
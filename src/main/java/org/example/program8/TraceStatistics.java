@@ -0,0 +1,165 @@
+package org.example.program8;
+
+import java.util.Arrays;
+
+/**
+ * This class rebuilds the state of the checkout lines from a stream of trace records
+ * and recomputes the waiting and checkout time statistics of the traced simulation.
+ * Customer IDs must be numbered from 0 within the trace, as they are within one simulation.
+ */
+public class TraceStatistics implements TraceSink {
+    private int[] arrivalTime = new int[1024];
+    private int[] checkoutStartTime = new int[1024];
+    private int[] queueLength = new int[0];
+    private int[] maximumQueueLength = new int[0];
+    private RunningStatistics[] waitingTimePerLine = new RunningStatistics[0];
+    private final RunningStatistics waitingTime = new RunningStatistics();
+    private final RunningStatistics checkoutTime = new RunningStatistics();
+    private final int[] customersPerDifficulty = new int[Customer.Difficulty.values().length];
+    private int lastTime;
+
+    /**
+     * Applies one trace record to the rebuilt line state.
+     *
+     * @param type       The type of the event.
+     * @param time       The simulated time of the event in seconds.
+     * @param customerId The ID of the customer.
+     * @param lineIndex  The index of the checkout line.
+     * @param difficulty The checkout difficulty of the customer.
+     */
+    @Override
+    public void record(EventType type, int time, int customerId, int lineIndex, Customer.Difficulty difficulty) {
+        ensureCapacity(customerId, lineIndex);
+        lastTime = time;
+        switch (type) {
+            case ARRIVAL:
+                arrivalTime[customerId] = time;
+                customersPerDifficulty[difficulty.ordinal()]++;
+                queueLength[lineIndex]++;
+                maximumQueueLength[lineIndex] = Math.max(maximumQueueLength[lineIndex], queueLength[lineIndex]);
+                break;
+            case CHECKOUT_START:
+                checkoutStartTime[customerId] = time;
+                break;
+            default:
+                // The customer leaves the line, so its wait and checkout time are known
+                int wait = checkoutStartTime[customerId] - arrivalTime[customerId];
+                waitingTime.add(wait);
+                waitingTimePerLine[lineIndex].add(wait);
+                checkoutTime.add(time - checkoutStartTime[customerId]);
+                queueLength[lineIndex]--;
+                break;
+        }
+    }
+
+    /**
+     * Grows the arrays so the given customer and line fit.
+     *
+     * @param customerId The ID of the customer.
+     * @param lineIndex  The index of the line.
+     */
+    private void ensureCapacity(int customerId, int lineIndex) {
+        if (customerId >= arrivalTime.length) {
+            int capacity = Math.max(customerId + 1, arrivalTime.length * 2);
+            arrivalTime = Arrays.copyOf(arrivalTime, capacity);
+            checkoutStartTime = Arrays.copyOf(checkoutStartTime, capacity);
+        }
+        if (lineIndex >= queueLength.length) {
+            int lines = lineIndex + 1;
+            queueLength = Arrays.copyOf(queueLength, lines);
+            maximumQueueLength = Arrays.copyOf(maximumQueueLength, lines);
+            int oldLines = waitingTimePerLine.length;
+            waitingTimePerLine = Arrays.copyOf(waitingTimePerLine, lines);
+            for (int i = oldLines; i < lines; i++) {
+                waitingTimePerLine[i] = new RunningStatistics();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of lines seen in the trace.
+     *
+     * @return The number of lines.
+     */
+    public int getNumberOfLines() {
+        return queueLength.length;
+    }
+
+    /**
+     * Returns the number of customers in the given line after the records replayed so far.
+     *
+     * @param lineIndex The index of the line.
+     * @return The current queue length.
+     */
+    public int getQueueLength(int lineIndex) {
+        return queueLength[lineIndex];
+    }
+
+    /**
+     * Returns the longest queue the given line had.
+     *
+     * @param lineIndex The index of the line.
+     * @return The maximum queue length.
+     */
+    public int getMaximumQueueLength(int lineIndex) {
+        return maximumQueueLength[lineIndex];
+    }
+
+    /**
+     * Returns the statistics of the waiting time of every customer that left a line.
+     *
+     * @return The waiting time statistics in seconds.
+     */
+    public RunningStatistics getWaitingTime() {
+        return waitingTime;
+    }
+
+    /**
+     * Returns the statistics of the waiting time of the customers that left the given line.
+     *
+     * @param lineIndex The index of the line.
+     * @return The waiting time statistics in seconds.
+     */
+    public RunningStatistics getWaitingTime(int lineIndex) {
+        return waitingTimePerLine[lineIndex];
+    }
+
+    /**
+     * Returns the statistics of the checkout duration of every customer that left a line.
+     *
+     * @return The checkout duration statistics in seconds.
+     */
+    public RunningStatistics getCheckoutTime() {
+        return checkoutTime;
+    }
+
+    /**
+     * Returns the number of customers of the given difficulty that arrived.
+     *
+     * @param difficulty The checkout difficulty.
+     * @return The number of customers.
+     */
+    public int getCustomers(Customer.Difficulty difficulty) {
+        return customersPerDifficulty[difficulty.ordinal()];
+    }
+
+    /**
+     * Gets a report of the statistics recomputed from the trace.
+     *
+     * @return A string containing the trace statistics.
+     */
+    public String getReport() {
+        StringBuilder output = new StringBuilder("Trace Statistics");
+        output.append("\n\nLast Event Time: ").append(lastTime).append(" s");
+        for (Customer.Difficulty difficulty : Customer.Difficulty.values()) {
+            output.append("\n").append(difficulty).append(" Customers: ").append(getCustomers(difficulty));
+        }
+        output.append(String.format("\n\nCustomers Checked Out: %d\nAverage Wait Time: %.1f s, maximum %.0f s\nAverage Checkout Time: %.1f s",
+                waitingTime.getCount(), waitingTime.getMean(), waitingTime.getMaximum(), checkoutTime.getMean()));
+        for (int i = 0; i < queueLength.length; i++) {
+            output.append(String.format("\n\tCheckout Line %d: %d customers, average wait %.1f s, longest queue %d, still waiting %d",
+                    i + 1, waitingTimePerLine[i].getCount(), waitingTimePerLine[i].getMean(), maximumQueueLength[i], queueLength[i]));
+        }
+        return output.toString();
+    }
+}
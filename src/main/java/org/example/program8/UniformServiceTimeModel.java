@@ -0,0 +1,86 @@
+package org.example.program8;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * This class draws checkout times uniformly between a shortest and a longest time for every difficulty.
+ */
+public class UniformServiceTimeModel implements ServiceTimeModel {
+    private final double[] minimum;
+    private final double[] maximum;
+    private final double[] width;
+
+    /**
+     * Constructs a model with the given ranges, in difficulty order.
+     *
+     * @param minimum The shortest checkout time of every difficulty in seconds.
+     * @param maximum The longest checkout time of every difficulty in seconds.
+     */
+    public UniformServiceTimeModel(double[] minimum, double[] maximum) {
+        int difficulties = Customer.Difficulty.values().length;
+        if (minimum.length != difficulties || maximum.length != difficulties) {
+            throw new IllegalArgumentException("Expected a range for each of the " + difficulties + " difficulties.");
+        }
+        this.minimum = minimum.clone();
+        this.maximum = maximum.clone();
+        this.width = new double[difficulties];
+        for (int i = 0; i < difficulties; i++) {
+            if (minimum[i] < 0 || maximum[i] < minimum[i]) {
+                throw new IllegalArgumentException("Invalid checkout time range " + minimum[i] + " to " + maximum[i] + ".");
+            }
+            width[i] = maximum[i] - minimum[i];
+        }
+    }
+
+    /**
+     * Constructs a model that spreads the given fixed times evenly by the given fraction in both directions.
+     * A spread of 0.5 turns a two-minute checkout into one of one to three minutes.
+     *
+     * @param base   The fixed times to spread.
+     * @param spread The fraction of the fixed time added and subtracted, from 0 to 1.
+     * @return The uniform model.
+     */
+    public static UniformServiceTimeModel around(FixedServiceTimeModel base, double spread) {
+        if (spread < 0 || spread > 1) {
+            throw new IllegalArgumentException("Spread must be between 0 and 1.");
+        }
+        Customer.Difficulty[] difficulties = Customer.Difficulty.values();
+        double[] minimum = new double[difficulties.length];
+        double[] maximum = new double[difficulties.length];
+        for (Customer.Difficulty difficulty : difficulties) {
+            minimum[difficulty.ordinal()] = base.getCheckoutTime(difficulty) * (1 - spread);
+            maximum[difficulty.ordinal()] = base.getCheckoutTime(difficulty) * (1 + spread);
+        }
+        return new UniformServiceTimeModel(minimum, maximum);
+    }
+
+    /**
+     * Draws a checkout time uniformly from the range of the given difficulty.
+     *
+     * @param difficulty The checkout difficulty of the customer.
+     * @param random     The random number generator to draw from.
+     * @return The checkout time in seconds.
+     */
+    @Override
+    public double draw(Customer.Difficulty difficulty, RandomGenerator random) {
+        int i = difficulty.ordinal();
+        return minimum[i] + width[i] * random.nextDouble();
+    }
+
+    /**
+     * Describes the model as "uniform" followed by the shortest and then the longest time of every difficulty.
+     *
+     * @return The description.
+     */
+    @Override
+    public String describe() {
+        StringBuilder description = new StringBuilder("uniform");
+        for (double time : minimum) {
+            description.append(' ').append(time);
+        }
+        for (double time : maximum) {
+            description.append(' ').append(time);
+        }
+        return description.toString();
+    }
+}
@@ -0,0 +1,203 @@
+package org.example.program8;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * This class checks that a simulation interrupted after a checkpoint and resumed from it gives the results
+ * of a run that was never interrupted.
+ */
+class CheckpointTest {
+    /**
+     * The simulation parameters of every run.
+     */
+    private static final SimulationParameters PARAMETERS = new SimulationParameters(3, 25, 20, 60, 20);
+
+    /**
+     * Number of simulated seconds between two checkpoints.
+     */
+    private static final int CHECKPOINT_INTERVAL = 1800;
+
+    /**
+     * Directory for the checkpoint files, removed after each test.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Checks interrupt and resume over both engines, both customer stores, both difficulty samplings and lane speeds,
+     * with the interruption early in the day, in the middle and while the last customers are checked out.
+     *
+     * @throws IOException If the checkpoint cannot be written or read.
+     */
+    @Test
+    void resumedRunMatchesUninterruptedRun() throws IOException {
+        double[][] laneSpeeds = {null, {2.0, 0.5}};
+        for (SimulationLogic.EngineMode engineMode : SimulationLogic.EngineMode.values()) {
+            for (SimulationLogic.CustomerStorage storage : SimulationLogic.CustomerStorage.values()) {
+                for (SimulationLogic.DifficultySampling sampling : SimulationLogic.DifficultySampling.values()) {
+                    for (double[] speeds : laneSpeeds) {
+                        Consumer<SimulationLogic> settings = simulation -> {
+                            simulation.setEngineMode(engineMode);
+                            simulation.setCustomerStorage(storage);
+                            simulation.setDifficultySampling(sampling);
+                            simulation.setLaneSpeeds(speeds);
+                        };
+                        String expected = runUninterrupted(settings);
+                        for (int cancelTime : new int[]{2000, 20000, 50000}) {
+                            String where = engineMode + " " + storage + " " + sampling + " cancelled at " + cancelTime;
+                            assertEquals(expected, runInterrupted(settings, simulation -> { }, cancelTime), where);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks that a run interrupted several times, each time resumed from the latest checkpoint, still gives the same results.
+     *
+     * @throws IOException If the checkpoint cannot be written or read.
+     */
+    @Test
+    void resumesSeveralTimes() throws IOException {
+        String expected = runUninterrupted(simulation -> { });
+        Path checkpoint = directory.resolve("checkpoint.bin");
+
+        SimulationLogic first = createSimulation();
+        first.setCheckpointFile(checkpoint, CHECKPOINT_INTERVAL);
+        cancelAt(first, 10000);
+        assertThrows(CancellationException.class, () -> first.startSimulation(PARAMETERS));
+
+        for (int cancelTime : new int[]{20000, 30000, 45000}) {
+            SimulationLogic next = new SimulationLogic();
+            next.setCheckpointFile(checkpoint, CHECKPOINT_INTERVAL);
+            cancelAt(next, cancelTime);
+            assertThrows(CancellationException.class, () -> next.resumeSimulation(checkpoint));
+        }
+
+        SimulationLogic last = new SimulationLogic();
+        last.resumeSimulation(checkpoint);
+        assertEquals(expected, getResults(last));
+    }
+
+    /**
+     * Checks that the service time model of the checkpoint is restored, even if the resuming simulation has the default model.
+     *
+     * @throws IOException If the checkpoint cannot be written or read.
+     */
+    @Test
+    void restoresServiceTimeModel() throws IOException {
+        Consumer<SimulationLogic> lognormal = simulation -> simulation.setServiceTimeModel(LognormalServiceTimeModel.around(FixedServiceTimeModel.DEFAULT, 0.6));
+        assertEquals(runUninterrupted(lognormal), runInterrupted(lognormal, simulation -> { }, 20000));
+    }
+
+    /**
+     * Checks that a checkpoint of the fixed model is resumed with the fixed model, even if the resuming simulation has another one.
+     *
+     * @throws IOException If the checkpoint cannot be written or read.
+     */
+    @Test
+    void replacesServiceTimeModelOfResumingSimulation() throws IOException {
+        Consumer<SimulationLogic> uniform = simulation -> simulation.setServiceTimeModel(UniformServiceTimeModel.around(FixedServiceTimeModel.DEFAULT, 0.5));
+        assertEquals(runUninterrupted(simulation -> { }), runInterrupted(simulation -> { }, uniform, 20000));
+    }
+
+    /**
+     * Checks that a model that cannot be described is refused before the simulation starts.
+     */
+    @Test
+    void refusesModelWithoutDescription() {
+        SimulationLogic simulation = createSimulation();
+        simulation.setServiceTimeModel((difficulty, random) -> 30 + 60 * random.nextDouble());
+        simulation.setCheckpointFile(directory.resolve("checkpoint.bin"), CHECKPOINT_INTERVAL);
+        assertThrows(IllegalStateException.class, () -> simulation.startSimulation(PARAMETERS));
+    }
+
+    /**
+     * Runs a simulation from start to end without checkpoints.
+     *
+     * @param settings Applies the settings of the run.
+     * @return The results of the simulation.
+     */
+    private static String runUninterrupted(Consumer<SimulationLogic> settings) {
+        SimulationLogic simulation = createSimulation();
+        settings.accept(simulation);
+        simulation.startSimulation(PARAMETERS);
+        return getResults(simulation);
+    }
+
+    /**
+     * Runs a simulation with checkpoints, cancels it at the given time and resumes it on a new simulation.
+     *
+     * @param settings       Applies the settings of the interrupted run.
+     * @param resumeSettings Applies settings to the resuming simulation before it reads the checkpoint.
+     * @param cancelTime     The simulated time the first run is cancelled at.
+     * @return The results of the resumed simulation.
+     * @throws IOException If the checkpoint cannot be written or read.
+     */
+    private String runInterrupted(Consumer<SimulationLogic> settings, Consumer<SimulationLogic> resumeSettings, int cancelTime) throws IOException {
+        Path checkpoint = directory.resolve("checkpoint.bin");
+        SimulationLogic interrupted = createSimulation();
+        settings.accept(interrupted);
+        interrupted.setCheckpointFile(checkpoint, CHECKPOINT_INTERVAL);
+        cancelAt(interrupted, cancelTime);
+        assertThrows(CancellationException.class, () -> interrupted.startSimulation(PARAMETERS));
+        assertTrue(Files.exists(checkpoint));
+
+        SimulationLogic resumed = new SimulationLogic();
+        resumeSettings.accept(resumed);
+        resumed.resumeSimulation(checkpoint);
+        return getResults(resumed);
+    }
+
+    /**
+     * Makes the given simulation cancel itself once its clock reaches the given time.
+     *
+     * @param simulation The simulation to cancel.
+     * @param cancelTime The simulated time to cancel at.
+     */
+    private static void cancelAt(SimulationLogic simulation, int cancelTime) {
+        simulation.setProgressListener((currentTime, simulationDuration) -> {
+            if (currentTime >= cancelTime) {
+                simulation.cancel();
+            }
+        });
+    }
+
+    /**
+     * Creates a seeded simulation with the streaming statistics that checkpoints need.
+     *
+     * @return The simulation.
+     */
+    private static SimulationLogic createSimulation() {
+        SimulationLogic simulation = new SimulationLogic();
+        simulation.setStatisticsMode(SimulationLogic.StatisticsMode.STREAMING);
+        simulation.setSeed(3);
+        return simulation;
+    }
+
+    /**
+     * Returns everything a simulation reports, to compare two runs.
+     *
+     * @param simulation The finished simulation.
+     * @return The parameters, the results report and the waiting and checkout time statistics.
+     */
+    private static String getResults(SimulationLogic simulation) {
+        RunningStatistics waitingTime = simulation.getWaitingTimeStatistics();
+        RunningStatistics checkoutTime = simulation.getCheckoutTimeStatistics();
+        return simulation.getParameters() + "\n" + simulation.getSimulationResults()
+                + "\n" + waitingTime.getCount() + " " + waitingTime.getMean() + " " + waitingTime.getVariance() + " " + waitingTime.getMaximum()
+                + "\n" + checkoutTime.getCount() + " " + checkoutTime.getMean() + " " + checkoutTime.getVariance() + " " + checkoutTime.getMaximum();
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.program8;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * This class checks that simulations running on separate threads at the same time do not affect each other.
+ */
+class ConcurrentSimulationTest {
+    /**
+     * Number of simulations run at the same time.
+     */
+    private static final int SIMULATIONS = 64;
+
+    /**
+     * Number of threads the simulations are run on.
+     */
+    private static final int THREADS = 16;
+
+    /**
+     * Arrival frequencies in seconds. Each one divides the day into a number of customers that the 20/60/20 mix splits exactly.
+     */
+    private static final int[] FREQUENCIES = {10, 20, 30, 60, 120, 360};
+
+    /**
+     * Runs many seeded simulations at once on a thread pool and checks that each one reports exactly
+     * the same results as the same simulation run on its own.
+     *
+     * @throws Exception If a simulation fails or the thread is interrupted.
+     */
+    @Test
+    void concurrentSimulationsMatchSequentialRuns() throws Exception {
+        // Run every simulation on its own first
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < SIMULATIONS; i++) {
+            expected.add(runSimulation(i));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            // Hold every task at the latch, so as many simulations as possible overlap
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < SIMULATIONS; i++) {
+                int index = i;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return runSimulation(index);
+                }));
+            }
+            start.countDown();
+
+            for (int i = 0; i < SIMULATIONS; i++) {
+                assertEquals(expected.get(i), futures.get(i).get(), "Simulation " + i + " differs when run concurrently");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs one seeded simulation. The settings vary with the index, so the threads run different workloads.
+     *
+     * @param index The index of the simulation.
+     * @return The results report, followed by the waiting time statistics.
+     */
+    private static String runSimulation(int index) {
+        SimulationLogic simulation = new SimulationLogic();
+        simulation.setEngineMode(SimulationLogic.EngineMode.values()[index % 2]);
+        simulation.setCustomerStorage(SimulationLogic.CustomerStorage.values()[index / 2 % 2]);
+        simulation.setSeed(1000 + index);
+        simulation.startSimulation(1 + index % 4, FREQUENCIES[index % FREQUENCIES.length], 20, 60, 20);
+
+        RunningStatistics waitingTime = simulation.getWaitingTimeStatistics();
+        return simulation.getSimulationResults() + "\n" + waitingTime.getCount() + " " + waitingTime.getMean() + " " + waitingTime.getVariance();
+    }
+}
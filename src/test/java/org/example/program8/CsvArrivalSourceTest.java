@@ -0,0 +1,135 @@
+package org.example.program8;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * This class checks how CsvArrivalSource parses arrival files.
+ */
+class CsvArrivalSourceTest {
+    /**
+     * Directory for the CSV files, removed after each test.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Checks every accepted spelling of the difficulties, with a header and a line without a difficulty.
+     *
+     * @throws IOException If the file cannot be written or read.
+     */
+    @Test
+    void parsesTimesAndDifficulties() throws IOException {
+        List<String> arrivals = readAll("time,difficulty\n"
+                + "1,easy\n2,MEDIUM\n3,Difficult\n"
+                + "4,e\n5,M\n6,d\n"
+                + "7,0\n8,1\n9,2\n"
+                + "10\n11, easy ,extra column\n12,\r\n");
+
+        assertEquals(List.of("1 EASY", "2 MEDIUM", "3 DIFFICULT", "4 EASY", "5 MEDIUM", "6 DIFFICULT",
+                "7 EASY", "8 MEDIUM", "9 DIFFICULT", "10 null", "11 EASY", "12 null"), arrivals);
+    }
+
+    /**
+     * Checks that a difficulty only matches as a whole field, not by its first character.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    @Test
+    void rejectsUnknownDifficulties() throws IOException {
+        for (String difficulty : new String[]{"10", "Dog", "Expensive", "ea sy", "easyy", "3", "difficultdifficult"}) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> readAll("5," + difficulty + "\n"), difficulty);
+            assertTrue(e.getMessage().endsWith(":1: unknown difficulty"), e.getMessage());
+        }
+    }
+
+    /**
+     * Checks that the header is found on the first line that is not blank, and only there.
+     *
+     * @throws IOException If the file cannot be written or read.
+     */
+    @Test
+    void detectsHeaderOnFirstLineThatIsNotBlank() throws IOException {
+        assertEquals(List.of("30 EASY", "45 null"), readAll("\n  \r\ntime,difficulty\n30,easy\n\n45\n"));
+        assertEquals(List.of("30 EASY"), readAll("\"time\",\"difficulty\"\r\n30,e\r\n"));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> readAll("time\n30\ntime\n"));
+        assertTrue(e.getMessage().endsWith(":3: expected an arrival time"), e.getMessage());
+    }
+
+    /**
+     * Checks that negative times are rejected, also on the first line, instead of being taken as a header.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    @Test
+    void rejectsNegativeTimes() throws IOException {
+        IllegalArgumentException first = assertThrows(IllegalArgumentException.class, () -> readAll("-5,easy\n10,easy\n"));
+        assertTrue(first.getMessage().endsWith(":1: arrival times must not be negative"), first.getMessage());
+
+        IllegalArgumentException later = assertThrows(IllegalArgumentException.class, () -> readAll("time\n\n-1\n"));
+        assertTrue(later.getMessage().endsWith(":3: arrival times must not be negative"), later.getMessage());
+    }
+
+    /**
+     * Checks that decreasing times are rejected.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    @Test
+    void rejectsDecreasingTimes() throws IOException {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> readAll("10\n20\n15\n"));
+        assertTrue(e.getMessage().endsWith(":3: arrival times must not decrease"), e.getMessage());
+    }
+
+    /**
+     * Checks a file much larger than one read block, so lines are split across blocks.
+     *
+     * @throws IOException If the file cannot be written or read.
+     */
+    @Test
+    void readsLinesAcrossBlocks() throws IOException {
+        StringBuilder text = new StringBuilder("time,difficulty\n");
+        String[] names = {"easy", "medium", "difficult"};
+        for (int i = 0; i < 50000; i++) {
+            text.append(i).append(',').append(names[i % 3]).append('\n');
+        }
+        List<String> arrivals = readAll(text.toString());
+
+        assertEquals(50000, arrivals.size());
+        for (int i = 0; i < arrivals.size(); i++) {
+            assertEquals(i + " " + Customer.Difficulty.values()[i % 3], arrivals.get(i));
+        }
+    }
+
+    /**
+     * Writes the given text to a file and reads every arrival from it.
+     *
+     * @param text The contents of the CSV file.
+     * @return Each arrival as its time and difficulty, separated by a space.
+     * @throws IOException If the file cannot be written or read.
+     */
+    private List<String> readAll(String text) throws IOException {
+        Path file = directory.resolve("arrivals.csv");
+        Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+
+        List<String> arrivals = new ArrayList<>();
+        try (CsvArrivalSource source = new CsvArrivalSource(file)) {
+            while (source.next()) {
+                arrivals.add(source.getTime() + " " + source.getDifficulty());
+            }
+        }
+        return arrivals;
+    }
+}
@@ -0,0 +1,125 @@
+package org.example.program8;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * This class checks that the tick engine and the event engine give exactly the same results and
+ * record exactly the same trace, event for event and in the same order.
+ */
+class EngineEquivalenceTest {
+    /**
+     * Number of seconds during which customers arrive. Shorter than a day to keep the test fast.
+     */
+    private static final int SIMULATION_DURATION = 7200;
+
+    /**
+     * Customer mixes as easy, medium and difficult percentages.
+     */
+    private static final int[][] MIXES = {{20, 60, 20}, {100, 0, 0}, {0, 0, 100}, {33, 33, 34}, {50, 25, 25}};
+
+    /**
+     * Arrival frequencies in seconds, from overloaded lines to mostly idle ones.
+     */
+    private static final int[] FREQUENCIES = {7, 30, 60, 200};
+
+    /**
+     * Lane speeds, from all lines at normal speed to a mix of fast and slow lines.
+     * Lines without an entry work at normal speed, so each entry is used only with at least as many lines.
+     */
+    private static final double[][] LANE_SPEEDS = {null, {0.25}, {2.0, 0.5}, {2.0, 0.5, 1.5}};
+
+    /**
+     * Checks both engines against each other over lanes, mixes, arrival frequencies, lane speeds and customer storage.
+     */
+    @Test
+    void enginesAgreeWithFixedServiceTimes() {
+        for (int lines = 1; lines <= 5; lines++) {
+            for (int[] mix : MIXES) {
+                for (int frequency : FREQUENCIES) {
+                    for (double[] speeds : LANE_SPEEDS) {
+                        if (speeds != null && speeds.length > lines) {
+                            continue;
+                        }
+                        for (SimulationLogic.CustomerStorage storage : SimulationLogic.CustomerStorage.values()) {
+                            SimulationParameters parameters = new SimulationParameters(lines, frequency, mix[0], mix[1], mix[2]);
+                            assertEnginesAgree(parameters, speeds, storage, null);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks both engines against each other with service times drawn at random, which exercises the per-lane random streams.
+     */
+    @Test
+    void enginesAgreeWithRandomServiceTimes() {
+        FixedServiceTimeModel fixed = FixedServiceTimeModel.DEFAULT;
+        ServiceTimeModel[] models = {UniformServiceTimeModel.around(fixed, 0.5), LognormalServiceTimeModel.around(fixed, 0.8)};
+        for (ServiceTimeModel model : models) {
+            for (int lines = 1; lines <= 4; lines++) {
+                for (int frequency : FREQUENCIES) {
+                    for (double[] speeds : LANE_SPEEDS) {
+                        if (speeds != null && speeds.length > lines) {
+                            continue;
+                        }
+                        SimulationParameters parameters = new SimulationParameters(lines, frequency, 20, 60, 20);
+                        assertEnginesAgree(parameters, speeds, SimulationLogic.CustomerStorage.OBJECTS, model);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs the same seeded simulation with both engines and checks that the results and traces are equal.
+     *
+     * @param parameters The simulation parameters.
+     * @param speeds     The lane speeds, or null for normal speed.
+     * @param storage    The customer storage.
+     * @param model      The service time model, or null for the default.
+     */
+    private static void assertEnginesAgree(SimulationParameters parameters, double[] speeds, SimulationLogic.CustomerStorage storage, ServiceTimeModel model) {
+        String tick = runSimulation(SimulationLogic.EngineMode.TICK, parameters, speeds, storage, model);
+        String event = runSimulation(SimulationLogic.EngineMode.EVENT, parameters, speeds, storage, model);
+        assertEquals(tick, event, "Engines differ for " + parameters + " with storage " + storage);
+    }
+
+    /**
+     * Runs one seeded simulation.
+     *
+     * @param engineMode The engine used to advance the clock.
+     * @param parameters The simulation parameters.
+     * @param speeds     The lane speeds, or null for normal speed.
+     * @param storage    The customer storage.
+     * @param model      The service time model, or null for the default.
+     * @return The results report, followed by the waiting and checkout time statistics and the trace in recorded order.
+     */
+    private static String runSimulation(SimulationLogic.EngineMode engineMode, SimulationParameters parameters, double[] speeds, SimulationLogic.CustomerStorage storage, ServiceTimeModel model) {
+        SimulationLogic simulation = new SimulationLogic();
+        StringBuilder trace = new StringBuilder();
+        simulation.setTraceSink((type, time, customerId, lineIndex, difficulty) ->
+                trace.append(type).append(' ').append(time).append(' ').append(customerId).append(' ')
+                        .append(lineIndex).append(' ').append(difficulty).append('\n'));
+        simulation.setEngineMode(engineMode);
+        simulation.setCustomerStorage(storage);
+        simulation.setSimulationDuration(SIMULATION_DURATION);
+        simulation.setSeed(42);
+        if (speeds != null) {
+            simulation.setLaneSpeeds(speeds);
+        }
+        if (model != null) {
+            simulation.setServiceTimeModel(model);
+        }
+        simulation.startSimulation(parameters);
+
+        RunningStatistics waitingTime = simulation.getWaitingTimeStatistics();
+        RunningStatistics checkoutTime = simulation.getCheckoutTimeStatistics();
+        return simulation.getSimulationResults() + "\n" + waitingTime.getCount() + " " + waitingTime.getMean() + " " + waitingTime.getVariance()
+                + "\n" + checkoutTime.getCount() + " " + checkoutTime.getMean() + " " + checkoutTime.getVariance()
+                + "\n" + trace;
+    }
+}
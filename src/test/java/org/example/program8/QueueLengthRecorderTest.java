@@ -0,0 +1,115 @@
+package org.example.program8;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * This class checks the buckets of QueueLengthRecorder against a second by second reconstruction of every line.
+ */
+class QueueLengthRecorderTest {
+    /**
+     * Checks a recording short enough that no buckets are merged.
+     */
+    @Test
+    void bucketsMatchReconstructionWithoutMerging() {
+        checkAgainstReconstruction(new Random(1), 10, 64, 3, 0, 500);
+    }
+
+    /**
+     * Checks recordings long enough that the buckets are merged several times, with start times off the resolution.
+     */
+    @Test
+    void bucketsMatchReconstructionAfterMerging() {
+        Random random = new Random(2);
+        for (int run = 0; run < 50; run++) {
+            int resolution = 1 + random.nextInt(20);
+            int startTime = random.nextInt(100);
+            int duration = 1 + random.nextInt(5000);
+            checkAgainstReconstruction(random, resolution, 4, 1 + random.nextInt(4), startTime, duration);
+        }
+    }
+
+    /**
+     * Checks that the bucket width doubles on every merge and the memory used stays the same.
+     */
+    @Test
+    void mergingKeepsMemoryBounded() {
+        QueueLengthRecorder recorder = new QueueLengthRecorder(1, 8);
+        recorder.start(2, 0);
+        long size = recorder.getSizeInBytes();
+        for (int time = 1; time <= 1000; time++) {
+            recorder.lengthChanged(time % 2, time, time % 5);
+        }
+        recorder.finish(1000);
+
+        assertEquals(size, recorder.getSizeInBytes());
+        assertEquals(128, recorder.getBucketWidth());
+        assertTrue(recorder.getBucketCount() <= 8);
+    }
+
+    /**
+     * Records random length changes and compares every bucket with the lengths held in each second.
+     *
+     * @param random     The random number generator for the changes.
+     * @param resolution The bucket width before merging.
+     * @param capacity   The number of buckets per line.
+     * @param lineCount  The number of lines.
+     * @param startTime  The time the recording starts at.
+     * @param duration   The number of seconds recorded.
+     */
+    private static void checkAgainstReconstruction(Random random, int resolution, int capacity, int lineCount, int startTime, int duration) {
+        QueueLengthRecorder recorder = new QueueLengthRecorder(resolution, capacity);
+        recorder.start(lineCount, startTime);
+
+        // lengths[line][second] is the length held during that second after the start
+        int endTime = startTime + duration;
+        int[][] lengths = new int[lineCount][duration];
+        int[] current = new int[lineCount];
+        for (int time = startTime; time < endTime; time++) {
+            // Change some lines, sometimes more than once in the same second
+            for (int line = 0; line < lineCount; line++) {
+                while (random.nextInt(4) == 0) {
+                    current[line] = random.nextInt(6);
+                    recorder.lengthChanged(line, time, current[line]);
+                }
+                lengths[line][time - startTime] = current[line];
+            }
+        }
+        recorder.finish(endTime);
+
+        int bucketCount = recorder.getBucketCount();
+        int width = recorder.getBucketWidth();
+        assertTrue(bucketCount <= capacity);
+        // The last bucket holds the end of the recording
+        assertTrue(recorder.getBucketStartTime(bucketCount - 1) < endTime);
+        assertTrue(recorder.getBucketStartTime(bucketCount - 1) + width >= endTime);
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            int from = Math.max(recorder.getBucketStartTime(bucket), startTime);
+            int to = Math.min(recorder.getBucketStartTime(bucket) + width, endTime);
+            for (int line = 0; line < lineCount; line++) {
+                int minimum = Integer.MAX_VALUE;
+                int maximum = 0;
+                long total = 0;
+                int busy = 0;
+                for (int time = from; time < to; time++) {
+                    int length = lengths[line][time - startTime];
+                    minimum = Math.min(minimum, length);
+                    maximum = Math.max(maximum, length);
+                    total += length;
+                    if (length > 0) {
+                        busy++;
+                    }
+                }
+                String where = "line " + line + ", bucket " + bucket;
+                assertEquals(minimum, recorder.getMinimum(line, bucket), where);
+                assertEquals(maximum, recorder.getMaximum(line, bucket), where);
+                assertEquals((double) total / (to - from), recorder.getMean(line, bucket), 1e-12, where);
+                assertEquals((double) busy / (to - from), recorder.getBusyFraction(line, bucket), 1e-12, where);
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.program8;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * This class checks that every service time model of the package can be described and parsed back.
+ */
+class ServiceTimeModelTest {
+    /**
+     * Checks that a parsed model has the same description and draws exactly the same times as the original.
+     */
+    @Test
+    void parsedModelsDrawSameTimes() {
+        FixedServiceTimeModel fixed = new FixedServiceTimeModel(45, 100, 420);
+        ServiceTimeModel[] models = {
+                fixed,
+                UniformServiceTimeModel.around(fixed, 0.3),
+                new UniformServiceTimeModel(new double[]{0.1, 1.0 / 3, 7}, new double[]{0.7, 2.0 / 3, 7}),
+                LognormalServiceTimeModel.around(fixed, 0.75),
+                new LognormalServiceTimeModel(new double[]{Math.PI, Math.E, 1e5}, 0.1 + 0.2),
+                new EmpiricalServiceTimeModel(
+                        new double[][]{{0, 30, 60}, {10, 20.5, 90, 1000}, {5, 6}},
+                        new double[][]{{1, 3}, {0.1, 0.2, 0.7}, {1}})
+        };
+        for (ServiceTimeModel model : models) {
+            String description = model.describe();
+            ServiceTimeModel parsed = ServiceTimeModel.parse(description);
+            assertEquals(model.getClass(), parsed.getClass());
+            assertEquals(description, parsed.describe());
+
+            SplitMixRandom first = new SplitMixRandom(11);
+            SplitMixRandom second = new SplitMixRandom(11);
+            for (int i = 0; i < 1000; i++) {
+                Customer.Difficulty difficulty = Customer.Difficulty.values()[i % 3];
+                assertEquals(model.draw(difficulty, first), parsed.draw(difficulty, second), description);
+            }
+        }
+    }
+
+    /**
+     * Checks that a model from outside the package cannot be described.
+     */
+    @Test
+    void otherModelsHaveNoDescription() {
+        ServiceTimeModel model = (difficulty, random) -> 30;
+        assertNull(model.describe());
+    }
+
+    /**
+     * Checks that invalid descriptions are rejected.
+     */
+    @Test
+    void rejectsInvalidDescriptions() {
+        String[] descriptions = {
+                "", "normal 1 2 3", "fixed 60 120", "fixed 60 120 360.5", "fixed 60 x 360",
+                "uniform 1 2 3 4 5", "uniform 5 5 5 1 1 1", "lognormal 0.5 60 120", "lognormal -1 60 120 360",
+                "empirical 1 0 10 1 1 0 10 1", "empirical 1 0 10 1 1 0 10 1 1 0 10 1 7", "empirical 0 1 0 10 1 1 0 10 1"
+        };
+        for (String description : descriptions) {
+            assertThrows(IllegalArgumentException.class, () -> ServiceTimeModel.parse(description), description);
+        }
+    }
+}
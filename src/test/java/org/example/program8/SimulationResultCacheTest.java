@@ -0,0 +1,131 @@
+package org.example.program8;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * This class checks the keys and the least recently used eviction of SimulationResultCache.
+ */
+class SimulationResultCacheTest {
+    /**
+     * The simulation parameters of every key.
+     */
+    private static final SimulationParameters PARAMETERS = new SimulationParameters(2, 60, 20, 60, 20);
+
+    /**
+     * Checks that the least recently used entry is removed once there are too many entries.
+     */
+    @Test
+    void evictsLeastRecentlyUsedEntry() {
+        SimulationResultCache cache = new SimulationResultCache(3, Long.MAX_VALUE);
+        for (long seed = 1; seed <= 3; seed++) {
+            cache.put(key(seed), "report " + seed, null);
+        }
+        // Use the oldest entry, so the second one becomes the least recently used
+        assertNotNull(cache.get(key(1)));
+        cache.put(key(4), "report 4", null);
+
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.getEvictions());
+        assertNull(cache.get(key(2)));
+        assertEquals("report 1", cache.get(key(1)).getReport());
+        assertEquals("report 3", cache.get(key(3)).getReport());
+        assertEquals("report 4", cache.get(key(4)).getReport());
+        assertEquals(4, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    /**
+     * Checks that entries are removed until the cache is within its byte limit, and that an entry too large on its own is not stored.
+     */
+    @Test
+    void evictsUntilWithinByteLimit() {
+        String report = "x".repeat(100);
+        long entryBytes = 64 + 2L * report.length();
+        SimulationResultCache cache = new SimulationResultCache(100, 3 * entryBytes);
+        for (long seed = 1; seed <= 5; seed++) {
+            cache.put(key(seed), report, null);
+        }
+        assertEquals(3, cache.size());
+        assertEquals(3 * entryBytes, cache.getBytes());
+        assertNull(cache.get(key(2)));
+        assertNotNull(cache.get(key(3)));
+
+        // Replacing an entry does not count its old size twice
+        cache.put(key(3), report, null);
+        assertEquals(3 * entryBytes, cache.getBytes());
+
+        cache.put(key(6), "x".repeat(1000), null);
+        assertNull(cache.get(key(6)));
+        assertEquals(3, cache.size());
+    }
+
+    /**
+     * Checks that the size of the recorded queue lengths counts towards the byte limit.
+     */
+    @Test
+    void countsQueueLengthRecorderBytes() {
+        QueueLengthRecorder recorder = new QueueLengthRecorder(60);
+        recorder.start(3, 0);
+        SimulationResultCache cache = new SimulationResultCache(10, Long.MAX_VALUE);
+        cache.put(key(1), "report", recorder);
+        assertEquals(64 + 2 * "report".length() + recorder.getSizeInBytes(), cache.getBytes());
+        assertEquals(recorder, cache.get(key(1)).getQueueLengthRecorder());
+    }
+
+    /**
+     * Checks that two simulations that differ in any setting that changes the results have different keys.
+     */
+    @Test
+    void keysCoverEverySetting() {
+        assertEquals(key(1), key(1));
+        assertEquals(key(1).hashCode(), key(1).hashCode());
+        assertEquals(key(1, simulation -> simulation.setLaneSpeeds(2.0, 1.0)), key(1, simulation -> simulation.setLaneSpeeds(2.0, 1.0)));
+        assertEquals(key(1, simulation -> simulation.setServiceTimeModel(LognormalServiceTimeModel.around(FixedServiceTimeModel.DEFAULT, 0.5))),
+                key(1, simulation -> simulation.setServiceTimeModel(LognormalServiceTimeModel.around(FixedServiceTimeModel.DEFAULT, 0.5))));
+
+        assertNotEquals(key(1), key(2));
+        assertNotEquals(key(1), new SimulationResultCache.Key(new SimulationParameters(3, 60, 20, 60, 20), 1, new SimulationLogic()));
+        assertNotEquals(key(1), key(1, simulation -> simulation.setEngineMode(SimulationLogic.EngineMode.EVENT)));
+        assertNotEquals(key(1), key(1, simulation -> simulation.setSimulationDuration(3600)));
+        assertNotEquals(key(1), key(1, simulation -> simulation.setDifficultySampling(SimulationLogic.DifficultySampling.PROBABILISTIC)));
+        assertNotEquals(key(1), key(1, simulation -> simulation.setStatisticsMode(SimulationLogic.StatisticsMode.STREAMING)));
+        assertNotEquals(key(1), key(1, simulation -> simulation.setLaneSpeeds(2.0)));
+        assertNotEquals(key(1), key(1, simulation -> simulation.setServiceTimeModel(new FixedServiceTimeModel(60, 120, 300))));
+        assertNotEquals(key(1), key(1, simulation -> simulation.setServiceTimeModel(UniformServiceTimeModel.around(FixedServiceTimeModel.DEFAULT, 0.5))));
+
+        // A model that cannot be described only matches itself
+        ServiceTimeModel custom = (difficulty, random) -> 30;
+        assertEquals(key(1, simulation -> simulation.setServiceTimeModel(custom)), key(1, simulation -> simulation.setServiceTimeModel(custom)));
+        assertNotEquals(key(1, simulation -> simulation.setServiceTimeModel(custom)), key(1, simulation -> simulation.setServiceTimeModel((difficulty, random) -> 30)));
+    }
+
+    /**
+     * Creates the key of a simulation with the default settings.
+     *
+     * @param seed The seed.
+     * @return The key.
+     */
+    private static SimulationResultCache.Key key(long seed) {
+        return key(seed, simulation -> { });
+    }
+
+    /**
+     * Creates the key of a simulation with the given settings.
+     *
+     * @param seed     The seed.
+     * @param settings Changes the default settings.
+     * @return The key.
+     */
+    private static SimulationResultCache.Key key(long seed, Consumer<SimulationLogic> settings) {
+        SimulationLogic simulation = new SimulationLogic();
+        settings.accept(simulation);
+        return new SimulationResultCache.Key(PARAMETERS, seed, simulation);
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.program8;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * This class checks the CSV rows written by SweepResultTable.
+ */
+class SweepResultTableTest {
+    /**
+     * Checks that a point with a single replication leaves both confidence interval fields empty.
+     */
+    @Test
+    void singleReplicationLeavesConfidenceFieldsEmpty() {
+        ReplicationResults results = runReplications(1);
+
+        String row = SweepResultTable.toCsvRow(results);
+        String[] fields = row.trim().split(",", -1);
+        assertEquals(10, fields.length);
+        assertEquals("", fields[7]);
+        assertEquals("", fields[9]);
+        assertFalse(row.contains("Infinity"));
+    }
+
+    /**
+     * Checks that a point with several replications writes both confidence interval half-widths.
+     */
+    @Test
+    void severalReplicationsWriteConfidenceFields() {
+        ReplicationResults results = runReplications(5);
+
+        String[] fields = SweepResultTable.toCsvRow(results).trim().split(",", -1);
+        assertTrue(Double.parseDouble(fields[7]) >= 0);
+        assertTrue(Double.parseDouble(fields[9]) >= 0);
+    }
+
+    /**
+     * Runs the given number of seeded replications one after another.
+     *
+     * @param replications The number of replications.
+     * @return The collected results.
+     */
+    private static ReplicationResults runReplications(int replications) {
+        SimulationParameters parameters = new SimulationParameters(2, 60, 20, 60, 20);
+        ReplicationResults results = new ReplicationResults(parameters);
+        for (int i = 0; i < replications; i++) {
+            SimulationLogic simulation = ReplicationRunner.createDefaultSimulation();
+            simulation.setSeed(i);
+            simulation.startSimulation(parameters);
+            results.add(simulation);
+        }
+        return results;
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.program8;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * This class checks that a trace written by MappedTraceWriter replays to the results of the simulation that wrote it.
+ */
+class TraceReplayTest {
+    /**
+     * Region size small enough that a day of events is spread over many mapped regions.
+     */
+    private static final int REGION_SIZE = 4096;
+
+    /**
+     * The simulation parameters of every traced run.
+     */
+    private static final SimulationParameters PARAMETERS = new SimulationParameters(3, 20, 20, 60, 20);
+
+    /**
+     * Directory for the trace files, removed after each test.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Checks that replaying a trace into TraceStatistics rebuilds the waiting and checkout time statistics of the simulation.
+     *
+     * @throws IOException If the trace cannot be written or read.
+     */
+    @Test
+    void replayRebuildsStatistics() throws IOException {
+        Path file = directory.resolve("trace.bin");
+        SimulationLogic simulation = runTracedSimulation(file);
+
+        TraceStatistics statistics = new TraceStatistics();
+        long records = TraceReader.replay(file, statistics);
+
+        assertEquals(3 * simulation.getWaitingTimeStatistics().getCount(), records);
+        assertStatisticsEqual(simulation.getWaitingTimeStatistics(), statistics.getWaitingTime());
+        assertStatisticsEqual(simulation.getCheckoutTimeStatistics(), statistics.getCheckoutTime());
+        for (int i = 0; i < PARAMETERS.getNumberOfLines(); i++) {
+            assertStatisticsEqual(simulation.getWaitingTimeStatistics(i), statistics.getWaitingTime(i));
+            assertEquals(0, statistics.getQueueLength(i));
+        }
+    }
+
+    /**
+     * Checks that unused bytes after the last record, left when the file could not be cut, are ignored.
+     *
+     * @throws IOException If the trace cannot be written or read.
+     */
+    @Test
+    void unusedBytesAfterLastRecordAreIgnored() throws IOException {
+        Path file = directory.resolve("trace.bin");
+        SimulationLogic simulation = runTracedSimulation(file);
+        Files.write(file, new byte[3 * REGION_SIZE + 5], StandardOpenOption.APPEND);
+
+        TraceStatistics statistics = new TraceStatistics();
+        long records = TraceReader.replay(file, statistics);
+
+        assertEquals(3 * simulation.getWaitingTimeStatistics().getCount(), records);
+        assertStatisticsEqual(simulation.getWaitingTimeStatistics(), statistics.getWaitingTime());
+    }
+
+    /**
+     * Checks that replaying the recorded arrivals with the same settings gives the same waiting times.
+     *
+     * @throws IOException If the trace cannot be written or read.
+     */
+    @Test
+    void replayedArrivalsGiveSameWaitingTimes() throws IOException {
+        Path file = directory.resolve("trace.bin");
+        SimulationLogic simulation = runTracedSimulation(file);
+
+        SimulationLogic replay = new SimulationLogic();
+        try (TraceArrivalSource arrivals = new TraceArrivalSource(file)) {
+            replay.setArrivalSource(arrivals);
+            replay.startSimulation(PARAMETERS);
+        }
+
+        assertStatisticsEqual(simulation.getWaitingTimeStatistics(), replay.getWaitingTimeStatistics());
+        assertStatisticsEqual(simulation.getCheckoutTimeStatistics(), replay.getCheckoutTimeStatistics());
+    }
+
+    /**
+     * Runs a seeded simulation that writes its trace to the given file.
+     *
+     * @param file The trace file.
+     * @return The finished simulation.
+     * @throws IOException If the trace cannot be written.
+     */
+    private static SimulationLogic runTracedSimulation(Path file) throws IOException {
+        SimulationLogic simulation = new SimulationLogic();
+        simulation.setSeed(7);
+        try (MappedTraceWriter writer = new MappedTraceWriter(file, REGION_SIZE)) {
+            simulation.setTraceSink(writer);
+            simulation.startSimulation(PARAMETERS);
+        }
+        return simulation;
+    }
+
+    /**
+     * Checks that two statistics hold the same values.
+     *
+     * @param expected The expected statistics.
+     * @param actual   The actual statistics.
+     */
+    private static void assertStatisticsEqual(RunningStatistics expected, RunningStatistics actual) {
+        assertEquals(expected.getCount(), actual.getCount());
+        assertEquals(expected.getMean(), actual.getMean(), 1e-9);
+        assertEquals(expected.getMaximum(), actual.getMaximum());
+        assertEquals(expected.getVariance(), actual.getVariance(), 1e-6 * Math.max(1, expected.getVariance()));
+    }
+}